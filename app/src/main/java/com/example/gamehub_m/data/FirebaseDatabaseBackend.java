@@ -0,0 +1,225 @@
+package com.example.gamehub_m.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.ValueEventListener;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.Database;
+import com.example.gamehub_m.core.db.Query;
+import com.example.gamehub_m.core.db.Snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Database the app runs on: the Firebase Realtime Database SDK, with callbacks on the main thread
+ */
+public class FirebaseDatabaseBackend implements Database {
+
+    private final DatabaseReference root;
+
+    public FirebaseDatabaseBackend(FirebaseDatabase database) {
+        this.root = database.getReference();
+    }
+
+    @Override
+    public String push(String path) {
+        return root.child(path).push().getKey();
+    }
+
+    @Override
+    public void get(String path, DataCallback<Object> callback) {
+        root.child(path).get()
+                .addOnSuccessListener(snapshot -> callback.onSuccess(snapshot.getValue()))
+                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    @Override
+    public void query(Query query, DataCallback<List<Snapshot>> callback) {
+        toFirebase(query).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                List<Snapshot> children = new ArrayList<>();
+                for (DataSnapshot child : dataSnapshot.getChildren()) {
+                    children.add(new Snapshot(child.getKey(), child.getValue()));
+                }
+                callback.onSuccess(children);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.onError(message(error));
+            }
+        });
+    }
+
+    @Override
+    public void set(String path, Object value, DataCallback<Void> callback) {
+        root.child(path).setValue(value, completion(callback));
+    }
+
+    @Override
+    public void update(Map<String, Object> updates, DataCallback<Void> callback) {
+        root.updateChildren(updates, completion(callback));
+    }
+
+    /**
+     * Writes complete through a listener rather than a Task, so a rules rejection keeps its error code
+     */
+    private static DatabaseReference.CompletionListener completion(DataCallback<Void> callback) {
+        if (callback == null) {
+            return null;
+        }
+        return (error, reference) -> {
+            if (error != null) {
+                callback.onError(message(error));
+            } else {
+                callback.onSuccess(null);
+            }
+        };
+    }
+
+    /**
+     * The error's message, or Database.PERMISSION_DENIED for a rules rejection
+     */
+    private static String message(DatabaseError error) {
+        return error.getCode() == DatabaseError.PERMISSION_DENIED ? PERMISSION_DENIED : error.getMessage();
+    }
+
+    @Override
+    public void transaction(String path, Transaction transaction, DataCallback<Boolean> callback) {
+        root.child(path).runTransaction(new com.google.firebase.database.Transaction.Handler() {
+            @NonNull
+            @Override
+            public com.google.firebase.database.Transaction.Result doTransaction(@NonNull MutableData data) {
+                Object value = transaction.apply(data.getValue());
+                if (value == Transaction.ABORT) {
+                    return com.google.firebase.database.Transaction.abort();
+                }
+                data.setValue(value);
+                return com.google.firebase.database.Transaction.success(data);
+            }
+
+            @Override
+            public void onComplete(@Nullable DatabaseError error, boolean committed,
+                                   @Nullable DataSnapshot snapshot) {
+                if (callback == null) {
+                    return;
+                }
+                if (error != null) {
+                    callback.onError(message(error));
+                } else {
+                    callback.onSuccess(committed);
+                }
+            }
+        });
+    }
+
+    @Override
+    public Registration listen(Query query, ChildListener listener) {
+        com.google.firebase.database.Query firebaseQuery = toFirebase(query);
+        boolean[] removed = {false};
+        ChildEventListener childListener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                listener.onChildAdded(snapshot.getKey(), snapshot.getValue());
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                listener.onChildChanged(snapshot.getKey(), snapshot.getValue());
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                listener.onChildRemoved(snapshot.getKey());
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                // Order is the caller's business; onChildChanged already carried the new value
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                listener.onError(message(error));
+            }
+        };
+        firebaseQuery.addChildEventListener(childListener);
+
+        // Value events fire after the child events for the same data, marking the initial load
+        firebaseQuery.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (!removed[0]) {
+                    listener.onLoaded();
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                // Reported by the child listener
+            }
+        });
+        return () -> {
+            removed[0] = true;
+            firebaseQuery.removeEventListener(childListener);
+        };
+    }
+
+    @Override
+    public Object increment(long delta) {
+        return ServerValue.increment(delta);
+    }
+
+    private com.google.firebase.database.Query toFirebase(Query query) {
+        com.google.firebase.database.Query firebaseQuery = root.child(query.getPath());
+        boolean byKey = query.getOrderByChild() == null;
+        firebaseQuery = byKey ? firebaseQuery.orderByKey() : firebaseQuery.orderByChild(query.getOrderByChild());
+        if (query.hasStart()) {
+            firebaseQuery = byKey ? firebaseQuery.startAfter(query.getStartKey())
+                    : startAfter(firebaseQuery, query.getStartValue(), query.getStartKey());
+        }
+        if (query.hasEnd()) {
+            firebaseQuery = byKey ? firebaseQuery.endBefore(query.getEndKey())
+                    : endBefore(firebaseQuery, query.getEndValue(), query.getEndKey());
+        }
+        if (query.hasLimit()) {
+            firebaseQuery = query.isLimitToLast() ? firebaseQuery.limitToLast(query.getLimit())
+                    : firebaseQuery.limitToFirst(query.getLimit());
+        }
+        return firebaseQuery;
+    }
+
+    private static com.google.firebase.database.Query startAfter(com.google.firebase.database.Query query,
+                                                                 Object value, String key) {
+        if (value instanceof Number) {
+            return query.startAfter(((Number) value).doubleValue(), key);
+        }
+        if (value instanceof Boolean) {
+            return query.startAfter((Boolean) value, key);
+        }
+        return query.startAfter((String) value, key);
+    }
+
+    private static com.google.firebase.database.Query endBefore(com.google.firebase.database.Query query,
+                                                                Object value, String key) {
+        if (value instanceof Number) {
+            return query.endBefore(((Number) value).doubleValue(), key);
+        }
+        if (value instanceof Boolean) {
+            return query.endBefore((Boolean) value, key);
+        }
+        return query.endBefore((String) value, key);
+    }
+}
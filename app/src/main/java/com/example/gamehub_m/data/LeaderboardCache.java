@@ -0,0 +1,169 @@
+package com.example.gamehub_m.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Last known leaderboards, shown while a LeaderboardStream connects.
+ * Entries are kept in an in-memory LRU keyed by game + limit, backed by a snapshot file per key in
+ * the cache directory; the stream keeps them fresh, so the cache never fetches by itself.
+ * Callbacks are delivered on the main thread.
+ */
+public class LeaderboardCache {
+
+    private static final String TAG = "LeaderboardCache";
+    private static final String DIR_NAME = "leaderboards";
+    private static final int SNAPSHOT_VERSION = 1;
+
+    public static final int DEFAULT_MAX_ENTRIES = 8;
+
+    private static LeaderboardCache instance;
+
+    private final File directory;
+    private final Map<String, List<LeaderboardEntry>> memory;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public static synchronized LeaderboardCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new LeaderboardCache(context.getApplicationContext(), DEFAULT_MAX_ENTRIES);
+        }
+        return instance;
+    }
+
+    private LeaderboardCache(Context context, int maxEntries) {
+        directory = new File(context.getCacheDir(), DIR_NAME);
+        memory = new LinkedHashMap<String, List<LeaderboardEntry>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<LeaderboardEntry>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Deliver what is cached (memory first, then the disk snapshot), without a network fetch
+     */
+    public void getCached(String gameName, int limit, OnCachedLeaderboardListener listener) {
+        String key = key(gameName, limit);
+        List<LeaderboardEntry> cached = memory.get(key);
+        if (cached != null) {
+            listener.onEntries(cached);
+            return;
+        }
+        diskExecutor.execute(() -> {
+            List<LeaderboardEntry> snapshot = readSnapshot(key);
+            if (snapshot != null) {
+                mainHandler.post(() -> {
+                    if (!memory.containsKey(key)) {
+                        listener.onEntries(snapshot);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Store entries received elsewhere (e.g. from a stream) in memory only; see persist
+     */
+    public void put(String gameName, int limit, List<LeaderboardEntry> entries) {
+        memory.put(key(gameName, limit), entries);
+    }
+
+    /**
+     * Write the in-memory entries for game + limit to their disk snapshot
+     */
+    public void persist(String gameName, int limit) {
+        String key = key(gameName, limit);
+        List<LeaderboardEntry> cached = memory.get(key);
+        if (cached != null) {
+            diskExecutor.execute(() -> writeSnapshot(key, cached));
+        }
+    }
+
+    private static String key(String gameName, int limit) {
+        return gameName + "_" + limit;
+    }
+
+    private AtomicFile snapshotFile(String key) {
+        return new AtomicFile(new File(directory, key + ".dat"));
+    }
+
+    private List<LeaderboardEntry> readSnapshot(String key) {
+        try (DataInputStream in = new DataInputStream(snapshotFile(key).openRead())) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                return null;
+            }
+            int count = in.readInt();
+            List<LeaderboardEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String userId = in.readBoolean() ? in.readUTF() : null;
+                entries.add(new LeaderboardEntry(userId, in.readUTF(), in.readLong(), i + 1));
+            }
+            return Collections.unmodifiableList(entries);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            Log.e(TAG, "Ignoring unreadable snapshot " + key, e);
+            return null;
+        }
+    }
+
+    private void writeSnapshot(String key, List<LeaderboardEntry> entries) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            return;
+        }
+        AtomicFile file = snapshotFile(key);
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(entries.size());
+            for (LeaderboardEntry entry : entries) {
+                out.writeBoolean(entry.userId != null);
+                if (entry.userId != null) {
+                    out.writeUTF(entry.userId);
+                }
+                out.writeUTF(entry.displayName);
+                out.writeLong(entry.highScore);
+            }
+            out.flush();
+            file.finishWrite(stream);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write snapshot " + key, e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+
+    /**
+     * Listener interface for cached leaderboard fetches
+     */
+    public interface OnCachedLeaderboardListener {
+        /**
+         * @param entries As last seen; may be out of date
+         */
+        void onEntries(List<LeaderboardEntry> entries);
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.gamehub_m.data;
+
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Sliding window of leaderboard pages for infinite scrolling.
+ * Pages are fetched with cursor queries below the last loaded entry or above the first one;
+ * at most maxPages pages are kept, dropping pages from the far end of the window, so memory
+ * stays bounded however far the user scrolls. The top page can be fed live by a LeaderboardStream.
+ * Must be used from a single thread (the main thread in the app).
+ */
+public class LeaderboardPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_MAX_PAGES = 5;
+
+    private final PageSource source;
+    private final int pageSize;
+    private final int maxPages;
+    private final OnWindowChangedListener listener;
+
+    private final Deque<Page> window = new ArrayDeque<>();
+    private List<LeaderboardEntry> latestTopPage;
+    private boolean hasMoreBelow = true;
+    private boolean loading = false;
+    // Incremented by reset so results of requests from before a reset are dropped
+    private int generation = 0;
+
+    public LeaderboardPager(PageSource source, int pageSize, int maxPages, OnWindowChangedListener listener) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(2, maxPages);
+        this.listener = listener;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Forget every page; the next top page comes from setTopPage or loadTop
+     */
+    public void reset() {
+        generation++;
+        window.clear();
+        latestTopPage = null;
+        hasMoreBelow = true;
+        loading = false;
+    }
+
+    /**
+     * Fetch the top page from the source
+     */
+    public void loadTop() {
+        load(null, false);
+    }
+
+    /**
+     * Replace the top page with live entries (highest first). Applied to the window only while
+     * the top page is part of it; otherwise kept for when the user scrolls back up.
+     */
+    public void setTopPage(List<LeaderboardEntry> entries) {
+        latestTopPage = entries;
+        Page first = window.peekFirst();
+        if (first == null) {
+            window.addFirst(new Page(0, 1, rank(entries, 1)));
+            hasMoreBelow = entries.size() >= pageSize;
+            notifyChanged();
+        } else if (first.index == 0) {
+            window.removeFirst();
+            window.addFirst(new Page(0, 1, rank(entries, 1)));
+            if (window.size() == 1) {
+                hasMoreBelow = entries.size() >= pageSize;
+            }
+            renumberFrom(window.peekFirst());
+            notifyChanged();
+        }
+    }
+
+    public boolean hasMoreBelow() {
+        return hasMoreBelow;
+    }
+
+    public boolean hasMoreAbove() {
+        Page first = window.peekFirst();
+        return first != null && first.index > 0;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * Load the page after the last loaded entry, if there is one
+     */
+    public void loadMoreBelow() {
+        Page last = window.peekLast();
+        if (loading || !hasMoreBelow || last == null || last.entries.isEmpty()) {
+            return;
+        }
+        load(last.entries.get(last.entries.size() - 1), false);
+    }
+
+    /**
+     * Load the page before the first loaded entry, if the window no longer starts at the top
+     */
+    public void loadMoreAbove() {
+        Page first = window.peekFirst();
+        if (loading || first == null || first.index == 0) {
+            return;
+        }
+        if (first.index == 1 && latestTopPage != null) {
+            // The live top page is already in memory
+            addAbove(latestTopPage);
+            return;
+        }
+        load(first.entries.get(0), true);
+    }
+
+    /**
+     * The entries of the current window, highest first, with ranks assigned
+     */
+    public List<LeaderboardEntry> getEntries() {
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (Page page : window) {
+            entries.addAll(page.entries);
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    private void load(LeaderboardEntry cursor, boolean above) {
+        loading = true;
+        final int requestGeneration = generation;
+        source.loadPage(cursor, above, pageSize, new ScoreManager.OnLeaderboardFetchListener() {
+            @Override
+            public void onSuccess(List<LeaderboardEntry> entries) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                if (cursor == null) {
+                    setTopPage(entries);
+                } else if (above) {
+                    addAbove(entries);
+                } else {
+                    addBelow(entries);
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                listener.onError(errorMessage);
+            }
+        });
+    }
+
+    private void addBelow(List<LeaderboardEntry> entries) {
+        hasMoreBelow = entries.size() >= pageSize;
+        if (entries.isEmpty()) {
+            return;
+        }
+        Page last = window.peekLast();
+        window.addLast(new Page(last.index + 1, last.nextRank(), rank(entries, last.nextRank())));
+        if (window.size() > maxPages) {
+            window.removeFirst();
+        }
+        notifyChanged();
+    }
+
+    private void addAbove(List<LeaderboardEntry> entries) {
+        Page first = window.peekFirst();
+        if (entries.isEmpty()) {
+            return;
+        }
+        int index = first.index - 1;
+        int firstRank = index == 0 ? 1 : Math.max(1, first.firstRank - entries.size());
+        window.addFirst(new Page(index, firstRank, rank(entries, firstRank)));
+        if (index == 0) {
+            renumberFrom(window.peekFirst());
+        }
+        if (window.size() > maxPages) {
+            window.removeLast();
+            hasMoreBelow = true;
+        }
+        notifyChanged();
+    }
+
+    /**
+     * Re-rank the pages after the given one when its size changed
+     */
+    private void renumberFrom(Page page) {
+        int nextRank = page.nextRank();
+        boolean after = false;
+        List<Page> pages = new ArrayList<>(window);
+        window.clear();
+        for (Page p : pages) {
+            if (after && p.firstRank != nextRank) {
+                p = new Page(p.index, nextRank, rank(p.entries, nextRank));
+            }
+            if (p == page) {
+                after = true;
+            }
+            window.addLast(p);
+            nextRank = p.nextRank();
+        }
+    }
+
+    private static List<LeaderboardEntry> rank(List<LeaderboardEntry> entries, int firstRank) {
+        List<LeaderboardEntry> ranked = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            LeaderboardEntry entry = entries.get(i);
+            ranked.add(entry.rank == firstRank + i ? entry : entry.withRank(firstRank + i));
+        }
+        return ranked;
+    }
+
+    private void notifyChanged() {
+        listener.onWindowChanged(getEntries());
+    }
+
+    private static class Page {
+        final int index;
+        final int firstRank;
+        final List<LeaderboardEntry> entries;
+
+        Page(int index, int firstRank, List<LeaderboardEntry> entries) {
+            this.index = index;
+            this.firstRank = firstRank;
+            this.entries = entries;
+        }
+
+        int nextRank() {
+            return firstRank + entries.size();
+        }
+    }
+
+    /**
+     * Where pages come from; ScoreManager.getLeaderboardPage in the app
+     */
+    public interface PageSource {
+        void loadPage(LeaderboardEntry cursor, boolean above, int pageSize,
+                      ScoreManager.OnLeaderboardFetchListener listener);
+    }
+
+    /**
+     * Listener interface for window changes
+     */
+    public interface OnWindowChangedListener {
+        void onWindowChanged(List<LeaderboardEntry> entries);
+        void onError(String errorMessage);
+    }
+}
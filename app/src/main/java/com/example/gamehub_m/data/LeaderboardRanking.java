@@ -0,0 +1,99 @@
+package com.example.gamehub_m.data;
+
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorted in-memory ranking of leaderboard nodes, maintained incrementally from child events.
+ * Order matches the Firebase query reversed: highScore descending, then node key descending.
+ * Snapshots never mutate entries handed out earlier: an entry whose rank changes is replaced
+ * by a copy, so list diffing sees exactly the rows whose rank or score changed.
+ */
+public class LeaderboardRanking {
+
+    private final List<Ranked> sorted = new ArrayList<>();
+    private final Map<String, Ranked> byKey = new HashMap<>();
+    private final int firstRank;
+
+    public LeaderboardRanking() {
+        this(1);
+    }
+
+    /**
+     * @param firstRank The rank of the top entry, for rankings that start below the top of the board
+     */
+    public LeaderboardRanking(int firstRank) {
+        this.firstRank = firstRank;
+    }
+
+    /**
+     * Insert or replace the node with the given key
+     */
+    public void put(String key, LeaderboardEntry entry) {
+        remove(key);
+        Ranked ranked = new Ranked(key, entry);
+        int index = Collections.binarySearch(sorted, ranked, LeaderboardRanking::compare);
+        sorted.add(index < 0 ? -index - 1 : index, ranked);
+        byKey.put(key, ranked);
+    }
+
+    /**
+     * @return true if the node was part of the ranking
+     */
+    public boolean remove(String key) {
+        Ranked ranked = byKey.remove(key);
+        if (ranked == null) {
+            return false;
+        }
+        int index = Collections.binarySearch(sorted, ranked, LeaderboardRanking::compare);
+        sorted.remove(index);
+        return true;
+    }
+
+    public int size() {
+        return sorted.size();
+    }
+
+    public void clear() {
+        sorted.clear();
+        byKey.clear();
+    }
+
+    /**
+     * Immutable, ranked copy of the current order
+     */
+    public List<LeaderboardEntry> snapshot() {
+        List<LeaderboardEntry> entries = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Ranked ranked = sorted.get(i);
+            int rank = firstRank + i;
+            if (ranked.entry.rank != rank) {
+                ranked.entry = ranked.entry.withRank(rank);
+            }
+            entries.add(ranked.entry);
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    private static int compare(Ranked a, Ranked b) {
+        if (a.entry.highScore != b.entry.highScore) {
+            return a.entry.highScore > b.entry.highScore ? -1 : 1;
+        }
+        return b.key.compareTo(a.key);
+    }
+
+    private static class Ranked {
+        final String key;
+        LeaderboardEntry entry;
+
+        Ranked(String key, LeaderboardEntry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.gamehub_m.data;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.gamehub_m.core.db.Database;
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+import com.example.gamehub_m.core.leaderboard.LeaderboardParser;
+
+import java.util.List;
+
+/**
+ * Live top-N leaderboard for one game, kept up to date with child-level listeners.
+ * Each added/changed/removed node updates a LeaderboardRanking; updates arriving in the same
+ * main-loop turn are coalesced into a single ranked snapshot for the listener.
+ */
+public class LeaderboardStream {
+
+    private final String gameName;
+    private final int limit;
+    private final LeaderboardRanking ranking = new LeaderboardRanking();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable emit = this::emit;
+
+    private Database.Registration registration;
+    private OnLeaderboardUpdateListener listener;
+    private boolean loaded = false;
+    private boolean emitPending = false;
+
+    public LeaderboardStream(String gameName, int limit) {
+        this.gameName = gameName;
+        this.limit = limit;
+    }
+
+    public String getGameName() {
+        return gameName;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Start listening. The first update is delivered once the initial data has arrived
+     * (possibly empty); later updates only when the ranking changes.
+     */
+    public void start(OnLeaderboardUpdateListener listener) {
+        stop();
+        this.listener = listener;
+        ranking.clear();
+        loaded = false;
+
+        registration = ScoreManager.getLeaderboardRepository().listenTop(gameName, limit,
+                new Database.ChildListener() {
+                    @Override
+                    public void onChildAdded(String key, Object value) {
+                        put(key, value);
+                    }
+
+                    @Override
+                    public void onChildChanged(String key, Object value) {
+                        put(key, value);
+                    }
+
+                    @Override
+                    public void onChildRemoved(String key) {
+                        if (ranking.remove(key)) {
+                            scheduleEmit();
+                        }
+                    }
+
+                    @Override
+                    public void onLoaded() {
+                        loaded = true;
+                        scheduleEmit();
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        if (LeaderboardStream.this.listener != null) {
+                            LeaderboardStream.this.listener.onError(errorMessage);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Stop listening; no further updates are delivered
+     */
+    public void stop() {
+        if (registration != null) {
+            registration.remove();
+        }
+        registration = null;
+        listener = null;
+        handler.removeCallbacks(emit);
+        emitPending = false;
+    }
+
+    private void put(String key, Object value) {
+        LeaderboardEntry entry = LeaderboardParser.parseEntry(key, value);
+        if (entry != null) {
+            ranking.put(key, entry);
+            scheduleEmit();
+        } else if (ranking.remove(key)) {
+            scheduleEmit();
+        }
+    }
+
+    private void scheduleEmit() {
+        if (!loaded || emitPending) {
+            return;
+        }
+        emitPending = true;
+        handler.post(emit);
+    }
+
+    private void emit() {
+        emitPending = false;
+        if (listener != null) {
+            listener.onUpdate(ranking.snapshot());
+        }
+    }
+
+    /**
+     * Listener interface for streamed leaderboard updates
+     */
+    public interface OnLeaderboardUpdateListener {
+        void onUpdate(List<LeaderboardEntry> entries);
+        void onError(String errorMessage);
+    }
+}
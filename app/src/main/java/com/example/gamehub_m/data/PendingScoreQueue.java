@@ -0,0 +1,179 @@
+package com.example.gamehub_m.data;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.SystemClock;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.engine.GameScheduler;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent write-ahead queue for game scores.
+ * Scores are appended to a small file in the app's files directory, coalesced per user and game,
+ * and drained to Firebase in batches from a background thread whenever the network is available.
+ * Entries are removed only after Firebase acknowledged the write, so a score survives process death
+ * (delivery is at-least-once; each entry keeps its history key and the leaderboard high score is
+ * idempotent, so a repeated write changes nothing). PendingScoreWriter decides when to retry and
+ * which entries to give up on.
+ */
+public class PendingScoreQueue {
+
+    private static final String TAG = "PendingScoreQueue";
+    private static final String FILE_NAME = "pending_scores.dat";
+
+    private static PendingScoreQueue instance;
+
+    private final AtomicFile file;
+    private final PendingScores scores = new PendingScores();
+    // All reads and writes of scores and the file happen on this thread
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final PendingScoreWriter writer = new PendingScoreWriter(scores, new ExecutorScheduler(executor),
+            this::write, this::persist);
+
+    public static synchronized PendingScoreQueue getInstance(Context context) {
+        if (instance == null) {
+            instance = new PendingScoreQueue(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private PendingScoreQueue(Context context) {
+        file = new AtomicFile(new File(context.getFilesDir(), FILE_NAME));
+        executor.execute(this::load);
+
+        ConnectivityManager connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager != null) {
+            boolean online = connectivityManager.getActiveNetwork() != null;
+            executor.execute(() -> writer.setOnline(online));
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(@NonNull Network network) {
+                    executor.execute(() -> writer.setOnline(true));
+                }
+
+                @Override
+                public void onLost(@NonNull Network network) {
+                    executor.execute(() -> writer.setOnline(false));
+                }
+            });
+        }
+    }
+
+    /**
+     * Append a score to the queue and try to write it out
+     */
+    public void offer(PendingScores.Entry entry) {
+        executor.execute(() -> {
+            if (scores.offer(entry)) {
+                persist();
+            }
+            writer.drain();
+        });
+    }
+
+    /**
+     * Try to write all pending scores now
+     */
+    public void flush() {
+        executor.execute(writer::drain);
+    }
+
+    /**
+     * Save through ScoreManager, calling back on the queue's thread
+     */
+    private void write(PendingScores.Entry entry, DataCallback<Void> callback) {
+        ScoreManager.saveScoreForUser(entry, new ScoreManager.OnScoreSavedListener() {
+            @Override
+            public void onSuccess() {
+                executor.execute(() -> callback.onSuccess(null));
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                executor.execute(() -> callback.onError(errorMessage));
+            }
+        });
+    }
+
+    private void load() {
+        try (DataInputStream in = new DataInputStream(file.openRead())) {
+            scores.readFrom(in);
+            Log.d(TAG, "Loaded " + scores.size() + " pending scores");
+        } catch (FileNotFoundException e) {
+            // Nothing pending
+        } catch (IOException e) {
+            Log.e(TAG, "Discarding unreadable pending scores", e);
+            file.delete();
+        }
+    }
+
+    private void persist() {
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            DataOutputStream out = new DataOutputStream(stream);
+            scores.writeTo(out);
+            out.flush();
+            file.finishWrite(stream);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to persist pending scores", e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+
+    /**
+     * The queue's thread as a GameScheduler, on the uptime clock; keeps at most one pending run per task.
+     * Only used from that thread.
+     */
+    private static class ExecutorScheduler implements GameScheduler {
+        private final ScheduledExecutorService executor;
+        private final Map<Runnable, ScheduledFuture<?>> pending = new HashMap<>();
+
+        ExecutorScheduler(ScheduledExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public long now() {
+            return SystemClock.uptimeMillis();
+        }
+
+        @Override
+        public void postAt(Runnable task, long timeMillis) {
+            cancel(task);
+            pending.put(task, executor.schedule(() -> {
+                pending.remove(task);
+                task.run();
+            }, Math.max(0, timeMillis - now()), TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            ScheduledFuture<?> future = pending.remove(task);
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+}
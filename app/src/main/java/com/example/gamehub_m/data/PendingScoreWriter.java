@@ -0,0 +1,116 @@
+package com.example.gamehub_m.data;
+
+import android.util.Log;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.Database;
+import com.example.gamehub_m.core.engine.GameScheduler;
+
+import java.util.List;
+
+/**
+ * Drains a PendingScores log in batches for PendingScoreQueue.
+ * A batch with failures is retried after a backoff that doubles up to MAX_RETRY_DELAY_MILLIS.
+ * Only rules rejections (Database.PERMISSION_DENIED) count towards dropping an entry, after
+ * MAX_REJECTIONS of them; any other error may just mean the device is offline, and the entry waits for
+ * as long as it takes. Nothing is written while offline.
+ * Not thread-safe; every call, including the write callbacks, must arrive on the scheduler's thread.
+ */
+class PendingScoreWriter {
+
+    private static final String TAG = "PendingScoreQueue";
+    static final int BATCH_SIZE = 20;
+    static final int MAX_REJECTIONS = 5;
+    static final long INITIAL_RETRY_DELAY_MILLIS = 5_000;
+    static final long MAX_RETRY_DELAY_MILLIS = 5 * 60_000;
+
+    private final PendingScores scores;
+    private final GameScheduler scheduler;
+    private final ScoreWriter writer;
+    private final Runnable persist;
+    private final Runnable retry = this::drain;
+    private boolean online = true;
+    private boolean draining = false;
+    // Delay before retrying after the next failed batch; reset by a batch without failures
+    private long retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+
+    /**
+     * @param persist Saves scores after a batch changed them
+     */
+    PendingScoreWriter(PendingScores scores, GameScheduler scheduler, ScoreWriter writer, Runnable persist) {
+        this.scores = scores;
+        this.scheduler = scheduler;
+        this.writer = writer;
+        this.persist = persist;
+    }
+
+    /**
+     * Whether a network is available; coming online drains right away
+     */
+    void setOnline(boolean online) {
+        this.online = online;
+        if (online) {
+            retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+            drain();
+        }
+    }
+
+    /**
+     * Write the oldest batch, unless one is being written or the device is offline
+     */
+    void drain() {
+        if (draining || !online || scores.isEmpty()) {
+            return;
+        }
+        draining = true;
+        scheduler.cancel(retry);
+
+        List<PendingScores.Entry> batch = scores.peekBatch(BATCH_SIZE);
+        int[] remaining = {batch.size()};
+        int[] failures = {0};
+        for (PendingScores.Entry entry : batch) {
+            writer.write(entry, new DataCallback<Void>() {
+                @Override
+                public void onSuccess(Void result) {
+                    scores.remove(entry);
+                    onBatchItemDone(remaining, failures);
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    Log.e(TAG, "Failed to write pending score: " + errorMessage);
+                    failures[0]++;
+                    if (Database.PERMISSION_DENIED.equals(errorMessage)
+                            && scores.reject(entry, MAX_REJECTIONS)) {
+                        Log.w(TAG, "Dropping " + entry.gameName + " score " + entry.score + " after "
+                                + MAX_REJECTIONS + " rejected writes");
+                    }
+                    onBatchItemDone(remaining, failures);
+                }
+            });
+        }
+    }
+
+    private void onBatchItemDone(int[] remaining, int[] failures) {
+        if (--remaining[0] != 0) {
+            return;
+        }
+        // One file rewrite per batch, which also saves the rejection counts
+        persist.run();
+        draining = false;
+        if (failures[0] == 0) {
+            retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+            drain();
+        } else if (!scores.isEmpty()) {
+            scheduler.postAt(retry, scheduler.now() + retryDelayMillis);
+            retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+    }
+
+    /**
+     * Where entries are written: ScoreManager in the app
+     */
+    interface ScoreWriter {
+        void write(PendingScores.Entry entry, DataCallback<Void> callback);
+    }
+}
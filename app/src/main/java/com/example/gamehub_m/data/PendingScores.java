@@ -0,0 +1,172 @@
+package com.example.gamehub_m.data;
+
+import com.example.gamehub_m.core.leaderboard.ScoreSubmission;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory contents of the pending score write-ahead log.
+ * Keeps at most one entry per userId/gameName: the best score that has not been written yet.
+ * Each entry keeps its history key and how often the database rules rejected it, so retries stay
+ * idempotent and an entry the rules keep rejecting is eventually dropped. Not thread-safe; PendingScoreQueue confines it to its worker thread.
+ */
+public class PendingScores {
+
+    private static final int FORMAT_VERSION = 3;
+    // Version 1 entries carry no replay
+    private static final int FORMAT_VERSION_NO_REPLAY = 1;
+    // Version 2 entries carry no scoreId or rejection count
+    private static final int FORMAT_VERSION_NO_SCORE_ID = 2;
+
+    // Insertion ordered so the oldest pending game is written first
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Add a score, coalescing it with a pending score for the same user and game.
+     * @return true if the log changed and needs to be persisted
+     */
+    public boolean offer(Entry entry) {
+        String key = entry.key();
+        Entry pending = entries.get(key);
+        if (pending != null && pending.score >= entry.score) {
+            return false;
+        }
+        entries.put(key, entry);
+        return true;
+    }
+
+    /**
+     * The oldest pending entries, at most maxCount of them.
+     */
+    public List<Entry> peekBatch(int maxCount) {
+        List<Entry> batch = new ArrayList<>(Math.min(maxCount, entries.size()));
+        for (Entry entry : entries.values()) {
+            if (batch.size() == maxCount) {
+                break;
+            }
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    /**
+     * Remove an entry once it has been written.
+     * Does nothing if a better score for the same user and game was offered meanwhile.
+     * @return true if the log changed and needs to be persisted
+     */
+    public boolean remove(Entry entry) {
+        String key = entry.key();
+        if (entries.get(key) != entry) {
+            return false;
+        }
+        entries.remove(key);
+        return true;
+    }
+
+    /**
+     * Count a rules rejection of an entry, dropping it once it has been rejected maxRejections times.
+     * Does nothing if a better score for the same user and game was offered meanwhile.
+     * @return true if the entry was dropped
+     */
+    public boolean reject(Entry entry, int maxRejections) {
+        String key = entry.key();
+        if (entries.get(key) != entry) {
+            return false;
+        }
+        entry.rejections++;
+        if (entry.rejections < maxRejections) {
+            return false;
+        }
+        entries.remove(key);
+        return true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(entries.size());
+        for (Entry entry : entries.values()) {
+            out.writeUTF(entry.userId);
+            out.writeUTF(entry.displayName);
+            out.writeUTF(entry.gameName);
+            out.writeLong(entry.score);
+            out.writeLong(entry.timestamp);
+            out.writeBoolean(entry.replay != null);
+            if (entry.replay != null) {
+                out.writeUTF(entry.replay);
+                out.writeUTF(entry.replayDigest);
+            }
+            out.writeBoolean(entry.scoreId != null);
+            if (entry.scoreId != null) {
+                out.writeUTF(entry.scoreId);
+            }
+            out.writeInt(entry.rejections);
+        }
+    }
+
+    public void readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION && version != FORMAT_VERSION_NO_SCORE_ID
+                && version != FORMAT_VERSION_NO_REPLAY) {
+            throw new IOException("Unsupported pending score format: " + version);
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String userId = in.readUTF();
+            String displayName = in.readUTF();
+            String gameName = in.readUTF();
+            long score = in.readLong();
+            long timestamp = in.readLong();
+            String replay = null;
+            String replayDigest = null;
+            if (version != FORMAT_VERSION_NO_REPLAY && in.readBoolean()) {
+                replay = in.readUTF();
+                replayDigest = in.readUTF();
+            }
+            String scoreId = null;
+            int rejections = 0;
+            if (version == FORMAT_VERSION) {
+                scoreId = in.readBoolean() ? in.readUTF() : null;
+                rejections = in.readInt();
+            }
+            Entry entry = new Entry(userId, displayName, gameName, score, timestamp, replay, replayDigest, scoreId);
+            entry.rejections = rejections;
+            offer(entry);
+        }
+    }
+
+    /**
+     * A score waiting to be written to Firebase
+     */
+    public static class Entry extends ScoreSubmission {
+
+        // Writes the rules rejected so far
+        int rejections;
+
+        public Entry(String userId, String displayName, String gameName, long score, long timestamp) {
+            this(userId, displayName, gameName, score, timestamp, null, null, null);
+        }
+
+        public Entry(String userId, String displayName, String gameName, long score, long timestamp,
+                     String replay, String replayDigest, String scoreId) {
+            super(userId, displayName, gameName, score, timestamp, replay, replayDigest, scoreId);
+        }
+
+        String key() {
+            return userId + "/" + gameName;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.gamehub_m.data;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.leaderboard.ScoreHistogram;
+
+/**
+ * Answers "what is my rank in game X" without downloading the leaderboard.
+ * The user's entry is read first; then a bounded query counts the entries ranked above it,
+ * which is exact for the top EXACT_RANK_LIMIT. Beyond that the rank is estimated from the
+ * per-game ScoreHistogram at leaderboardStats/{gameName}.
+ */
+public class RankService {
+
+    public static final int EXACT_RANK_LIMIT = 100;
+
+    private RankService() {
+    }
+
+    /**
+     * Look up the rank of a user in a game
+     */
+    public static void getRank(String gameName, String userId, OnRankListener listener) {
+        ScoreManager.getLeaderboardRepository().getHighScore(gameName, userId, new DataCallback<Long>() {
+            @Override
+            public void onSuccess(Long highScore) {
+                if (highScore == null) {
+                    listener.onNotRanked();
+                } else {
+                    countAbove(gameName, userId, highScore, listener);
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                listener.onError(errorMessage);
+            }
+        });
+    }
+
+    private static void countAbove(String gameName, String userId, long highScore, OnRankListener listener) {
+        ScoreManager.getLeaderboardRepository().countAbove(gameName, userId, highScore, EXACT_RANK_LIMIT,
+                new DataCallback<Integer>() {
+                    @Override
+                    public void onSuccess(Integer above) {
+                        if (above < EXACT_RANK_LIMIT) {
+                            listener.onRank(new Rank(above + 1, true, above + 1, above + 1, highScore));
+                        } else {
+                            estimate(gameName, highScore, listener);
+                        }
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        listener.onError(errorMessage);
+                    }
+                });
+    }
+
+    private static void estimate(String gameName, long highScore, OnRankListener listener) {
+        ScoreManager.getLeaderboardRepository().getHistogram(gameName, new DataCallback<ScoreHistogram>() {
+            @Override
+            public void onSuccess(ScoreHistogram histogram) {
+                // Everything in a higher bucket is above; the own bucket may or may not be
+                long best = Math.max(EXACT_RANK_LIMIT + 1, 1 + histogram.countAboveBucket(highScore));
+                long worst = Math.max(best, histogram.countAboveBucket(highScore)
+                        + histogram.getCount(ScoreHistogram.bucketOf(highScore)));
+                long estimate = Math.min(worst, Math.max(best, histogram.estimateRank(highScore)));
+                listener.onRank(new Rank(estimate, false, best, worst, highScore));
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                listener.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * A user's position on a leaderboard
+     */
+    public static class Rank {
+        public final long rank;
+        public final boolean exact;
+        // Bounds of an estimated rank; both equal rank when exact
+        public final long rankLow;
+        public final long rankHigh;
+        public final long highScore;
+
+        public Rank(long rank, boolean exact, long rankLow, long rankHigh, long highScore) {
+            this.rank = rank;
+            this.exact = exact;
+            this.rankLow = rankLow;
+            this.rankHigh = rankHigh;
+            this.highScore = highScore;
+        }
+    }
+
+    /**
+     * Listener interface for rank lookups
+     */
+    public interface OnRankListener {
+        void onRank(Rank rank);
+        void onNotRanked();
+        void onError(String errorMessage);
+    }
+}
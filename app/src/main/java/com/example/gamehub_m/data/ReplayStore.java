@@ -0,0 +1,145 @@
+package com.example.gamehub_m.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.example.gamehub_m.core.replay.Replay;
+import com.example.gamehub_m.core.replay.ReplayIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps recent game replays in files/replays, one file per replay, within MAX_BYTES.
+ * Once the budget is exceeded the least recently saved or loaded replays are deleted.
+ * File access and the index happen on a background thread; callbacks arrive on the main thread.
+ */
+public class ReplayStore {
+
+    private static final String TAG = "ReplayStore";
+    private static final String DIRECTORY = "replays";
+    private static final String EXTENSION = ".replay";
+    public static final long MAX_BYTES = 512 * 1024;
+
+    private static ReplayStore instance;
+
+    private final File directory;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Built from the directory on first use; only touched on the executor
+    private ReplayIndex index;
+
+    public static synchronized ReplayStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new ReplayStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ReplayStore(Context context) {
+        directory = new File(context.getFilesDir(), DIRECTORY);
+    }
+
+    /**
+     * Store a replay
+     * @return The id to load it with later
+     */
+    public String save(Replay replay) {
+        String id = replay.getGameName() + "-" + System.currentTimeMillis();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            replay.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to serialize replay", e);
+            return id;
+        }
+        byte[] data = bytes.toByteArray();
+        executor.execute(() -> {
+            ReplayIndex index = getIndex();
+            AtomicFile file = fileFor(id);
+            FileOutputStream stream = null;
+            try {
+                stream = file.startWrite();
+                stream.write(data);
+                file.finishWrite(stream);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to save replay " + id, e);
+                if (stream != null) {
+                    file.failWrite(stream);
+                }
+                return;
+            }
+            for (String evicted : index.put(id, data.length)) {
+                fileFor(evicted).delete();
+            }
+        });
+        return id;
+    }
+
+    /**
+     * Read a stored replay; listener.onLoaded gets null if it was evicted or is unreadable
+     */
+    public void load(String id, OnReplayLoadedListener listener) {
+        executor.execute(() -> {
+            Replay replay = null;
+            if (getIndex().touch(id)) {
+                AtomicFile file = fileFor(id);
+                try {
+                    replay = Replay.readFrom(new DataInputStream(new ByteArrayInputStream(file.readFully())));
+                    // Persist the use for the index built on the next start
+                    file.getBaseFile().setLastModified(System.currentTimeMillis());
+                } catch (IOException e) {
+                    Log.e(TAG, "Discarding unreadable replay " + id, e);
+                    getIndex().remove(id);
+                    file.delete();
+                }
+            }
+            Replay result = replay;
+            mainHandler.post(() -> listener.onLoaded(result));
+        });
+    }
+
+    private ReplayIndex getIndex() {
+        if (index == null) {
+            index = new ReplayIndex(MAX_BYTES);
+            directory.mkdirs();
+            File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+            if (files != null) {
+                // Oldest first, so the most recently used replays survive the budget
+                Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+                for (File f : files) {
+                    String name = f.getName();
+                    for (String evicted : index.put(name.substring(0, name.length() - EXTENSION.length()), f.length())) {
+                        fileFor(evicted).delete();
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    private AtomicFile fileFor(String id) {
+        return new AtomicFile(new File(directory, id + EXTENSION));
+    }
+
+    /**
+     * Listener interface for replay loads
+     */
+    public interface OnReplayLoadedListener {
+        void onLoaded(Replay replay);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.gamehub_m.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.example.gamehub_m.core.rps.NGramRpsStrategy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the RPS opponent's learned move counts in the app's files directory,
+ * so it remembers the player's habits across sessions.
+ * File access happens on a background thread; the model itself is only touched on the main thread.
+ */
+public class RpsModelStore {
+
+    private static final String TAG = "RpsModelStore";
+    private static final String FILE_NAME = "rps_model.dat";
+
+    private static RpsModelStore instance;
+
+    private final AtomicFile file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public static synchronized RpsModelStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new RpsModelStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private RpsModelStore(Context context) {
+        file = new AtomicFile(new File(context.getFilesDir(), FILE_NAME));
+    }
+
+    /**
+     * Read the saved counts into model. Must be called on the main thread; the model is
+     * updated there later, replacing anything it learned in between.
+     */
+    public void load(NGramRpsStrategy model) {
+        executor.execute(() -> {
+            byte[] data;
+            try {
+                data = file.readFully();
+            } catch (FileNotFoundException e) {
+                return; // Nothing learned yet
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to read RPS model", e);
+                return;
+            }
+            mainHandler.post(() -> {
+                try {
+                    model.readFrom(new DataInputStream(new ByteArrayInputStream(data)));
+                } catch (IOException e) {
+                    Log.e(TAG, "Discarding unreadable RPS model", e);
+                    executor.execute(file::delete);
+                }
+            });
+        });
+    }
+
+    /**
+     * Save the model's counts. Must be called on the main thread.
+     */
+    public void save(NGramRpsStrategy model) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            model.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to serialize RPS model", e);
+            return;
+        }
+        byte[] data = bytes.toByteArray();
+        executor.execute(() -> {
+            FileOutputStream stream = null;
+            try {
+                stream = file.startWrite();
+                stream.write(data);
+                file.finishWrite(stream);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to save RPS model", e);
+                if (stream != null) {
+                    file.failWrite(stream);
+                }
+            }
+        });
+    }
+}
@@ -1,30 +1,80 @@
 package com.example.gamehub_m.data;
 
+import android.content.Context;
+import android.util.Base64;
+
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.Query;
-import com.google.firebase.database.ValueEventListener;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import com.example.gamehub_m.BuildConfig;
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.Database;
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+import com.example.gamehub_m.core.leaderboard.LeaderboardRepository;
+import com.example.gamehub_m.core.leaderboard.ScoreRepository;
+import com.example.gamehub_m.core.replay.Replay;
+import com.example.gamehub_m.core.replay.ReplaySigner;
+
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 
 /**
- * Firebase Score Manager - Saves and retrieves game scores from Firebase Realtime Database
+ * Firebase Score Manager - Saves and retrieves game scores from Firebase Realtime Database.
+ * The work is done by a ScoreRepository and a LeaderboardRepository over a Database, the Firebase
+ * SDK unless setBackend() swapped it, e.g. for a MemoryDatabase in tests and benchmarks.
  */
 public class ScoreManager {
 
-    private static final String SCORES_REF = "scores";
-    private static final String LEADERBOARD_REF = "leaderboard";
+    // Longer encoded replays are submitted without one; the database rules reject them
+    private static final int MAX_REPLAY_CHARS = 16384;
+
+    private static Database database;
+    private static UserProvider users;
+    private static ScoreRepository scores;
+    private static LeaderboardRepository leaderboard;
+    private static ReplaySigner replaySigner;
+
+    /**
+     * Run the data layer on another database and user source; null restores Firebase.
+     * Call before the first score is saved or read.
+     */
+    public static synchronized void setBackend(Database database, UserProvider users) {
+        ScoreManager.database = database;
+        ScoreManager.users = users;
+        scores = null;
+        leaderboard = null;
+    }
+
+    private static synchronized Database getDatabase() {
+        if (database == null) {
+            database = new FirebaseDatabaseBackend(FirebaseDatabase.getInstance());
+        }
+        return database;
+    }
+
+    private static synchronized UserProvider getUsers() {
+        if (users == null) {
+            users = new FirebaseUserProvider();
+        }
+        return users;
+    }
+
+    private static synchronized ScoreRepository getScores() {
+        if (scores == null) {
+            scores = new ScoreRepository(getDatabase());
+        }
+        return scores;
+    }
 
-    private static DatabaseReference getDatabaseRef() {
-        return FirebaseDatabase.getInstance().getReference();
+    /**
+     * The leaderboards, for queries made by other data classes
+     */
+    static synchronized LeaderboardRepository getLeaderboardRepository() {
+        if (leaderboard == null) {
+            leaderboard = new LeaderboardRepository(getDatabase());
+        }
+        return leaderboard;
     }
 
     /**
@@ -32,87 +82,87 @@ public class ScoreManager {
      * Structure: scores/{userId}/{gameName}/{scoreId}
      */
     public static void saveScore(String gameName, int score, OnScoreSavedListener listener) {
-        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
-        if (user == null) {
+        saveScoreAtomic(gameName, score, null, listener);
+    }
+
+    /**
+     * Save a game score together with the replay that produced it, so it can be verified
+     * @param replay May be null
+     */
+    public static void saveScore(String gameName, int score, Replay replay, OnScoreSavedListener listener) {
+        saveScoreAtomic(gameName, score, replay, listener);
+    }
+
+    /**
+     * Save a game score as a single multi-path write.
+     * The history entry (under a pre-generated push key) and, when the score beats the
+     * user's high score, the leaderboard node and histogram buckets are committed together
+     * by one updateChildren call. If the user's high score is not known yet it is read first.
+     */
+    public static void saveScoreAtomic(String gameName, int score, Replay replay, OnScoreSavedListener listener) {
+        String userId = getUsers().getUserId();
+        if (userId == null) {
             if (listener != null) {
                 listener.onError("User not logged in");
             }
             return;
         }
 
-        String userId = user.getUid();
-        String displayName = user.getDisplayName();
-        if (displayName == null || displayName.isEmpty()) {
-            displayName = user.getEmail() != null ? user.getEmail().split("@")[0] : "Anonymous";
-        }
+        saveScoreForUser(newEntry(userId, gameName, score, replay), listener);
+    }
 
-        DatabaseReference scoresRef = getDatabaseRef().child(SCORES_REF).child(userId).child(gameName);
-        
-        // Create score entry
-        Map<String, Object> scoreData = new HashMap<>();
-        scoreData.put("score", score);
-        scoreData.put("timestamp", System.currentTimeMillis());
-        scoreData.put("displayName", displayName);
+    /**
+     * Queue a score in the local write-ahead log and return immediately.
+     * The score survives process death and is written once the device is online;
+     * pending scores for the same user and game are coalesced to the best one.
+     */
+    public static void enqueueScore(Context context, String gameName, int score, Replay replay) {
+        String userId = getUsers().getUserId();
+        if (userId == null) {
+            return;
+        }
+        PendingScoreQueue.getInstance(context).offer(newEntry(userId, gameName, score, replay));
+    }
 
-        // Push new score
-        final String finalDisplayName = displayName;
-        scoresRef.push().setValue(scoreData)
-                .addOnSuccessListener(aVoid -> {
+    private static PendingScores.Entry newEntry(String userId, String gameName, long score, Replay replay) {
+        String encoded = null;
+        String digest = null;
+        if (replay != null) {
+            byte[] data = replay.toByteArray();
+            encoded = Base64.encodeToString(data, Base64.NO_WRAP);
+            if (encoded.length() > MAX_REPLAY_CHARS) {
+                encoded = null;
+            } else {
+                digest = signReplay(userId, score, data);
+            }
+        }
+        // The history key is fixed now so a retried write cannot add a second history entry
+        return new PendingScores.Entry(userId, getUsers().getDisplayName(), gameName, score,
+                System.currentTimeMillis(), encoded, digest, getScores().newScoreId(userId, gameName));
+    }
 
-                    updateLeaderboard(gameName, userId, finalDisplayName, score, listener);
-                })
-                .addOnFailureListener(e -> {
-                    if (listener != null) {
-                        listener.onError(e.getMessage());
-                    }
-                });
+    private static synchronized String signReplay(String userId, long score, byte[] replay) {
+        if (replaySigner == null) {
+            replaySigner = new ReplaySigner(BuildConfig.REPLAY_SIGNING_KEY.getBytes(StandardCharsets.UTF_8));
+        }
+        return replaySigner.sign(userId, score, replay);
     }
 
     /**
-     * Update the leaderboard with the user's high score for a game
-     * Structure: leaderboard/{gameName}/{userId}
+     * Write path shared by saveScoreAtomic and the pending score queue.
+     * See ScoreRepository for how the score, leaderboard node and histogram are committed.
      */
-    private static void updateLeaderboard(String gameName, String userId, String displayName, int score, OnScoreSavedListener listener) {
-        DatabaseReference leaderboardRef = getDatabaseRef()
-                .child(LEADERBOARD_REF)
-                .child(gameName)
-                .child(userId);
-
-
-        leaderboardRef.get().addOnCompleteListener(task -> {
-            boolean shouldUpdate = true;
-            
-            if (task.isSuccessful() && task.getResult().exists()) {
-                Long currentHighScore = task.getResult().child("highScore").getValue(Long.class);
-                if (currentHighScore != null && currentHighScore >= score) {
-                    shouldUpdate = false;
-                }
-            }
+    static void saveScoreForUser(PendingScores.Entry entry, OnScoreSavedListener listener) {
+        getScores().save(entry, saved(listener));
+    }
 
-            if (shouldUpdate) {
-                Map<String, Object> leaderboardData = new HashMap<>();
-                leaderboardData.put("displayName", displayName);
-                leaderboardData.put("highScore", score);
-                leaderboardData.put("userId", userId);
-                leaderboardData.put("updatedAt", System.currentTimeMillis());
-
-                leaderboardRef.setValue(leaderboardData)
-                        .addOnSuccessListener(aVoid -> {
-                            if (listener != null) {
-                                listener.onSuccess();
-                            }
-                        })
-                        .addOnFailureListener(e -> {
-                            if (listener != null) {
-                                listener.onError(e.getMessage());
-                            }
-                        });
-            } else {
-                if (listener != null) {
-                    listener.onSuccess();
-                }
-            }
-        });
+    /**
+     * Recompute leaderboardStats/{gameName} from the raw leaderboard, for repair.
+     * Downloads the whole board once; increments made while it runs may be lost,
+     * so run it when the game is quiet.
+     */
+    public static void rebuildHistogram(String gameName, OnScoreSavedListener listener) {
+        getLeaderboardRepository().rebuildHistogram(gameName, saved(listener));
     }
 
     /**
@@ -122,44 +172,88 @@ public class ScoreManager {
      * @param listener Callback
      */
     public static void getLeaderboard(String gameName, int limit, OnLeaderboardFetchListener listener) {
-        DatabaseReference gameLeaderboardRef = getDatabaseRef().child(LEADERBOARD_REF).child(gameName);
-        
-        // Order by highScore (ascending by default in Firebase)
-        Query topScoresQuery = gameLeaderboardRef.orderByChild("highScore").limitToLast(limit);
+        getLeaderboardRepository().getTop(gameName, limit, fetched(listener));
+    }
+
+    /**
+     * Fetch one page of the leaderboard next to a known entry, using the highScore
+     * plus node key as a cursor so pages stay stable across equal scores.
+     * @param cursor The last entry of the page above (when loading below) or the first entry of
+     *               the page below (when loading above); null for the top page
+     * @param above true to load the higher-ranked page before the cursor
+     * @param listener Receives entries highest first, without ranks
+     */
+    public static void getLeaderboardPage(String gameName, LeaderboardEntry cursor, boolean above,
+                                          int pageSize, OnLeaderboardFetchListener listener) {
+        getLeaderboardRepository().getPage(gameName, cursor, above, pageSize, fetched(listener));
+    }
 
-        topScoresQuery.addListenerForSingleValueEvent(new ValueEventListener() {
+    private static DataCallback<Void> saved(OnScoreSavedListener listener) {
+        if (listener == null) {
+            return null;
+        }
+        return new DataCallback<Void>() {
             @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                List<LeaderboardEntry> entries = new ArrayList<>();
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    try {
-                        String displayName = snapshot.child("displayName").getValue(String.class);
-                        Long highScore = snapshot.child("highScore").getValue(Long.class);
-                        String userId = snapshot.child("userId").getValue(String.class);
-                        
-                        if (displayName != null && highScore != null) {
-                            entries.add(new LeaderboardEntry(userId, displayName, highScore));
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-                
-                // Firebase returns ascending order, so reverse for descending (highest first)
-                Collections.reverse(entries);
-                
+            public void onSuccess(Void result) {
+                listener.onSuccess();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                listener.onError(errorMessage);
+            }
+        };
+    }
+
+    private static DataCallback<List<LeaderboardEntry>> fetched(OnLeaderboardFetchListener listener) {
+        return new DataCallback<List<LeaderboardEntry>>() {
+            @Override
+            public void onSuccess(List<LeaderboardEntry> entries) {
                 if (listener != null) {
                     listener.onSuccess(entries);
                 }
             }
 
             @Override
-            public void onCancelled(DatabaseError databaseError) {
+            public void onError(String errorMessage) {
                 if (listener != null) {
-                    listener.onError(databaseError.getMessage());
+                    listener.onError(errorMessage);
                 }
             }
-        });
+        };
+    }
+
+    /**
+     * Who is signed in, as far as saving scores is concerned
+     */
+    public interface UserProvider {
+        /**
+         * The signed-in user's id, or null if nobody is signed in
+         */
+        String getUserId();
+
+        String getDisplayName();
+    }
+
+    private static class FirebaseUserProvider implements UserProvider {
+        @Override
+        public String getUserId() {
+            FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+            return user != null ? user.getUid() : null;
+        }
+
+        @Override
+        public String getDisplayName() {
+            FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+            if (user == null) {
+                return "Anonymous";
+            }
+            String displayName = user.getDisplayName();
+            if (displayName == null || displayName.isEmpty()) {
+                displayName = user.getEmail() != null ? user.getEmail().split("@")[0] : "Anonymous";
+            }
+            return displayName;
+        }
     }
 
     /**
@@ -177,19 +271,4 @@ public class ScoreManager {
         void onSuccess(List<LeaderboardEntry> entries);
         void onError(String errorMessage);
     }
-
-    /**
-     * Model for Leaderboard Entry
-     */
-    public static class LeaderboardEntry {
-        public String userId;
-        public String displayName;
-        public long highScore;
-
-        public LeaderboardEntry(String userId, String displayName, long highScore) {
-            this.userId = userId;
-            this.displayName = displayName;
-            this.highScore = highScore;
-        }
-    }
 }
@@ -0,0 +1,156 @@
+package com.example.gamehub_m.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.gamehub_m.core.engine.GameScheduler;
+import com.example.gamehub_m.core.replay.Replay;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers the running score of a game session and submits it once instead of after every round.
+ * The buffered score is written when the session ends, when the activity stops, or after the
+ * session has been idle for a configurable interval. Must be used on the scheduler's thread, the
+ * main thread in the app.
+ */
+public class SessionScoreAggregator {
+
+    private static final String TAG = "SessionScore";
+    public static final long DEFAULT_IDLE_MILLIS = 30_000;
+
+    // Process-wide counters, across all games and sessions
+    private static final AtomicLong totalSubmitted = new AtomicLong();
+    private static final AtomicLong totalSuppressed = new AtomicLong();
+
+    private final String gameName;
+    private final long idleMillis;
+    private final GameScheduler scheduler;
+    private final ScoreSink sink;
+    private final Runnable idleFlush = this::flush;
+    private ReplayRecorder replayRecorder;
+
+    private int pendingScore = 0;
+    private int submittedScore = 0;
+    private int updates = 0;
+    private int submitted = 0;
+    private int reportedSuppressed = 0;
+
+    /**
+     * Submit through the pending score queue, flushing after DEFAULT_IDLE_MILLIS without updates
+     */
+    public SessionScoreAggregator(Context context, String gameName, GameScheduler scheduler) {
+        this(gameName, DEFAULT_IDLE_MILLIS, scheduler, enqueueTo(context.getApplicationContext()));
+    }
+
+    public SessionScoreAggregator(String gameName, long idleMillis, GameScheduler scheduler, ScoreSink sink) {
+        this.gameName = gameName;
+        this.idleMillis = idleMillis;
+        this.scheduler = scheduler;
+        this.sink = sink;
+    }
+
+    private static ScoreSink enqueueTo(Context context) {
+        return (gameName, score, replay) -> ScoreManager.enqueueScore(context, gameName, score, replay);
+    }
+
+    /**
+     * Submit the recorder's replay with each score; its game must produce the running score
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.replayRecorder = recorder;
+    }
+
+    /**
+     * Record the current running score of the session.
+     * Each call replaces what used to be one write.
+     */
+    public void update(int score) {
+        updates++;
+        if (score > pendingScore) {
+            pendingScore = score;
+        }
+        scheduler.cancel(idleFlush);
+        if (idleMillis > 0) {
+            scheduler.postAt(idleFlush, scheduler.now() + idleMillis);
+        }
+    }
+
+    /**
+     * Submit the buffered score if it has not been submitted yet
+     */
+    public void flush() {
+        scheduler.cancel(idleFlush);
+        if (pendingScore > submittedScore) {
+            sink.submit(gameName, pendingScore, replayRecorder != null ? replayRecorder.toReplay() : null);
+            submittedScore = pendingScore;
+            submitted++;
+            totalSubmitted.incrementAndGet();
+        }
+        int suppressed = getSuppressedWrites();
+        totalSuppressed.addAndGet(suppressed - reportedSuppressed);
+        reportedSuppressed = suppressed;
+        Log.d(TAG, gameName + ": " + submitted + " writes, " + suppressed + " suppressed");
+    }
+
+    /**
+     * Submit the buffered score and start counting a new session
+     */
+    public void endSession() {
+        flush();
+        pendingScore = 0;
+        submittedScore = 0;
+        updates = 0;
+        submitted = 0;
+        reportedSuppressed = 0;
+    }
+
+    /**
+     * Call from the activity's onStop; the process may be killed from then on
+     */
+    public void onStop() {
+        flush();
+    }
+
+    /**
+     * Call from the activity's onDestroy. A finishing activity ends the session; one destroyed to be
+     * recreated only stops the idle timer, as onStop already flushed.
+     */
+    public void onDestroy(boolean finishing) {
+        if (finishing) {
+            endSession();
+        } else {
+            scheduler.cancel(idleFlush);
+        }
+    }
+
+    public int getSubmittedWrites() {
+        return submitted;
+    }
+
+    /**
+     * Number of per-round writes this session avoided so far
+     */
+    public int getSuppressedWrites() {
+        return Math.max(0, updates - submitted);
+    }
+
+    public static long getTotalSubmittedWrites() {
+        return totalSubmitted.get();
+    }
+
+    public static long getTotalSuppressedWrites() {
+        return totalSuppressed.get();
+    }
+
+    /**
+     * Where buffered scores go
+     */
+    public interface ScoreSink {
+        /**
+         * @param replay May be null
+         */
+        void submit(String gameName, int score, Replay replay);
+    }
+}
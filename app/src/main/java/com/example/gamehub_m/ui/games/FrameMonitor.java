@@ -0,0 +1,55 @@
+package com.example.gamehub_m.ui.games;
+
+import android.view.Choreographer;
+
+import com.example.gamehub_m.core.engine.TimingMetrics;
+
+/**
+ * Counts dropped frames into a game loop's metrics while it is active, typically while the loop
+ * is ticking an animation. Main thread only.
+ */
+class FrameMonitor {
+
+    private final TimingMetrics metrics;
+    private final Choreographer.FrameCallback frameCallback = this::onFrame;
+    private long frameIntervalNanos = 1_000_000_000L / 60;
+    private long lastFrameNanos = 0;
+    private boolean active = false;
+
+    FrameMonitor(TimingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Expected time between frames, from the display refresh rate
+     */
+    void setRefreshRate(float framesPerSecond) {
+        if (framesPerSecond > 0) {
+            frameIntervalNanos = (long) (1_000_000_000L / framesPerSecond);
+        }
+    }
+
+    void setActive(boolean active) {
+        if (active == this.active) {
+            return;
+        }
+        this.active = active;
+        if (active) {
+            lastFrameNanos = 0;
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        } else {
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+        }
+    }
+
+    private void onFrame(long frameTimeNanos) {
+        if (!active) {
+            return;
+        }
+        if (lastFrameNanos != 0) {
+            metrics.recordFrame(frameTimeNanos - lastFrameNanos, frameIntervalNanos);
+        }
+        lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
+}
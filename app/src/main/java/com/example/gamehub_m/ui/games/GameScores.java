@@ -0,0 +1,25 @@
+package com.example.gamehub_m.ui.games;
+
+import android.content.Context;
+
+import com.example.gamehub_m.core.replay.Replay;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+import com.example.gamehub_m.data.ReplayStore;
+import com.example.gamehub_m.data.ScoreManager;
+
+/**
+ * The one place a finished game's score is submitted from, with its replay kept locally as well.
+ * Session-long games (RPS, TicTacToe) go through SessionScoreAggregator instead.
+ */
+final class GameScores {
+
+    private GameScores() {
+    }
+
+    static void save(Context context, ReplayRecorder recorder, long score,
+                     ScoreManager.OnScoreSavedListener listener) {
+        Replay replay = recorder.toReplay();
+        ReplayStore.getInstance(context).save(replay);
+        ScoreManager.saveScore(recorder.getGameName(), (int) score, replay, listener);
+    }
+}
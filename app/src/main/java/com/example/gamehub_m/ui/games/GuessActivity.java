@@ -1,6 +1,11 @@
 package com.example.gamehub_m.ui.games;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.InputFilter;
+import android.text.InputType;
+import android.util.TypedValue;
 import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
@@ -12,14 +17,21 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 
 import com.example.gamehub_m.R;
+import com.example.gamehub_m.core.engine.GameLoop;
+import com.example.gamehub_m.core.guess.GuessDifficulty;
+import com.example.gamehub_m.core.guess.GuessEngine;
+import com.example.gamehub_m.core.guess.GuessGame;
+import com.example.gamehub_m.core.guess.GuessRange;
+import com.example.gamehub_m.core.random.RngService;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
-import java.util.Random;
-
 /**
  * Guess Number Game Activity
- * Player guesses a number between 1-100 within 10 attempts
+ * Player guesses a number within a limited number of attempts; the range starts at 1-100 and
+ * adapts to how well the player is doing (see GuessDifficulty)
  */
 public class GuessActivity extends AppCompatActivity {
 
@@ -31,14 +43,14 @@ public class GuessActivity extends AppCompatActivity {
     private TextView scoreText;
     private ImageButton btnBack;
     private CardView hintCard;
+    private TextView instructionText;
+    private GuessHints hints;
 
-    private Random random = new Random();
-    private int targetNumber;
-    private int attemptsRemaining;
+    private final Xoshiro256Random stream = RngService.getInstance().stream("Guess");
+    private final GuessGame game = new GuessGame();
+    private final ReplayRecorder recorder = new ReplayRecorder("Guess");
+    private GameLoop loop;
     private int totalScore = 0;
-    private boolean gameOver = false;
-
-    private static final int MAX_ATTEMPTS = 10;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -46,8 +58,22 @@ public class GuessActivity extends AppCompatActivity {
         setContentView(R.layout.activity_guess);
 
         initViews();
+        hints = new GuessHints(getResources(), GuessDifficulty.adaptive().getMaxAttempts());
         setupListeners();
-        startNewRound();
+        game.setRecorder(recorder);
+        loop = new GameLoop(game, new HandlerGameScheduler(new Handler(Looper.getMainLooper())),
+                new GameLoop.Listener() {
+                    @Override
+                    public void onUpdate() {
+                        render();
+                    }
+
+                    @Override
+                    public void onGameOver(long score) {
+                        saveScoreToFirebase();
+                    }
+                });
+        startNewGame();
     }
 
     private void initViews() {
@@ -59,6 +85,7 @@ public class GuessActivity extends AppCompatActivity {
         scoreText = findViewById(R.id.scoreText);
         btnBack = findViewById(R.id.btnBack);
         hintCard = findViewById(R.id.hintCard);
+        instructionText = findViewById(R.id.instructionText);
     }
 
     private void setupListeners() {
@@ -69,19 +96,61 @@ public class GuessActivity extends AppCompatActivity {
         restartButton.setOnClickListener(v -> restartGame());
     }
 
-    private void startNewRound() {
-
-        targetNumber = random.nextInt(100) + 1;
-        attemptsRemaining = MAX_ATTEMPTS;
-        gameOver = false;
-        
-
+    private void startNewGame() {
+        // Each game draws from its own split, so a replay needs only this game's seed
+        Xoshiro256Random gameRandom = stream.split();
+        recorder.start(gameRandom.getSeed());
         guessInput.setText("");
+        loop.start(gameRandom);
+    }
+
+    /**
+     * Show the game's state after every guess; the texts come precomputed from GuessHints
+     */
+    private void render() {
+        GuessEngine engine = game.getEngine();
+        showRange(engine.getRange());
+        attemptsText.setText(hints.count(engine.getAttemptsRemaining()));
+        totalScore = (int) game.getScore();
+        scoreText.setText(String.valueOf(totalScore));
+
+        if (game.isOver()) {
+            guessInput.setEnabled(false);
+            guessButton.setEnabled(false);
+            hintText.setText(hints.gameOver(engine.getTarget(), totalScore));
+            hintText.setTextColor(hints.errorColor);
+            return;
+        }
         guessInput.setEnabled(true);
         guessButton.setEnabled(true);
-        attemptsText.setText(String.valueOf(attemptsRemaining));
-        hintText.setText("Make your first guess!");
-        hintText.setTextColor(getResources().getColor(R.color.text_secondary, null));
+        int result = game.getLastResult();
+        if (result == GuessEngine.TOO_LOW) {
+            hintText.setText(GuessHints.TOO_LOW);
+            hintText.setTextColor(hints.lowColor);
+        } else if (result == GuessEngine.TOO_HIGH) {
+            hintText.setText(GuessHints.TOO_HIGH);
+            hintText.setTextColor(hints.highColor);
+        } else if (engine.getRoundsWon() > 0) {
+            hintText.setText(hints.correct(game.getLastGuess(), engine.getLastPoints()));
+            hintText.setTextColor(hints.successColor);
+        } else {
+            hintText.setText(GuessHints.FIRST_GUESS);
+            hintText.setTextColor(hints.neutralColor);
+        }
+    }
+
+    private void showRange(GuessRange range) {
+        if (!hints.setRange(range)) {
+            return;
+        }
+        instructionText.setText(hints.rangePrompt());
+        int digits = hints.inputDigits();
+        guessInput.setFilters(new InputFilter[]{new InputFilter.LengthFilter(digits)});
+        guessInput.setInputType(range.getMin() < 0
+                ? InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_SIGNED
+                : InputType.TYPE_CLASS_NUMBER);
+        // Shrink the digits so the widest number still fits the input card
+        guessInput.setTextSize(TypedValue.COMPLEX_UNIT_SP, digits <= 3 ? 56 : Math.max(20, 168 / digits));
     }
 
     private void onGuess() {
@@ -92,67 +161,27 @@ public class GuessActivity extends AppCompatActivity {
             return;
         }
 
-        int guessedNumber;
+        long guessedNumber;
         try {
-            guessedNumber = Integer.parseInt(inputText);
+            guessedNumber = Long.parseLong(inputText);
         } catch (NumberFormatException e) {
             Toast.makeText(this, "Please enter a valid number", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        if (guessedNumber < 1 || guessedNumber > 100) {
-            Toast.makeText(this, "Number must be between 1 and 100", Toast.LENGTH_SHORT).show();
+        if (!game.acceptsInput()) {
             return;
         }
-
-        if (gameOver) {
+        if (!game.getEngine().inRange(guessedNumber)) {
+            Toast.makeText(this, hints.outOfRange(), Toast.LENGTH_SHORT).show();
             return;
         }
 
-
-        if (guessedNumber == targetNumber) {
-
-            int pointsEarned = attemptsRemaining;
-            totalScore += pointsEarned;
-            scoreText.setText(String.valueOf(totalScore));
-            
-            hintText.setText("🎉 Correct! You guessed " + guessedNumber + "!\n+" + pointsEarned + " points!");
-            hintText.setTextColor(getResources().getColor(R.color.success, null));
-            
-            Toast.makeText(this, "+" + pointsEarned + " points!", Toast.LENGTH_SHORT).show();
-            
-
-            guessInput.setText("");
-            startNewRound();
-            
-        } else {
-
-            attemptsRemaining--;
-            attemptsText.setText(String.valueOf(attemptsRemaining));
-            guessInput.setText("");
-
-            if (attemptsRemaining == 0) {
-
-                gameOver = true;
-                guessInput.setEnabled(false);
-                guessButton.setEnabled(false);
-                
-                hintText.setText("💀 Game Over!\nThe number was " + targetNumber + "\nFinal Score: " + totalScore);
-                hintText.setTextColor(getResources().getColor(R.color.error, null));
-                
-
-                saveScoreToFirebase();
-                
-            } else {
-
-                if (guessedNumber < targetNumber) {
-                    hintText.setText("📈 Too LOW!\nTry a higher number.");
-                    hintText.setTextColor(getResources().getColor(R.color.secondary, null));
-                } else {
-                    hintText.setText("📉 Too HIGH!\nTry a lower number.");
-                    hintText.setTextColor(getResources().getColor(R.color.warning, null));
-                }
-            }
+        guessInput.setText("");
+        // The app's adaptive ranges all fit in an int, which is what inputs and replays use
+        loop.input((int) guessedNumber);
+        if (game.getLastResult() == GuessEngine.CORRECT) {
+            Toast.makeText(this, hints.pointsToast(game.getEngine().getLastPoints()), Toast.LENGTH_SHORT).show();
         }
     }
 
@@ -170,14 +199,12 @@ public class GuessActivity extends AppCompatActivity {
     }
 
     private void resetGame() {
-        totalScore = 0;
-        scoreText.setText("0");
-        startNewRound();
+        startNewGame();
     }
 
     private void saveScoreToFirebase(Runnable onComplete) {
         if (totalScore > 0) {
-            com.example.gamehub_m.data.ScoreManager.saveScore("Guess", totalScore, 
+            GameScores.save(this, recorder, totalScore,
                 new com.example.gamehub_m.data.ScoreManager.OnScoreSavedListener() {
                     @Override
                     public void onSuccess() {
@@ -0,0 +1,99 @@
+package com.example.gamehub_m.ui.games;
+
+import android.content.res.Resources;
+
+import com.example.gamehub_m.R;
+import com.example.gamehub_m.core.guess.GuessRange;
+
+/**
+ * Texts and colors of the Guess screen, resolved once per activity: a guess does no resource
+ * lookups, attempt counts and point toasts come from arrays built up front, and the only text
+ * built per guess is the one containing the guessed number, in a reused StringBuilder.
+ * Range texts are built once per range. Main thread only.
+ */
+class GuessHints {
+
+    static final String FIRST_GUESS = "Make your first guess!";
+    static final String TOO_LOW = "📈 Too LOW!\nTry a higher number.";
+    static final String TOO_HIGH = "📉 Too HIGH!\nTry a lower number.";
+
+    final int neutralColor;
+    final int successColor;
+    final int errorColor;
+    final int lowColor;
+    final int highColor;
+
+    // Indexed by count, up to the most attempts a round can give
+    private final String[] counts;
+    private final String[] pointToasts;
+    private final StringBuilder builder = new StringBuilder(64);
+
+    private GuessRange range;
+    private String rangePrompt;
+    private String outOfRange;
+    private int inputDigits;
+
+    GuessHints(Resources resources, int maxAttempts) {
+        neutralColor = resources.getColor(R.color.text_secondary, null);
+        successColor = resources.getColor(R.color.success, null);
+        errorColor = resources.getColor(R.color.error, null);
+        lowColor = resources.getColor(R.color.secondary, null);
+        highColor = resources.getColor(R.color.warning, null);
+
+        counts = new String[maxAttempts + 1];
+        pointToasts = new String[maxAttempts + 1];
+        for (int i = 0; i <= maxAttempts; i++) {
+            counts[i] = String.valueOf(i);
+            pointToasts[i] = "+" + i + " points!";
+        }
+    }
+
+    /**
+     * Switch the range texts to range; a no-op while the range stays the same
+     * @return Whether the range changed
+     */
+    boolean setRange(GuessRange range) {
+        if (range.equals(this.range)) {
+            return false;
+        }
+        this.range = range;
+        rangePrompt = "Guess a number between\n" + range.getMin() + " to " + range.getMax();
+        outOfRange = "Number must be between " + range.getMin() + " and " + range.getMax();
+        inputDigits = Math.max(Long.toString(range.getMin()).length(), Long.toString(range.getMax()).length());
+        return true;
+    }
+
+    String rangePrompt() {
+        return rangePrompt;
+    }
+
+    String outOfRange() {
+        return outOfRange;
+    }
+
+    /**
+     * Characters the widest number of the range takes, sign included
+     */
+    int inputDigits() {
+        return inputDigits;
+    }
+
+    String count(int count) {
+        return count < counts.length ? counts[count] : String.valueOf(count);
+    }
+
+    String pointsToast(int points) {
+        return points < pointToasts.length ? pointToasts[points] : "+" + points + " points!";
+    }
+
+    // TextView.setText copies plain text, so the builder can be reused right away
+    CharSequence correct(long guess, int points) {
+        builder.setLength(0);
+        return builder.append("🎉 Correct! You guessed ").append(guess).append("!\n+").append(points).append(" points!");
+    }
+
+    CharSequence gameOver(long target, int score) {
+        builder.setLength(0);
+        return builder.append("💀 Game Over!\nThe number was ").append(target).append("\nFinal Score: ").append(score);
+    }
+}
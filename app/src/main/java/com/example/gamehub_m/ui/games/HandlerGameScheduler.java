@@ -0,0 +1,33 @@
+package com.example.gamehub_m.ui.games;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import com.example.gamehub_m.core.engine.GameScheduler;
+
+/**
+ * Runs a GameLoop on a Handler's thread, on the uptime clock Handler.postAtTime uses.
+ */
+class HandlerGameScheduler implements GameScheduler {
+
+    private final Handler handler;
+
+    HandlerGameScheduler(Handler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public long now() {
+        return SystemClock.uptimeMillis();
+    }
+
+    @Override
+    public void postAt(Runnable task, long timeMillis) {
+        handler.postAtTime(task, timeMillis);
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        handler.removeCallbacks(task);
+    }
+}
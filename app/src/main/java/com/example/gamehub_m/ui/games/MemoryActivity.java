@@ -1,6 +1,7 @@
 package com.example.gamehub_m.ui.games;
 
 import android.graphics.drawable.GradientDrawable;
+import android.graphics.drawable.StateListDrawable;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
@@ -14,11 +15,15 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
 import com.example.gamehub_m.R;
+import com.example.gamehub_m.core.engine.GameLoop;
+import com.example.gamehub_m.core.memory.MemoryEngine;
+import com.example.gamehub_m.core.memory.MemoryGame;
+import com.example.gamehub_m.core.memory.PlaybackTiming;
+import com.example.gamehub_m.core.random.RngService;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
 import com.example.gamehub_m.data.ScoreManager;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
 
 /**
  * Memory Game Activity (Simon Says style)
@@ -27,16 +32,24 @@ import java.util.Random;
 public class MemoryActivity extends AppCompatActivity {
 
     private View btnGreen, btnRed, btnYellow, btnBlue;
+    // Indexed by color; each background shows its flash look while the button is activated
+    private final View[] colorButtons = new View[MemoryEngine.COLORS];
     private Button startButton;
     private TextView statusText, scoreText, roundText;
     private ImageButton btnBack;
 
-    private List<Integer> sequence = new ArrayList<>();
-    private List<Integer> userInput = new ArrayList<>();
+    private final Xoshiro256Random stream = RngService.getInstance().stream("Memory");
+    // 800 ms between flashes in round 1, 4% faster every round, never under 300 ms
+    private static final PlaybackTiming PLAYBACK_TIMING = new PlaybackTiming(800, 500, 0.96, 300);
+    private final MemoryGame game = new MemoryGame(PLAYBACK_TIMING);
+    private final ReplayRecorder recorder = new ReplayRecorder("Memory");
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final HandlerGameScheduler scheduler = new HandlerGameScheduler(handler);
+    private GameLoop loop;
+    private FrameMonitor frameMonitor;
+    // Phase the status texts were last set for
+    private int shownPhase = -1;
     private int score = 0;
-    private boolean canClick = false;
-    private Random random = new Random();
-    private Handler handler = new Handler(Looper.getMainLooper());
 
     private static final int GREEN = 0;
     private static final int RED = 1;
@@ -74,6 +87,20 @@ public class MemoryActivity extends AppCompatActivity {
 
         initViews();
         setupListeners();
+        game.setRecorder(recorder);
+        loop = new GameLoop(game, scheduler, new GameLoop.Listener() {
+            @Override
+            public void onUpdate() {
+                render();
+            }
+
+            @Override
+            public void onGameOver(long finalScore) {
+                gameOver();
+            }
+        });
+        frameMonitor = new FrameMonitor(loop.getMetrics());
+        frameMonitor.setRefreshRate(getWindowManager().getDefaultDisplay().getRefreshRate());
         setColorButtonsEnabled(false);
     }
 
@@ -87,6 +114,36 @@ public class MemoryActivity extends AppCompatActivity {
         scoreText = findViewById(R.id.scoreText);
         roundText = findViewById(R.id.roundText);
         btnBack = findViewById(R.id.btnBack);
+
+        colorButtons[GREEN] = btnGreen;
+        colorButtons[RED] = btnRed;
+        colorButtons[YELLOW] = btnYellow;
+        colorButtons[BLUE] = btnBlue;
+        for (int color = 0; color < MemoryEngine.COLORS; color++) {
+            colorButtons[color].setBackground(createButtonBackground(color));
+        }
+    }
+
+    /**
+     * Normal and flash looks of a color button, built once so flashing allocates nothing
+     */
+    private static StateListDrawable createButtonBackground(int color) {
+        GradientDrawable normal = new GradientDrawable();
+        normal.setShape(GradientDrawable.RECTANGLE);
+        normal.setCornerRadius(48f);
+        normal.setColor(NORMAL_COLORS[color]);
+        normal.setStroke(9, BORDER_COLORS[color]);
+
+        GradientDrawable flash = new GradientDrawable();
+        flash.setShape(GradientDrawable.RECTANGLE);
+        flash.setCornerRadius(48f);
+        flash.setColor(FLASH_COLORS[color]);
+        flash.setStroke(9, 0xFFFFFFFF);
+
+        StateListDrawable background = new StateListDrawable();
+        background.addState(new int[]{android.R.attr.state_activated}, flash);
+        background.addState(new int[0], normal);
+        return background;
     }
 
     private void setupListeners() {
@@ -107,113 +164,60 @@ public class MemoryActivity extends AppCompatActivity {
         }
 
 
-        sequence.clear();
-        userInput.clear();
-        score = 0;
-        updateScore();
+        // Each game draws from its own split, so a replay needs only this game's seed
+        Xoshiro256Random gameRandom = stream.split();
+        recorder.start(gameRandom.getSeed());
         startButton.setEnabled(false);
         startButton.setAlpha(0.5f);
-        nextRound();
-    }
-
-    private void nextRound() {
-        canClick = false;
-        userInput.clear();
-
-
-        int nextColor = random.nextInt(4);
-        sequence.add(nextColor);
-
-        roundText.setText(String.valueOf(sequence.size()));
-        statusText.setText("Watch the pattern!");
-        setColorButtonsEnabled(false);
-
-
-        handler.postDelayed(this::playSequence, 500);
+        shownPhase = -1;
+        loop.start(gameRandom);
     }
 
-    private void playSequence() {
-
-        for (int i = 0; i < sequence.size(); i++) {
-            final int color = sequence.get(i);
-            final int delay = i * 800; // 800ms between each flash
-
-
-            handler.postDelayed(() -> flashButton(color, true), delay);
-
-            handler.postDelayed(() -> flashButton(color, false), delay + 500);
+    /**
+     * Show the game's state; runs after every tick and tap
+     */
+    private void render() {
+        for (int color = 0; color < MemoryEngine.COLORS; color++) {
+            flashButton(color, game.isLit(color));
         }
+        frameMonitor.setActive(loop.isTicking());
 
-
-        int totalDelay = sequence.size() * 800;
-        handler.postDelayed(() -> {
+        int phase = game.getPhase();
+        if (phase == shownPhase) {
+            return;
+        }
+        if (shownPhase == MemoryGame.WATCHING) {
+            android.util.Log.d("MemoryGame", "Round " + game.getEngine().length() + " playback: " + loop.getMetrics());
+            loop.getMetrics().reset();
+        }
+        shownPhase = phase;
+        score = (int) game.getScore();
+        updateScore();
+        if (phase == MemoryGame.WATCHING) {
+            roundText.setText(String.valueOf(game.getEngine().length()));
+            statusText.setText("Watch the pattern!");
+            setColorButtonsEnabled(false);
+        } else if (phase == MemoryGame.REPEATING) {
             statusText.setText("Your turn! Repeat the pattern");
             setColorButtonsEnabled(true);
-            canClick = true;
-        }, totalDelay);
-    }
-
-    private void flashButton(int color, boolean flash) {
-        View btn = getButton(color);
-        GradientDrawable drawable = new GradientDrawable();
-        drawable.setShape(GradientDrawable.RECTANGLE);
-        drawable.setCornerRadius(48f);
-
-        if (flash) {
-            drawable.setColor(FLASH_COLORS[color]);
-            drawable.setStroke(9, 0xFFFFFFFF);
-            btn.setElevation(24f);
-        } else {
-            drawable.setColor(NORMAL_COLORS[color]);
-            drawable.setStroke(9, BORDER_COLORS[color]);
-            btn.setElevation(0f);
+        } else if (phase == MemoryGame.ROUND_WON) {
+            statusText.setText("✓ Correct! Next round...");
+            setColorButtonsEnabled(false);
         }
-
-        btn.setBackground(drawable);
     }
 
-    private View getButton(int color) {
-        switch (color) {
-            case GREEN: return btnGreen;
-            case RED: return btnRed;
-            case YELLOW: return btnYellow;
-            case BLUE: return btnBlue;
-            default: return btnGreen;
-        }
+    private void flashButton(int color, boolean flash) {
+        View btn = colorButtons[color];
+        btn.setActivated(flash);
+        btn.setElevation(flash ? 24f : 0f);
     }
 
     private void handleColorClick(int color) {
-        if (!canClick) return;
-
-        // Visual feedback
-        flashButton(color, true);
-        handler.postDelayed(() -> flashButton(color, false), 300);
-
-        userInput.add(color);
-        int index = userInput.size() - 1;
-
-        // Check if correct
-        if (!userInput.get(index).equals(sequence.get(index))) {
-            gameOver();
-            return;
-        }
-
-
-        if (userInput.size() == sequence.size()) {
-            score++;
-            updateScore();
-            canClick = false;
-            setColorButtonsEnabled(false);
-
-            statusText.setText("✓ Correct! Next round...");
-
-            // Start next round after delay
-            handler.postDelayed(this::nextRound, 1000);
-        }
+        // Ignored unless the pattern is being repeated
+        loop.input(color);
     }
 
     private void gameOver() {
-        canClick = false;
         setColorButtonsEnabled(false);
 
         statusText.setText("💀 Game Over! Score: " + score);
@@ -232,7 +236,7 @@ public class MemoryActivity extends AppCompatActivity {
 
     private void saveScore() {
         if (score > 0) {
-            ScoreManager.saveScore("Memory", score, new ScoreManager.OnScoreSavedListener() {
+            GameScores.save(this, recorder, score, new ScoreManager.OnScoreSavedListener() {
                 @Override
                 public void onSuccess() {
                     android.util.Log.d("MemoryGame", "Score saved: " + score);
@@ -262,8 +266,26 @@ public class MemoryActivity extends AppCompatActivity {
         super.onBackPressed();
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // Stops all of the game's timing; a pattern being shown is shown again from the start
+        loop.pause();
+        game.restartPlayback(scheduler.now());
+        render();
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        game.restartPlayback(scheduler.now());
+        loop.resume();
+    }
+
     @Override
     protected void onDestroy() {
+        loop.pause();
+        frameMonitor.setActive(false);
         handler.removeCallbacksAndMessages(null);
         super.onDestroy();
     }
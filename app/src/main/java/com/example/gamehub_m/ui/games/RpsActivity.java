@@ -13,9 +13,19 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.gamehub_m.R;
-import com.example.gamehub_m.data.ScoreManager;
+import com.example.gamehub_m.core.engine.GameLoop;
+import com.example.gamehub_m.core.engine.GameScheduler;
+import com.example.gamehub_m.core.games.RpsRules;
+import com.example.gamehub_m.core.random.RngService;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+import com.example.gamehub_m.core.rps.NGramRpsStrategy;
+import com.example.gamehub_m.core.rps.RpsEngine;
+import com.example.gamehub_m.core.rps.RpsGame;
+import com.example.gamehub_m.data.ReplayStore;
+import com.example.gamehub_m.data.RpsModelStore;
+import com.example.gamehub_m.data.SessionScoreAggregator;
 
-import java.util.Random;
 
 public class RpsActivity extends AppCompatActivity {
 
@@ -25,22 +35,53 @@ public class RpsActivity extends AppCompatActivity {
     private Button btnRock, btnPaper, btnScissors, btnPlayAgain;
     private LinearLayout controlsArea;
 
-    private int playerScore = 0;
-    private int cpuScore = 0;
-    private boolean isAnimating = false;
+    private SessionScoreAggregator sessionScore;
+    // Learns the player's patterns; the counts are kept across sessions by RpsModelStore
+    private final Xoshiro256Random stream = RngService.getInstance().stream("RPS");
+    private final NGramRpsStrategy cpuStrategy = new NGramRpsStrategy(stream);
+    // Game state and statistics; this activity only maps its int moves to emoji
+    private final RpsEngine engine = new RpsEngine(cpuStrategy);
+    private final RpsGame game = new RpsGame(engine);
+    // Both moves of every round this session; the CPU's depend on the learned model
+    private final ReplayRecorder recorder = new ReplayRecorder("RPS");
+    private GameLoop loop;
+    // Phase the screen was last set up for
+    private int shownPhase = RpsGame.CHOOSING;
 
     private static final String MOVE_ROCK = "🪨";
     private static final String MOVE_PAPER = "📄";
     private static final String MOVE_SCISSORS = "✂️";
     private static final String MOVE_QUESTION = "❔";
+    // Indexed by RpsRules move
+    private static final String[] MOVE_EMOJI = {MOVE_ROCK, MOVE_PAPER, MOVE_SCISSORS};
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_rps);
 
+        // The loop and the idle flush share the main thread's clock and queue
+        GameScheduler scheduler = new HandlerGameScheduler(new Handler(Looper.getMainLooper()));
+        sessionScore = new SessionScoreAggregator(this, "RPS", scheduler);
+        recorder.start(stream.getSeed());
+        sessionScore.setReplayRecorder(recorder);
+        RpsModelStore.getInstance(this).load(cpuStrategy);
         initViews();
         setupListeners();
+        game.setRecorder(recorder);
+        loop = new GameLoop(game, scheduler,
+                new GameLoop.Listener() {
+                    @Override
+                    public void onUpdate() {
+                        render();
+                    }
+
+                    @Override
+                    public void onGameOver(long score) {
+                        // A session never ends
+                    }
+                });
+        loop.start(stream);
     }
 
     private void initViews() {
@@ -64,68 +105,61 @@ public class RpsActivity extends AppCompatActivity {
     private void setupListeners() {
         btnBack.setOnClickListener(v -> finish());
 
-        btnRock.setOnClickListener(v -> playRound(MOVE_ROCK));
-        btnPaper.setOnClickListener(v -> playRound(MOVE_PAPER));
-        btnScissors.setOnClickListener(v -> playRound(MOVE_SCISSORS));
+        btnRock.setOnClickListener(v -> playRound(RpsRules.ROCK));
+        btnPaper.setOnClickListener(v -> playRound(RpsRules.PAPER));
+        btnScissors.setOnClickListener(v -> playRound(RpsRules.SCISSORS));
 
-        btnPlayAgain.setOnClickListener(v -> resetRound());
+        btnPlayAgain.setOnClickListener(v -> {
+            if (game.getPhase() == RpsGame.REVEALED) {
+                loop.input(RpsGame.PLAY_AGAIN);
+            }
+        });
     }
 
-    private void playRound(String playerMove) {
-        if (isAnimating) return;
-        isAnimating = true;
+    private void playRound(int playerMove) {
+        // Taps that arrive after a move was chosen are ignored
+        if (game.getPhase() == RpsGame.CHOOSING) {
+            loop.input(playerMove);
+        }
+    }
 
+    /**
+     * Set the screen up for the game's phase when it changes
+     */
+    private void render() {
+        int phase = game.getPhase();
+        if (phase == shownPhase) {
+            return;
+        }
+        shownPhase = phase;
+        if (phase == RpsGame.THINKING) {
+            showChoice(game.getPlayerMove());
+        } else if (phase == RpsGame.REVEALED) {
+            cpuMoveText.setText(MOVE_EMOJI[engine.getLastCpuMove()]);
+            showResult(game.getLastOutcome());
+        } else {
+            resetRound();
+        }
+    }
 
-        playerMoveText.setText(playerMove);
+    private void showChoice(int playerMove) {
+        playerMoveText.setText(MOVE_EMOJI[playerMove]);
         cpuMoveText.setText(MOVE_QUESTION); // Hide CPU move initially
         
 
         setButtonsEnabled(false);
         resultText.setVisibility(View.INVISIBLE);
         actionText.setText("CPU is choosing...");
-
-
-        new Handler(Looper.getMainLooper()).postDelayed(() -> {
-            String cpuMove = getCpuMove();
-            cpuMoveText.setText(cpuMove);
-            determineWinner(playerMove, cpuMove);
-        }, 600);
-    }
-
-    private String getCpuMove() {
-        String[] moves = {MOVE_ROCK, MOVE_PAPER, MOVE_SCISSORS};
-        return moves[new Random().nextInt(moves.length)];
-    }
-
-    private void determineWinner(String pMove, String cMove) {
-        // 0 = Draw, 1 = Player Win, -1 = CPU Win
-        int result = 0;
-
-        if (pMove.equals(cMove)) {
-            result = 0;
-        } else if (
-            (pMove.equals(MOVE_ROCK) && cMove.equals(MOVE_SCISSORS)) ||
-            (pMove.equals(MOVE_PAPER) && cMove.equals(MOVE_ROCK)) ||
-            (pMove.equals(MOVE_SCISSORS) && cMove.equals(MOVE_PAPER))
-        ) {
-            result = 1;
-        } else {
-            result = -1;
-        }
-
-        showResult(result);
     }
 
     private void showResult(int result) {
         String message;
         int color;
 
-        if (result == 1) {
-            playerScore++;
+        if (result == RpsRules.PLAYER_WINS) {
             message = "YOU WIN!";
             color = getResources().getColor(R.color.success, null);
-        } else if (result == -1) {
-            cpuScore++;
+        } else if (result == RpsRules.CPU_WINS) {
             message = "CPU WINS!";
             color = 0xFFFF5252; // Red
         } else {
@@ -133,6 +167,10 @@ public class RpsActivity extends AppCompatActivity {
             color = 0xFFFFFFFF; // White
         }
 
+        if (engine.getCurrentStreak() >= 3) {
+            message += "\n" + engine.getCurrentStreak() + " IN A ROW!";
+        }
+
         updateScoreDisplay();
 
         resultText.setText(message);
@@ -149,14 +187,12 @@ public class RpsActivity extends AppCompatActivity {
         btnScissors.setVisibility(View.GONE);
 
 
-        if (playerScore > 0) {
-            ScoreManager.saveScore("RPS", playerScore, null); // Fire and forget
+        if (engine.getPlayerWins() > 0) {
+            sessionScore.update(engine.getPlayerWins()); // Submitted once per session
         }
     }
 
     private void resetRound() {
-        isAnimating = false;
-        
         playerMoveText.setText(MOVE_QUESTION);
         cpuMoveText.setText(MOVE_QUESTION);
         resultText.setVisibility(View.INVISIBLE);
@@ -171,9 +207,26 @@ public class RpsActivity extends AppCompatActivity {
         setButtonsEnabled(true);
     }
 
+    @Override
+    protected void onStop() {
+        sessionScore.onStop();
+        RpsModelStore.getInstance(this).save(cpuStrategy);
+        super.onStop();
+    }
+
+    @Override
+    protected void onDestroy() {
+        loop.pause();
+        if (isFinishing() && engine.getPlayerWins() > 0) {
+            ReplayStore.getInstance(this).save(recorder.toReplay());
+        }
+        sessionScore.onDestroy(isFinishing());
+        super.onDestroy();
+    }
+
     private void updateScoreDisplay() {
-        playerScoreText.setText(String.valueOf(playerScore));
-        cpuScoreText.setText(String.valueOf(cpuScore));
+        playerScoreText.setText(String.valueOf(engine.getPlayerWins()));
+        cpuScoreText.setText(String.valueOf(engine.getCpuWins()));
     }
 
     private void setButtonsEnabled(boolean enabled) {
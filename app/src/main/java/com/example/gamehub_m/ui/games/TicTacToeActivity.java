@@ -14,35 +14,74 @@ import androidx.appcompat.widget.AppCompatButton;
 import androidx.core.content.ContextCompat;
 
 import com.example.gamehub_m.R;
-import com.example.gamehub_m.data.ScoreManager;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import com.example.gamehub_m.core.engine.GameLoop;
+import com.example.gamehub_m.core.engine.GameScheduler;
+import com.example.gamehub_m.core.random.RngService;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+import com.example.gamehub_m.core.tictactoe.TicTacToeBoard;
+import com.example.gamehub_m.core.tictactoe.TicTacToeCpu;
+import com.example.gamehub_m.core.tictactoe.TicTacToeGame;
+import com.example.gamehub_m.core.tictactoe.TicTacToeMoveTable;
+import com.example.gamehub_m.data.ReplayStore;
+import com.example.gamehub_m.data.SessionScoreAggregator;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 public class TicTacToeActivity extends AppCompatActivity {
 
     private ImageButton btnBack;
-    private TextView playerScoreText, cpuScoreText, statusText;
+    private TextView playerScoreText, cpuScoreText, statusText, difficultyText;
     private Button btnReset;
     private AppCompatButton[][] buttons = new AppCompatButton[3][3];
 
-    private boolean playerTurn = true;
-    private int roundCount = 0;
-    private int playerScore = 0;
-    private int cpuScore = 0;
-    private boolean gameActive = true;
-
+    private final Xoshiro256Random stream = RngService.getInstance().stream("TicTacToe");
+    private final TicTacToeCpu cpu = new TicTacToeCpu(stream, this::loadMoveTable);
+    // Source of truth for the board and scores; the buttons only render it
+    private final TicTacToeGame game = new TicTacToeGame(cpu);
+    private final TicTacToeBoard board = game.getBoard();
+    // Every cell played this session and each new board
+    private final ReplayRecorder recorder = new ReplayRecorder("TicTacToe");
+    private GameLoop loop;
+    // Phase the status was last set for
+    private int shownPhase = -1;
+    private SessionScoreAggregator sessionScore;
+
+    private static final int PLAYER = TicTacToeBoard.X;
+    private static final int CPU = TicTacToeBoard.O;
     private static final String PLAYER_SYMBOL = "X";
     private static final String CPU_SYMBOL = "O";
 
+    // Loaded from res/raw on the first IMPOSSIBLE move, then shared by every game
+    private static TicTacToeMoveTable moveTable;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_tictactoe);
 
+        // The loop and the idle flush share the main thread's clock and queue
+        GameScheduler scheduler = new HandlerGameScheduler(new Handler(Looper.getMainLooper()));
+        sessionScore = new SessionScoreAggregator(this, "TicTacToe", scheduler);
+        recorder.start(stream.getSeed());
+        sessionScore.setReplayRecorder(recorder);
         initViews();
-        setupGame();
+        game.setRecorder(recorder);
+        loop = new GameLoop(game, scheduler,
+                new GameLoop.Listener() {
+                    @Override
+                    public void onUpdate() {
+                        render();
+                    }
+
+                    @Override
+                    public void onGameOver(long score) {
+                        // A session never ends
+                    }
+                });
+        loop.start(stream);
     }
 
     private void initViews() {
@@ -51,9 +90,15 @@ public class TicTacToeActivity extends AppCompatActivity {
         cpuScoreText = findViewById(R.id.cpuScoreText);
         statusText = findViewById(R.id.statusText);
         btnReset = findViewById(R.id.btnReset);
+        difficultyText = findViewById(R.id.difficultyText);
 
         btnBack.setOnClickListener(v -> finish());
-        btnReset.setOnClickListener(v -> resetGame());
+        btnReset.setOnClickListener(v -> {
+            if (game.getPhase() == TicTacToeGame.BOARD_OVER) {
+                loop.input(TicTacToeGame.NEW_BOARD);
+            }
+        });
+        difficultyText.setOnClickListener(v -> cycleDifficulty());
 
 
         for (int i = 0; i < 3; i++) {
@@ -69,112 +114,88 @@ public class TicTacToeActivity extends AppCompatActivity {
         }
     }
 
-    private void setupGame() {
-        resetBoard();
-    }
-
     private void onCellClicked(int r, int c) {
-        if (!gameActive || !buttons[r][c].getText().toString().equals("") || !playerTurn) {
+        int cell = TicTacToeBoard.index(r, c);
+        if (game.getPhase() != TicTacToeGame.PLAYER_TURN || !board.isEmpty(cell)) {
             return;
         }
-
-        makeMove(r, c, PLAYER_SYMBOL);
-        
-        if (checkWin(PLAYER_SYMBOL)) {
-            playerWins();
-        } else if (roundCount == 9) {
-            draw();
-        } else {
-            playerTurn = false;
-            statusText.setText("CPU's Turn...");
-            new Handler(Looper.getMainLooper()).postDelayed(this::cpuMove, 700);
-        }
+        loop.input(cell);
     }
 
-    private void cpuMove() {
-        if (!gameActive) return;
-
-
-        List<int[]> emptyCells = new ArrayList<>();
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (buttons[i][j].getText().toString().equals("")) {
-                    emptyCells.add(new int[]{i, j});
-                }
-            }
+    /**
+     * Show the board, and the status when the phase changed
+     */
+    private void render() {
+        for (int cell = 0; cell < TicTacToeBoard.CELLS; cell++) {
+            renderCell(cell);
         }
-
-        if (!emptyCells.isEmpty()) {
-            int[] move = emptyCells.get(new Random().nextInt(emptyCells.size()));
-            makeMove(move[0], move[1], CPU_SYMBOL);
-
-            if (checkWin(CPU_SYMBOL)) {
-                cpuWins();
-            } else if (roundCount == 9) {
-                draw();
-            } else {
-                playerTurn = true;
-                statusText.setText("Your Turn");
-            }
+        int phase = game.getPhase();
+        if (phase == shownPhase) {
+            return;
         }
-    }
-
-    private void makeMove(int r, int c, String symbol) {
-        buttons[r][c].setText(symbol);
-        roundCount++;
-
-        if (symbol.equals(PLAYER_SYMBOL)) {
-            buttons[r][c].setTextColor(ContextCompat.getColor(this, R.color.secondary));
+        int previous = shownPhase;
+        shownPhase = phase;
+        if (phase == TicTacToeGame.CPU_TURN) {
+            statusText.setText("CPU's Turn...");
+        } else if (phase == TicTacToeGame.PLAYER_TURN) {
+            statusText.setText("Your Turn");
+            if (previous != TicTacToeGame.CPU_TURN) {
+                // A new board
+                statusText.setTextColor(ContextCompat.getColor(this, R.color.text_primary));
+                btnReset.setVisibility(View.GONE);
+            }
+        } else if (game.getWinner() == PLAYER) {
+            playerWins();
+        } else if (game.getWinner() == CPU) {
+            cpuWins();
         } else {
-            buttons[r][c].setTextColor(0xFFFF5252); // Red
+            draw();
         }
     }
 
-    private boolean checkWin(String symbol) {
+    private void cycleDifficulty() {
+        TicTacToeCpu.Difficulty[] levels = TicTacToeCpu.Difficulty.values();
+        game.setDifficulty(levels[(cpu.getDifficulty().ordinal() + 1) % levels.length]);
+        String name = cpu.getDifficulty().name();
+        difficultyText.setText("CPU: " + name.charAt(0) + name.substring(1).toLowerCase());
+    }
 
-        for (int i = 0; i < 3; i++) {
-            if (buttons[i][0].getText().toString().equals(symbol) &&
-                buttons[i][1].getText().toString().equals(symbol) &&
-                buttons[i][2].getText().toString().equals(symbol)) {
-                return true;
-            }
-            if (buttons[0][i].getText().toString().equals(symbol) &&
-                buttons[1][i].getText().toString().equals(symbol) &&
-                buttons[2][i].getText().toString().equals(symbol)) {
-                return true;
+    private TicTacToeMoveTable loadMoveTable() {
+        if (moveTable == null) {
+            try (InputStream in = new BufferedInputStream(getResources().openRawResource(R.raw.tictactoe_moves))) {
+                moveTable = TicTacToeMoveTable.readFrom(in);
+            } catch (IOException e) {
+                android.util.Log.e("TicTacToe", "Failed to load move table", e);
             }
         }
+        return moveTable;
+    }
 
-
-        if (buttons[0][0].getText().toString().equals(symbol) &&
-            buttons[1][1].getText().toString().equals(symbol) &&
-            buttons[2][2].getText().toString().equals(symbol)) {
-            return true;
-        }
-        if (buttons[0][2].getText().toString().equals(symbol) &&
-            buttons[1][1].getText().toString().equals(symbol) &&
-            buttons[2][0].getText().toString().equals(symbol)) {
-            return true;
+    private void renderCell(int cell) {
+        AppCompatButton button = buttons[cell / TicTacToeBoard.SIZE][cell % TicTacToeBoard.SIZE];
+        int occupant = board.occupant(cell);
+        if (occupant == PLAYER) {
+            button.setText(PLAYER_SYMBOL);
+            button.setTextColor(ContextCompat.getColor(this, R.color.secondary));
+        } else if (occupant == CPU) {
+            button.setText(CPU_SYMBOL);
+            button.setTextColor(0xFFFF5252); // Red
+        } else {
+            button.setText("");
         }
-
-        return false;
     }
 
     private void playerWins() {
-        gameActive = false;
-        playerScore++;
         updateScore();
         statusText.setText("YOU WIN!");
         statusText.setTextColor(ContextCompat.getColor(this, R.color.success));
         btnReset.setVisibility(View.VISIBLE);
         
 
-        ScoreManager.saveScore("TicTacToe", playerScore, null);
+        sessionScore.update(game.getPlayerWins());
     }
 
     private void cpuWins() {
-        gameActive = false;
-        cpuScore++;
         updateScore();
         statusText.setText("CPU WINS!");
         statusText.setTextColor(0xFFFF5252);
@@ -182,32 +203,29 @@ public class TicTacToeActivity extends AppCompatActivity {
     }
 
     private void draw() {
-        gameActive = false;
         statusText.setText("DRAW!");
         statusText.setTextColor(ContextCompat.getColor(this, R.color.white));
         btnReset.setVisibility(View.VISIBLE);
     }
 
-    private void updateScore() {
-        playerScoreText.setText(String.valueOf(playerScore));
-        cpuScoreText.setText(String.valueOf(cpuScore));
+    @Override
+    protected void onStop() {
+        sessionScore.onStop();
+        super.onStop();
     }
 
-    private void resetGame() {
-        resetBoard();
-        gameActive = true;
-        playerTurn = true;
-        roundCount = 0;
-        statusText.setText("Your Turn");
-        statusText.setTextColor(ContextCompat.getColor(this, R.color.text_primary));
-        btnReset.setVisibility(View.GONE);
+    @Override
+    protected void onDestroy() {
+        loop.pause();
+        if (isFinishing() && game.getPlayerWins() > 0) {
+            ReplayStore.getInstance(this).save(recorder.toReplay());
+        }
+        sessionScore.onDestroy(isFinishing());
+        super.onDestroy();
     }
 
-    private void resetBoard() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                buttons[i][j].setText("");
-            }
-        }
+    private void updateScore() {
+        playerScoreText.setText(String.valueOf(game.getPlayerWins()));
+        cpuScoreText.setText(String.valueOf(game.getCpuWins()));
     }
 }
@@ -1,5 +1,6 @@
 package com.example.gamehub_m.ui.leaderboard;
 
+import android.content.pm.ApplicationInfo;
 import android.content.res.ColorStateList;
 import android.graphics.Color;
 import android.os.Bundle;
@@ -10,16 +11,23 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.gamehub_m.R;
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+import com.example.gamehub_m.data.LeaderboardCache;
+import com.example.gamehub_m.data.LeaderboardPager;
+import com.example.gamehub_m.data.LeaderboardStream;
+import com.example.gamehub_m.data.RankService;
 import com.example.gamehub_m.data.ScoreManager;
 
 import com.google.android.material.button.MaterialButton;
 
+import java.util.Collections;
 import java.util.List;
 
 public class LeaderboardActivity extends AppCompatActivity {
@@ -35,8 +43,15 @@ public class LeaderboardActivity extends AppCompatActivity {
     private MaterialButton btnFilterTicTacToe;
     private MaterialButton btnFilterSnake;
 
+    private static final int LEADERBOARD_LIMIT = LeaderboardPager.DEFAULT_PAGE_SIZE;
+    // Start loading the next page when this many rows are left below (or above) the viewport
+    private static final int PREFETCH_DISTANCE = 15;
+
     private LeaderboardAdapter adapter;
     private String currentGame = "Guess"; // Default game
+    private LeaderboardStream stream;
+    private LeaderboardPager pager;
+    private boolean rankAnnounced = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -66,8 +81,42 @@ public class LeaderboardActivity extends AppCompatActivity {
 
     private void setupRecyclerView() {
         adapter = new LeaderboardAdapter();
-        leaderboardRecycler.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        leaderboardRecycler.setLayoutManager(layoutManager);
         leaderboardRecycler.setAdapter(adapter);
+
+        pager = new LeaderboardPager(
+                (cursor, above, pageSize, listener) ->
+                        ScoreManager.getLeaderboardPage(currentGame, cursor, above, pageSize, listener),
+                LEADERBOARD_LIMIT, LeaderboardPager.DEFAULT_MAX_PAGES,
+                new LeaderboardPager.OnWindowChangedListener() {
+                    @Override
+                    public void onWindowChanged(List<LeaderboardEntry> entries) {
+                        showEntries(entries, true);
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        android.util.Log.e("Leaderboard", "Page error: " + errorMessage);
+                        Toast.makeText(LeaderboardActivity.this, "Error: " + errorMessage, Toast.LENGTH_SHORT).show();
+                    }
+                });
+
+        // Infinite scrolling in both directions over the pager's sliding window
+        leaderboardRecycler.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int itemCount = adapter.getItemCount();
+                if (itemCount == 0) {
+                    return;
+                }
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= itemCount - PREFETCH_DISTANCE) {
+                    pager.loadMoreBelow();
+                } else if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= PREFETCH_DISTANCE) {
+                    pager.loadMoreAbove();
+                }
+            }
+        });
     }
 
     private void setupListeners() {
@@ -78,6 +127,29 @@ public class LeaderboardActivity extends AppCompatActivity {
         btnFilterRps.setOnClickListener(v -> selectGame("RPS"));
         btnFilterTicTacToe.setOnClickListener(v -> selectGame("TicTacToe"));
         btnFilterSnake.setOnClickListener(v -> Toast.makeText(this, "Coming Soon!", Toast.LENGTH_SHORT).show());
+
+        // Debug builds: long-press the title to recompute the current game's histogram
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            findViewById(R.id.title).setOnLongClickListener(v -> {
+                rebuildHistogram(currentGame);
+                return true;
+            });
+        }
+    }
+
+    private void rebuildHistogram(String gameName) {
+        ScoreManager.rebuildHistogram(gameName, new ScoreManager.OnScoreSavedListener() {
+            @Override
+            public void onSuccess() {
+                Toast.makeText(LeaderboardActivity.this, "Rebuilt " + gameName + " histogram", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                android.util.Log.e("Leaderboard", "Histogram rebuild error: " + errorMessage);
+                Toast.makeText(LeaderboardActivity.this, "Error: " + errorMessage, Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     private void selectGame(String gameName) {
@@ -119,13 +191,16 @@ public class LeaderboardActivity extends AppCompatActivity {
     }
 
     private void loadLeaderboard(String gameName) {
-        showLoading(true);
         emptyStateText.setVisibility(View.GONE);
         android.util.Log.d("Leaderboard", "Loading scores for: " + gameName);
 
+        // Cached entries render immediately; the spinner only shows until the first result
+        adapter.setEntries(Collections.emptyList());
+        showLoading(true);
+
         // Safety timeout
         new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-            if (progressBar.getVisibility() == View.VISIBLE) {
+            if (gameName.equals(currentGame) && progressBar.getVisibility() == View.VISIBLE) {
                 showLoading(false);
                 if (adapter.getItemCount() == 0) {
                     emptyStateText.setText("Request timed out.\nCheck internet or database rules.");
@@ -135,36 +210,28 @@ public class LeaderboardActivity extends AppCompatActivity {
             }
         }, 10000); // 10 seconds timeout
 
-        ScoreManager.getLeaderboard(gameName, 50, new ScoreManager.OnLeaderboardFetchListener() {
+        LeaderboardCache.getInstance(this).getCached(gameName, LEADERBOARD_LIMIT, entries -> {
+            if (gameName.equals(currentGame) && !entries.isEmpty()) {
+                android.util.Log.d("Leaderboard", "Showing " + entries.size() + " cached entries");
+                showEntries(entries, false);
+            }
+        });
+
+        rankAnnounced = false;
+        pager.reset();
+        startStream(gameName);
+    }
+
+    private void startStream(String gameName) {
+        stopStream();
+        stream = new LeaderboardStream(gameName, LEADERBOARD_LIMIT);
+        stream.start(new LeaderboardStream.OnLeaderboardUpdateListener() {
             @Override
-            public void onSuccess(List<ScoreManager.LeaderboardEntry> entries) {
-                android.util.Log.d("Leaderboard", "Loaded " + entries.size() + " entries");
-                showLoading(false);
-                if (entries.isEmpty()) {
-                    emptyStateText.setText("No scores yet!\nBe the first to play.");
-                    emptyStateText.setVisibility(View.VISIBLE);
-                    adapter.setEntries(entries); 
-                } else {
-                    emptyStateText.setVisibility(View.GONE);
-                    adapter.setEntries(entries);
-                    
-
-                    com.google.firebase.auth.FirebaseUser user = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
-                    if (user != null) {
-                        String currentUserId = user.getUid();
-                        boolean found = false;
-                        for (int i = 0; i < entries.size(); i++) {
-                            if (entries.get(i).userId != null && entries.get(i).userId.equals(currentUserId)) {
-                                Toast.makeText(LeaderboardActivity.this, "Your Rank: " + (i + 1), Toast.LENGTH_SHORT).show();
-                                found = true;
-                                break;
-                            }
-                        }
-                        if (!found) {
-                            Toast.makeText(LeaderboardActivity.this, "You are not in the top 50 yet!", Toast.LENGTH_SHORT).show();
-                        }
-                    }
-                }
+            public void onUpdate(List<LeaderboardEntry> entries) {
+                android.util.Log.d("Leaderboard", "Streamed " + entries.size() + " entries");
+                LeaderboardCache.getInstance(LeaderboardActivity.this).put(gameName, LEADERBOARD_LIMIT, entries);
+                // The stream feeds the top page; the pager decides whether it is on screen
+                pager.setTopPage(entries);
             }
 
             @Override
@@ -176,6 +243,76 @@ public class LeaderboardActivity extends AppCompatActivity {
         });
     }
 
+    private void stopStream() {
+        if (stream != null) {
+            stream.stop();
+            LeaderboardCache.getInstance(this).persist(stream.getGameName(), stream.getLimit());
+            stream = null;
+        }
+    }
+
+    private void showEntries(List<LeaderboardEntry> entries, boolean fresh) {
+        showLoading(false);
+        adapter.setEntries(entries);
+        if (entries.isEmpty()) {
+            if (fresh) {
+                emptyStateText.setText("No scores yet!\nBe the first to play.");
+                emptyStateText.setVisibility(View.VISIBLE);
+            }
+            return;
+        }
+        emptyStateText.setVisibility(View.GONE);
+
+        // Only announce the rank once per selection, once the live list arrived
+        if (fresh && !rankAnnounced) {
+            rankAnnounced = true;
+            showUserRank(currentGame);
+        }
+    }
+
+    private void showUserRank(String gameName) {
+        com.google.firebase.auth.FirebaseUser user = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            return;
+        }
+        RankService.getRank(gameName, user.getUid(), new RankService.OnRankListener() {
+            @Override
+            public void onRank(RankService.Rank rank) {
+                if (!gameName.equals(currentGame)) {
+                    return;
+                }
+                String text = rank.exact
+                        ? "Your Rank: " + rank.rank
+                        : "Your Rank: ~" + rank.rank + " (" + rank.rankLow + "-" + rank.rankHigh + ")";
+                Toast.makeText(LeaderboardActivity.this, text, Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onNotRanked() {
+                if (gameName.equals(currentGame)) {
+                    Toast.makeText(LeaderboardActivity.this, "You have no score in this game yet!", Toast.LENGTH_SHORT).show();
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                android.util.Log.e("Leaderboard", "Rank error: " + errorMessage);
+            }
+        });
+    }
+
+    @Override
+    protected void onRestart() {
+        super.onRestart();
+        startStream(currentGame);
+    }
+
+    @Override
+    protected void onStop() {
+        stopStream();
+        super.onStop();
+    }
+
     private void showLoading(boolean isLoading) {
         progressBar.setVisibility(isLoading ? View.VISIBLE : View.GONE);
         leaderboardRecycler.setVisibility(isLoading ? View.GONE : View.VISIBLE);
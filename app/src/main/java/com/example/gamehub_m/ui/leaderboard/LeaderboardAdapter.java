@@ -8,21 +8,46 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.gamehub_m.R;
-import com.example.gamehub_m.data.ScoreManager;
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
-public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.ViewHolder> {
+/**
+ * Leaderboard rows backed by ListAdapter: new lists are diffed off the main thread and only
+ * rows whose rank, name or score changed are rebound.
+ */
+public class LeaderboardAdapter extends ListAdapter<LeaderboardEntry, LeaderboardAdapter.ViewHolder> {
 
-    private List<ScoreManager.LeaderboardEntry> entries = new ArrayList<>();
+    private static final DiffUtil.ItemCallback<LeaderboardEntry> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<LeaderboardEntry>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull LeaderboardEntry oldItem,
+                                               @NonNull LeaderboardEntry newItem) {
+                    return Objects.equals(oldItem.userId, newItem.userId);
+                }
 
-    public void setEntries(List<ScoreManager.LeaderboardEntry> newEntries) {
-        this.entries = newEntries;
-        notifyDataSetChanged();
+                @Override
+                public boolean areContentsTheSame(@NonNull LeaderboardEntry oldItem,
+                                                  @NonNull LeaderboardEntry newItem) {
+                    return oldItem.hasSameContents(newItem);
+                }
+            };
+
+    public LeaderboardAdapter() {
+        super(DIFF_CALLBACK);
+    }
+
+    /**
+     * Entries must not be mutated after being passed in; the diff runs on a background thread
+     */
+    public void setEntries(List<LeaderboardEntry> newEntries) {
+        submitList(newEntries);
     }
 
     @NonNull
@@ -35,16 +60,11 @@ public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        ScoreManager.LeaderboardEntry entry = entries.get(position);
-        int rank = position + 1;
+        LeaderboardEntry entry = getItem(position);
+        int rank = entry.rank > 0 ? entry.rank : position + 1;
         holder.bind(entry, rank);
     }
 
-    @Override
-    public int getItemCount() {
-        return entries.size();
-    }
-
     static class ViewHolder extends RecyclerView.ViewHolder {
         private final TextView rankText;
         private final TextView nameText;
@@ -57,7 +77,7 @@ public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.
             scoreText = itemView.findViewById(R.id.scoreText);
         }
 
-        public void bind(ScoreManager.LeaderboardEntry entry, int rank) {
+        public void bind(LeaderboardEntry entry, int rank) {
             rankText.setText(String.valueOf(rank));
             nameText.setText(entry.displayName);
             scoreText.setText(String.valueOf(entry.highScore));
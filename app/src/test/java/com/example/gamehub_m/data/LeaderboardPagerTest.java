@@ -0,0 +1,149 @@
+package com.example.gamehub_m.data;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the sliding page window, against an in-memory board answering cursor queries
+ * the way orderByChild("highScore") with startAfter/endBefore does.
+ */
+public class LeaderboardPagerTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_PAGES = 3;
+
+    private final List<LeaderboardEntry> board = new ArrayList<>();
+    private List<LeaderboardEntry> window = Collections.emptyList();
+    private int requests = 0;
+    private LeaderboardPager pager;
+
+    @Before
+    public void setUp() {
+        // 95 users, highest first, two users per score to exercise the key tie-breaker
+        for (int i = 0; i < 95; i++) {
+            board.add(new LeaderboardEntry(String.format("u%03d", 100 - i), "n" + i, 1000 - i / 2));
+        }
+        pager = new LeaderboardPager(this::loadPage, PAGE_SIZE, MAX_PAGES,
+                new LeaderboardPager.OnWindowChangedListener() {
+                    @Override
+                    public void onWindowChanged(List<LeaderboardEntry> entries) {
+                        window = entries;
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        fail(errorMessage);
+                    }
+                });
+    }
+
+    private void loadPage(LeaderboardEntry cursor, boolean above, int pageSize,
+                          ScoreManager.OnLeaderboardFetchListener listener) {
+        requests++;
+        int start;
+        int end;
+        if (cursor == null) {
+            start = 0;
+            end = Math.min(pageSize, board.size());
+        } else {
+            int index = indexOf(cursor.userId);
+            if (above) {
+                end = index;
+                start = Math.max(0, end - pageSize);
+            } else {
+                start = index + 1;
+                end = Math.min(board.size(), start + pageSize);
+            }
+        }
+        listener.onSuccess(new ArrayList<>(board.subList(start, end)));
+    }
+
+    private int indexOf(String userId) {
+        for (int i = 0; i < board.size(); i++) {
+            if (board.get(i).userId.equals(userId)) {
+                return i;
+            }
+        }
+        throw new AssertionError(userId);
+    }
+
+    private void assertWindowMatchesBoard() {
+        int offset = window.get(0).rank - 1;
+        for (int i = 0; i < window.size(); i++) {
+            assertEquals(offset + i + 1, window.get(i).rank);
+            assertEquals(board.get(offset + i).userId, window.get(i).userId);
+        }
+    }
+
+    @Test
+    public void loadMoreBelow_appendsPagesAndSlidesWindow() {
+        pager.loadTop();
+        assertEquals(PAGE_SIZE, window.size());
+
+        for (int i = 0; i < 5; i++) {
+            pager.loadMoreBelow();
+        }
+        assertEquals(MAX_PAGES * PAGE_SIZE, window.size());
+        assertEquals(31, window.get(0).rank);
+        assertWindowMatchesBoard();
+        assertTrue(pager.hasMoreAbove());
+    }
+
+    @Test
+    public void loadMoreBelow_stopsAtEndOfBoard() {
+        pager.loadTop();
+        for (int i = 0; i < 20; i++) {
+            pager.loadMoreBelow();
+        }
+        assertFalse(pager.hasMoreBelow());
+        assertEquals(95, window.get(window.size() - 1).rank);
+        assertEquals(10, requests);
+        assertWindowMatchesBoard();
+    }
+
+    @Test
+    public void loadMoreAbove_restoresDroppedPages() {
+        pager.loadTop();
+        for (int i = 0; i < 5; i++) {
+            pager.loadMoreBelow();
+        }
+        while (pager.hasMoreAbove()) {
+            pager.loadMoreAbove();
+        }
+        assertEquals(1, window.get(0).rank);
+        assertEquals(MAX_PAGES * PAGE_SIZE, window.size());
+        assertWindowMatchesBoard();
+    }
+
+    @Test
+    public void setTopPage_feedsLiveEntriesOnlyWhileTopIsInWindow() {
+        pager.setTopPage(new ArrayList<>(board.subList(0, PAGE_SIZE)));
+        pager.loadMoreBelow();
+        assertEquals(2 * PAGE_SIZE, window.size());
+
+        // A live update arrives while the top page is visible
+        List<LeaderboardEntry> live = new ArrayList<>(board.subList(0, PAGE_SIZE));
+        live.add(0, new LeaderboardEntry("new", "new", 5000));
+        live.remove(live.size() - 1);
+        pager.setTopPage(live);
+        assertEquals("new", window.get(0).userId);
+        assertEquals(1, window.get(0).rank);
+        assertEquals(PAGE_SIZE + 1, window.get(PAGE_SIZE).rank);
+    }
+
+    @Test
+    public void reset_dropsWindow() {
+        pager.loadTop();
+        pager.reset();
+        assertTrue(pager.getEntries().isEmpty());
+        assertFalse(pager.hasMoreAbove());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.gamehub_m.data;
+
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the incremental ranking behind LeaderboardStream.
+ */
+public class LeaderboardRankingTest {
+
+    private static LeaderboardEntry entry(String userId, long highScore) {
+        return new LeaderboardEntry(userId, userId, highScore);
+    }
+
+    @Test
+    public void snapshot_isSortedByScoreThenKeyDescending() {
+        LeaderboardRanking ranking = new LeaderboardRanking();
+        ranking.put("a", entry("a", 5));
+        ranking.put("c", entry("c", 9));
+        ranking.put("b", entry("b", 5));
+
+        List<LeaderboardEntry> entries = ranking.snapshot();
+        assertEquals("c", entries.get(0).userId);
+        assertEquals("b", entries.get(1).userId);
+        assertEquals("a", entries.get(2).userId);
+        assertEquals(1, entries.get(0).rank);
+        assertEquals(3, entries.get(2).rank);
+    }
+
+    @Test
+    public void changedScore_movesEntryAndOnlyCopiesReRankedRows() {
+        LeaderboardRanking ranking = new LeaderboardRanking();
+        ranking.put("a", entry("a", 30));
+        ranking.put("b", entry("b", 20));
+        ranking.put("c", entry("c", 10));
+        ranking.put("d", entry("d", 5));
+        List<LeaderboardEntry> before = ranking.snapshot();
+
+        // c overtakes b; a and d keep their rank
+        ranking.put("c", entry("c", 25));
+        List<LeaderboardEntry> after = ranking.snapshot();
+
+        assertEquals("c", after.get(1).userId);
+        assertEquals(2, after.get(1).rank);
+        assertEquals(3, after.get(2).rank);
+        assertSame(before.get(0), after.get(0));
+        assertSame(before.get(3), after.get(3));
+        assertNotSame(before.get(1), after.get(2));
+        // Earlier snapshots are never mutated
+        assertEquals(2, before.get(1).rank);
+        assertEquals("b", before.get(1).userId);
+    }
+
+    @Test
+    public void remove_reRanksFollowingEntries() {
+        LeaderboardRanking ranking = new LeaderboardRanking();
+        ranking.put("a", entry("a", 3));
+        ranking.put("b", entry("b", 2));
+        ranking.put("c", entry("c", 1));
+        ranking.snapshot();
+
+        assertTrue(ranking.remove("a"));
+        assertFalse(ranking.remove("a"));
+        List<LeaderboardEntry> entries = ranking.snapshot();
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(0).rank);
+        assertEquals("b", entries.get(0).userId);
+    }
+
+    @Test
+    public void firstRank_offsetsRanks() {
+        LeaderboardRanking ranking = new LeaderboardRanking(51);
+        ranking.put("a", entry("a", 3));
+        assertEquals(51, ranking.snapshot().get(0).rank);
+    }
+}
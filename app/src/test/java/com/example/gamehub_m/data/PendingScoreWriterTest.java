@@ -0,0 +1,80 @@
+package com.example.gamehub_m.data;
+
+import com.example.gamehub_m.core.db.MemoryDatabase;
+import com.example.gamehub_m.core.engine.VirtualScheduler;
+import com.example.gamehub_m.core.leaderboard.LeaderboardRules;
+import com.example.gamehub_m.core.leaderboard.ScoreRepository;
+import com.example.gamehub_m.core.leaderboard.ScoreUpdate;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for draining pending scores, against a synchronous MemoryDatabase on a virtual clock.
+ */
+public class PendingScoreWriterTest {
+
+    private static final long HOUR_MILLIS = 60 * 60_000;
+
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    private final MemoryDatabase database = new MemoryDatabase();
+    private final ScoreRepository repository = new ScoreRepository(database);
+    private final PendingScores scores = new PendingScores();
+    private int persisted;
+    private final PendingScoreWriter writer = new PendingScoreWriter(scores, scheduler, repository::save,
+            () -> persisted++);
+
+    public PendingScoreWriterTest() {
+        database.setRules(new LeaderboardRules());
+    }
+
+    private void offer(long score) {
+        scores.offer(new PendingScores.Entry("u1", "Jane", "RPS", score, 1L));
+        writer.drain();
+    }
+
+    @Test
+    public void drain_deliversAfterALongOutage() {
+        database.setFailureRate(1.0, new Random(1));
+        offer(3);
+        scheduler.advanceBy(HOUR_MILLIS);
+        assertEquals(1, scores.size());
+        assertNull(database.getValue(ScoreUpdate.leaderboardPath("RPS", "u1")));
+
+        database.setFailureRate(0, new Random(1));
+        scheduler.advanceBy(PendingScoreWriter.MAX_RETRY_DELAY_MILLIS);
+        assertTrue(scores.isEmpty());
+        assertEquals(3L, database.getValue(ScoreUpdate.leaderboardPath("RPS", "u1") + "/highScore"));
+        assertNotNull(database.getValue(ScoreUpdate.SCORES_REF + "/u1/RPS"));
+        assertTrue(persisted > 0);
+    }
+
+    @Test
+    public void drain_waitsWhileOffline() {
+        writer.setOnline(false);
+        offer(3);
+        scheduler.advanceBy(HOUR_MILLIS);
+        assertEquals(0, database.getStats().writes);
+        assertEquals(1, scores.size());
+
+        writer.setOnline(true);
+        assertTrue(scores.isEmpty());
+        assertEquals(3L, database.getValue(ScoreUpdate.leaderboardPath("RPS", "u1") + "/highScore"));
+    }
+
+    @Test
+    public void drain_dropsAnEntryTheRulesKeepRejecting() {
+        database.setRules((path, current, value) -> !path.startsWith(ScoreUpdate.SCORES_REF + "/"));
+        offer(3);
+        // One rejection per drain; each retry is the next scheduled task
+        for (int i = 1; i < PendingScoreWriter.MAX_REJECTIONS; i++) {
+            assertEquals(1, scores.size());
+            assertTrue(scheduler.runNext());
+        }
+        assertTrue(scores.isEmpty());
+        assertTrue(scheduler.isIdle());
+    }
+}
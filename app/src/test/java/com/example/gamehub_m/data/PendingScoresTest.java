@@ -0,0 +1,145 @@
+package com.example.gamehub_m.data;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the coalescing and serialization of the pending score log.
+ */
+public class PendingScoresTest {
+
+    private static PendingScores.Entry entry(String userId, String gameName, long score) {
+        return new PendingScores.Entry(userId, "Jane", gameName, score, 1L);
+    }
+
+    @Test
+    public void offer_keepsOnlyBestScorePerUserAndGame() {
+        PendingScores scores = new PendingScores();
+        assertTrue(scores.offer(entry("u1", "RPS", 1)));
+        assertTrue(scores.offer(entry("u1", "RPS", 2)));
+        assertFalse(scores.offer(entry("u1", "RPS", 2)));
+        assertFalse(scores.offer(entry("u1", "RPS", 1)));
+        assertTrue(scores.offer(entry("u1", "TicTacToe", 1)));
+        assertTrue(scores.offer(entry("u2", "RPS", 1)));
+
+        assertEquals(3, scores.size());
+        assertEquals(2L, scores.peekBatch(10).get(0).score);
+    }
+
+    @Test
+    public void remove_ignoresSupersededEntry() {
+        PendingScores scores = new PendingScores();
+        PendingScores.Entry first = entry("u1", "RPS", 1);
+        scores.offer(first);
+        List<PendingScores.Entry> batch = scores.peekBatch(10);
+
+        // A better score arrives while the first one is being written
+        scores.offer(entry("u1", "RPS", 5));
+        assertFalse(scores.remove(batch.get(0)));
+        assertEquals(1, scores.size());
+        assertEquals(5L, scores.peekBatch(1).get(0).score);
+    }
+
+    @Test
+    public void peekBatch_isLimited() {
+        PendingScores scores = new PendingScores();
+        for (int i = 0; i < 30; i++) {
+            scores.offer(entry("u" + i, "RPS", i));
+        }
+        assertEquals(20, scores.peekBatch(20).size());
+        assertEquals("u0", scores.peekBatch(20).get(0).userId);
+    }
+
+    @Test
+    public void writeAndRead_roundTrips() throws IOException {
+        PendingScores scores = new PendingScores();
+        scores.offer(entry("u1", "RPS", 3));
+        scores.offer(entry("u2", "TicTacToe", 4));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        scores.writeTo(new DataOutputStream(bytes));
+
+        PendingScores restored = new PendingScores();
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(2, restored.size());
+        PendingScores.Entry second = restored.peekBatch(2).get(1);
+        assertEquals("u2", second.userId);
+        assertEquals("TicTacToe", second.gameName);
+        assertEquals(4L, second.score);
+    }
+
+    @Test
+    public void writeAndRead_keepsReplays() throws IOException {
+        PendingScores scores = new PendingScores();
+        scores.offer(new PendingScores.Entry("u1", "Jane", "Memory", 7, 1L, "AAAAAQ==", "0123456789abcdef0123456789abcdef",
+                "-Nscore1"));
+        scores.offer(entry("u2", "Guess", 4));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        scores.writeTo(new DataOutputStream(bytes));
+
+        PendingScores restored = new PendingScores();
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        List<PendingScores.Entry> batch = restored.peekBatch(2);
+        assertEquals("AAAAAQ==", batch.get(0).replay);
+        assertEquals("0123456789abcdef0123456789abcdef", batch.get(0).replayDigest);
+        assertEquals("-Nscore1", batch.get(0).scoreId);
+        assertNull(batch.get(1).replay);
+        assertNull(batch.get(1).replayDigest);
+        assertNull(batch.get(1).scoreId);
+    }
+
+    @Test
+    public void reject_dropsAnEntryAfterMaxRejections() throws IOException {
+        PendingScores scores = new PendingScores();
+        PendingScores.Entry rejected = entry("u1", "RPS", 3);
+        scores.offer(rejected);
+        assertFalse(scores.reject(rejected, 3));
+
+        // The rejection count survives a restart
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        scores.writeTo(new DataOutputStream(bytes));
+        PendingScores restored = new PendingScores();
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        PendingScores.Entry reloaded = restored.peekBatch(1).get(0);
+        assertFalse(restored.reject(reloaded, 3));
+        assertTrue(restored.reject(reloaded, 3));
+        assertTrue(restored.isEmpty());
+    }
+
+    @Test
+    public void reject_ignoresSupersededEntry() {
+        PendingScores scores = new PendingScores();
+        PendingScores.Entry first = entry("u1", "RPS", 1);
+        scores.offer(first);
+        scores.offer(entry("u1", "RPS", 5));
+        assertFalse(scores.reject(first, 1));
+        assertEquals(5L, scores.peekBatch(1).get(0).score);
+    }
+
+    @Test
+    public void readFrom_acceptsLogsWithoutReplays() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeUTF("u1");
+        out.writeUTF("Jane");
+        out.writeUTF("RPS");
+        out.writeLong(3);
+        out.writeLong(1L);
+
+        PendingScores restored = new PendingScores();
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(3L, restored.peekBatch(1).get(0).score);
+        assertNull(restored.peekBatch(1).get(0).replay);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.gamehub_m.data;
+
+import com.example.gamehub_m.core.engine.VirtualScheduler;
+import com.example.gamehub_m.core.replay.Replay;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for buffering session scores, on a virtual clock with a sink that records submits.
+ */
+public class SessionScoreAggregatorTest {
+
+    private static final long IDLE_MILLIS = 30_000;
+
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    private final List<Integer> submitted = new ArrayList<>();
+    private final List<Replay> replays = new ArrayList<>();
+    private final SessionScoreAggregator aggregator = new SessionScoreAggregator("RPS", IDLE_MILLIS, scheduler,
+            (gameName, score, replay) -> {
+                assertEquals("RPS", gameName);
+                submitted.add(score);
+                replays.add(replay);
+            });
+
+    @Test
+    public void update_flushesOnceTheSessionIsIdle() {
+        aggregator.update(1);
+        scheduler.advanceBy(IDLE_MILLIS - 1);
+        aggregator.update(2);
+        scheduler.advanceBy(IDLE_MILLIS - 1);
+        aggregator.update(3);
+        assertTrue(submitted.isEmpty());
+
+        scheduler.advanceBy(IDLE_MILLIS);
+        assertEquals(1, submitted.size());
+        assertEquals(3, (int) submitted.get(0));
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    public void onStop_flushesOnlyAScoreNotSubmittedYet() {
+        aggregator.update(2);
+        aggregator.onStop();
+        assertEquals(1, submitted.size());
+        assertEquals(2, (int) submitted.get(0));
+        // The idle flush was cancelled
+        assertTrue(scheduler.isIdle());
+
+        aggregator.onStop();
+        aggregator.update(1);
+        aggregator.onStop();
+        assertEquals(1, submitted.size());
+    }
+
+    @Test
+    public void onDestroy_endsTheSessionOnlyWhenFinishing() {
+        aggregator.update(4);
+        aggregator.onDestroy(false);
+        assertTrue(submitted.isEmpty());
+        assertTrue(scheduler.isIdle());
+
+        aggregator.onDestroy(true);
+        assertEquals(1, submitted.size());
+        assertEquals(4, (int) submitted.get(0));
+        assertEquals(0, aggregator.getSubmittedWrites());
+        assertEquals(0, aggregator.getSuppressedWrites());
+
+        // A new session submits from zero again
+        aggregator.update(1);
+        aggregator.onStop();
+        assertEquals(2, submitted.size());
+        assertEquals(1, (int) submitted.get(1));
+    }
+
+    @Test
+    public void flush_countsSuppressedWrites() {
+        long totalSubmitted = SessionScoreAggregator.getTotalSubmittedWrites();
+        long totalSuppressed = SessionScoreAggregator.getTotalSuppressedWrites();
+        for (int score = 1; score <= 5; score++) {
+            aggregator.update(score);
+        }
+        aggregator.flush();
+        assertEquals(1, aggregator.getSubmittedWrites());
+        assertEquals(4, aggregator.getSuppressedWrites());
+
+        aggregator.update(5);
+        aggregator.update(6);
+        aggregator.flush();
+        assertEquals(2, aggregator.getSubmittedWrites());
+        assertEquals(5, aggregator.getSuppressedWrites());
+        // Each suppressed write reaches the process-wide counter once
+        assertEquals(totalSubmitted + 2, SessionScoreAggregator.getTotalSubmittedWrites());
+        assertEquals(totalSuppressed + 5, SessionScoreAggregator.getTotalSuppressedWrites());
+    }
+
+    @Test
+    public void flush_submitsTheRecordersReplay() {
+        ReplayRecorder recorder = new ReplayRecorder("RPS");
+        recorder.start(1);
+        recorder.record(2);
+        aggregator.setReplayRecorder(recorder);
+        aggregator.update(1);
+        aggregator.flush();
+        assertEquals(1, replays.get(0).getEventCount());
+    }
+}
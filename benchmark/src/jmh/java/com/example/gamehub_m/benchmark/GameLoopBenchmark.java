@@ -0,0 +1,59 @@
+package com.example.gamehub_m.benchmark;
+
+import com.example.gamehub_m.core.engine.GameLoop;
+import com.example.gamehub_m.core.engine.VirtualScheduler;
+import com.example.gamehub_m.core.memory.MemoryGame;
+import com.example.gamehub_m.core.memory.PlaybackTiming;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole Memory game of the given number of rounds, pattern playback and all, through the same
+ * GameLoop the activity uses but on a VirtualScheduler: what a headless test or simulation pays
+ * for minutes of game time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameLoopBenchmark {
+
+    private static final PlaybackTiming TIMING = new PlaybackTiming(800, 500, 0.96, 300);
+
+    @Param({"10", "50"})
+    public int rounds;
+
+    private long seed = 0;
+
+    @Benchmark
+    public long memoryGame() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        MemoryGame game = new MemoryGame(TIMING);
+        GameLoop loop = new GameLoop(game, scheduler, new GameLoop.Listener() {
+            @Override
+            public void onUpdate() {
+            }
+
+            @Override
+            public void onGameOver(long score) {
+            }
+        });
+        loop.start(new Xoshiro256Random(seed++));
+        while (game.getScore() < rounds) {
+            if (game.acceptsInput()) {
+                loop.input(game.getEngine().colorAt(game.getEngine().getInputPosition()));
+            } else {
+                scheduler.runNext();
+            }
+        }
+        return scheduler.now();
+    }
+}
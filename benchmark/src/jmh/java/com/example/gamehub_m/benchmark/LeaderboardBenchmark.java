@@ -0,0 +1,82 @@
+package com.example.gamehub_m.benchmark;
+
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+import com.example.gamehub_m.core.leaderboard.LeaderboardParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and ranking of a leaderboard query result, as done by ScoreManager.getLeaderboard.
+ * Nodes are built the way DataSnapshot.getValue() returns them, lowest score first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LeaderboardBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private String[] keys;
+    private Object[] values;
+    private List<LeaderboardEntry> parsed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        keys = new String[size];
+        values = new Object[size];
+        long score = 0;
+        for (int i = 0; i < size; i++) {
+            score += random.nextInt(5);
+            Map<String, Object> node = new HashMap<>();
+            node.put("displayName", "Player " + i);
+            node.put("highScore", score);
+            node.put("userId", "uid" + i);
+            node.put("updatedAt", 1_700_000_000_000L + i);
+            keys[i] = "uid" + i;
+            values[i] = node;
+        }
+        parsed = parse();
+    }
+
+    private List<LeaderboardEntry> parse() {
+        List<LeaderboardEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LeaderboardEntry entry = LeaderboardParser.parseEntry(keys[i], values[i]);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> parseEntries() {
+        return parse();
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> rankDescending() {
+        return LeaderboardParser.rankDescending(new ArrayList<>(parsed));
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> parseAndRank() {
+        return LeaderboardParser.rankDescending(parse());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.gamehub_m.benchmark;
+
+import com.example.gamehub_m.core.memory.MemoryEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full correct repetition of a Memory pattern, tap by tap: the packed MemoryEngine against
+ * the boxed List<Integer> sequence and input list MemoryActivity used before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MemoryBenchmark {
+
+    @Param({"30", "1000", "5000"})
+    public int length;
+
+    private MemoryEngine engine;
+    private List<Integer> sequence;
+    private int[] taps;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        engine = new MemoryEngine(random);
+        sequence = new ArrayList<>();
+        taps = new int[length];
+        for (int i = 0; i < length; i++) {
+            int color = random.nextInt(MemoryEngine.COLORS);
+            engine.append(color);
+            sequence.add(color);
+            taps[i] = color;
+        }
+    }
+
+    @Benchmark
+    public int packedEngine() {
+        engine.restartInput();
+        int result = MemoryEngine.INCOMPLETE;
+        for (int i = 0; i < taps.length && result == MemoryEngine.INCOMPLETE; i++) {
+            result = engine.submit(taps[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int boxedLists() {
+        List<Integer> userInput = new ArrayList<>();
+        int result = MemoryEngine.INCOMPLETE;
+        for (int i = 0; i < taps.length && result == MemoryEngine.INCOMPLETE; i++) {
+            userInput.add(taps[i]);
+            int index = userInput.size() - 1;
+            if (!userInput.get(index).equals(sequence.get(index))) {
+                result = MemoryEngine.MISMATCH;
+            } else if (userInput.size() == sequence.size()) {
+                result = MemoryEngine.COMPLETE;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.gamehub_m.benchmark;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.Database;
+import com.example.gamehub_m.core.db.MemoryDatabase;
+import com.example.gamehub_m.core.leaderboard.LeaderboardEntry;
+import com.example.gamehub_m.core.leaderboard.LeaderboardRepository;
+import com.example.gamehub_m.core.leaderboard.LeaderboardRules;
+import com.example.gamehub_m.core.leaderboard.ScoreUpdate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The data layer on a MemoryDatabase with the leaderboard rules: committing a score as ScoreManager
+ * does (rules, the highScore index, histogram increments and any top-50 listeners) and the
+ * leaderboard reads. Each user keeps overwriting one history entry so the tree does not grow
+ * during a run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemoryDatabaseBenchmark {
+
+    private static final String GAME = "Memory";
+    private static final int TOP = 50;
+
+    @Param({"1000", "100000"})
+    public int users;
+
+    // Top-50 listeners on the board, like open leaderboard screens
+    @Param({"0", "4"})
+    public int listeners;
+
+    private MemoryDatabase database;
+    private LeaderboardRepository leaderboard;
+    private long[] highScores;
+    private Random random;
+    private LeaderboardEntry middle;
+    private final Result<Void> written = new Result<>();
+    private final Result<List<LeaderboardEntry>> entries = new Result<>();
+    private final Result<Object> read = new Result<>();
+
+    @Setup
+    public void setUp() {
+        database = new MemoryDatabase();
+        database.setRules(new LeaderboardRules());
+        leaderboard = new LeaderboardRepository(database);
+        highScores = new long[users];
+        random = new Random(42);
+        for (int user = 0; user < users; user++) {
+            commit(user, 1 + random.nextInt(1000));
+        }
+        for (int i = 0; i < listeners; i++) {
+            leaderboard.listenTop(GAME, TOP, new Listener());
+        }
+        // Prime the index, then take a cursor halfway down the board
+        leaderboard.getTop(GAME, 1, entries);
+        middle = new LeaderboardEntry(userId(users / 2), "", highScores[users / 2]);
+    }
+
+    private static String userId(int user) {
+        return "uid" + user;
+    }
+
+    private void commit(int user, long score) {
+        Long previous = highScores[user] == 0 ? null : highScores[user];
+        Map<String, Object> updates = ScoreUpdate.build(userId(user), GAME,
+                ScoreUpdate.scorePath(userId(user), GAME, "latest"),
+                ScoreUpdate.historyEntry(score, 1_700_000_000_000L, "Player " + user, null, null),
+                previous, database::increment);
+        database.update(updates, written);
+        if (ScoreUpdate.raisesHighScore(previous, score)) {
+            highScores[user] = score;
+        }
+    }
+
+    /**
+     * A new high score for a random user, mostly landing mid-board
+     */
+    @Benchmark
+    public Object commitHighScore() {
+        int user = random.nextInt(users);
+        commit(user, highScores[user] + 1 + random.nextInt(10));
+        return written.value;
+    }
+
+    @Benchmark
+    public Object queryTop() {
+        leaderboard.getTop(GAME, TOP, entries);
+        return entries.value;
+    }
+
+    @Benchmark
+    public Object queryPage() {
+        leaderboard.getPage(GAME, middle, false, TOP, entries);
+        return entries.value;
+    }
+
+    @Benchmark
+    public Object readHighScore() {
+        database.get(ScoreUpdate.leaderboardPath(GAME, userId(random.nextInt(users))) + "/highScore", read);
+        return read.value;
+    }
+
+    /**
+     * Keeps the last result so the work cannot be optimised away
+     */
+    private static final class Result<T> implements DataCallback<T> {
+        T value;
+
+        @Override
+        public void onSuccess(T result) {
+            value = result;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            throw new IllegalStateException(errorMessage);
+        }
+    }
+
+    private static final class Listener implements Database.ChildListener {
+        int events;
+
+        @Override
+        public void onChildAdded(String key, Object value) {
+            events++;
+        }
+
+        @Override
+        public void onChildChanged(String key, Object value) {
+            events++;
+        }
+
+        @Override
+        public void onChildRemoved(String key) {
+            events++;
+        }
+
+        @Override
+        public void onLoaded() {
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            throw new IllegalStateException(errorMessage);
+        }
+    }
+}
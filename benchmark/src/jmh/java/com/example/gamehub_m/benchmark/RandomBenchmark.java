@@ -0,0 +1,36 @@
+package com.example.gamehub_m.benchmark;
+
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded draw as the games make them (a Memory color, a Guess target): the seeded
+ * xoshiro256** generator against the java.util.Random every game used before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RandomBenchmark {
+
+    private final Random javaRandom = new Random(42);
+    private final Xoshiro256Random xoshiro = new Xoshiro256Random(42);
+
+    @Benchmark
+    public int javaUtilRandom() {
+        return javaRandom.nextInt(4) + javaRandom.nextInt(100);
+    }
+
+    @Benchmark
+    public int xoshiro256() {
+        return xoshiro.nextInt(4) + xoshiro.nextInt(100);
+    }
+}
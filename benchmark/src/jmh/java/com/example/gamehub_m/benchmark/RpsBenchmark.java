@@ -0,0 +1,72 @@
+package com.example.gamehub_m.benchmark;
+
+import com.example.gamehub_m.core.games.RpsRules;
+import com.example.gamehub_m.core.rps.NGramRpsStrategy;
+import com.example.gamehub_m.core.rps.RpsEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-round cost of the outcome table, of the n-gram RPS opponent (one prediction plus one
+ * update) and of a full engine round including history and statistics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RpsBenchmark {
+
+    private NGramRpsStrategy strategy;
+    private RpsEngine engine;
+    private int[] playerMoves;
+    private int round;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        strategy = new NGramRpsStrategy(random);
+        playerMoves = new int[1024];
+        for (int i = 0; i < playerMoves.length; i++) {
+            // Mostly patterned, partly random, like a human
+            playerMoves[i] = random.nextInt(4) == 0 ? random.nextInt(RpsRules.MOVES) : i % RpsRules.MOVES;
+        }
+        for (int move : playerMoves) {
+            strategy.observe(move, strategy.chooseMove());
+        }
+        engine = new RpsEngine(new NGramRpsStrategy(new Random(7)));
+    }
+
+    @Benchmark
+    public int outcome() {
+        int sum = 0;
+        for (int i = 1; i < playerMoves.length; i++) {
+            sum += RpsRules.outcome(playerMoves[i - 1], playerMoves[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int playRound() {
+        int cpuMove = strategy.chooseMove();
+        strategy.observe(playerMoves[round++ & (playerMoves.length - 1)], cpuMove);
+        return cpuMove;
+    }
+
+    @Benchmark
+    public int engineRound() {
+        return engine.play(playerMoves[round++ & (playerMoves.length - 1)]);
+    }
+
+    @Benchmark
+    public int predict() {
+        return strategy.predictPlayerMove();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.gamehub_m.benchmark;
+
+import com.example.gamehub_m.core.tictactoe.TicTacToeBoard;
+import com.example.gamehub_m.core.tictactoe.TicTacToeMoveTable;
+import com.example.gamehub_m.core.tictactoe.TicTacToeSolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Win checks and random playouts on the bitboard, next to the String-per-cell check
+ * TicTacToeActivity used before as a baseline, and perfect-play move selection by table
+ * lookup versus alpha-beta search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicTacToeBenchmark {
+
+    private static final int BOARDS = 64;
+
+    private final TicTacToeBoard board = new TicTacToeBoard();
+    private int[] masks;
+    private String[][] cells;
+    private int[] picks;
+    private TicTacToeMoveTable table;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        masks = new int[BOARDS];
+        cells = new String[BOARDS][TicTacToeBoard.CELLS];
+        for (int b = 0; b < BOARDS; b++) {
+            for (int i = 0; i < TicTacToeBoard.CELLS; i++) {
+                boolean x = random.nextInt(3) == 0;
+                cells[b][i] = x ? "X" : "";
+                if (x) {
+                    masks[b] |= 1 << i;
+                }
+            }
+        }
+        picks = new int[1024];
+        for (int i = 0; i < picks.length; i++) {
+            picks[i] = random.nextInt(1 << 16);
+        }
+        table = TicTacToeMoveTable.generate();
+    }
+
+    @Benchmark
+    public int bitboardCheckWin() {
+        int wins = 0;
+        for (int mask : masks) {
+            if (TicTacToeBoard.isWin(mask)) {
+                wins++;
+            }
+        }
+        return wins;
+    }
+
+    @Benchmark
+    public int stringCheckWin() {
+        int wins = 0;
+        for (String[] board : cells) {
+            if (stringWin(board, "X")) {
+                wins++;
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * A whole game of random moves, the way the CPU picks them
+     */
+    @Benchmark
+    public int randomPlayout() {
+        int winner = TicTacToeBoard.NONE;
+        int pick = 0;
+        board.reset();
+        int player = TicTacToeBoard.X;
+        while (!board.isFull()) {
+            int cell = board.nthEmptyCell(picks[pick++ & (picks.length - 1)] % board.emptyCount());
+            board.place(player, cell);
+            if (board.hasWon(player)) {
+                winner = player;
+                break;
+            }
+            player = TicTacToeBoard.other(player);
+        }
+        return winner;
+    }
+
+    /**
+     * Best reply to X's first move in the corner, the deepest search the CPU faces
+     */
+    @Benchmark
+    public int perfectMoveSearch() {
+        return TicTacToeSolver.bestMove(0, 1);
+    }
+
+    @Benchmark
+    public int perfectMoveLookup() {
+        return table.bestMove(1, 0);
+    }
+
+    @Benchmark
+    public TicTacToeMoveTable generateTable() {
+        return TicTacToeMoveTable.generate();
+    }
+
+    private static boolean stringWin(String[] c, String s) {
+        for (int i = 0; i < 3; i++) {
+            if (c[i * 3].equals(s) && c[i * 3 + 1].equals(s) && c[i * 3 + 2].equals(s)) {
+                return true;
+            }
+            if (c[i].equals(s) && c[3 + i].equals(s) && c[6 + i].equals(s)) {
+                return true;
+            }
+        }
+        return (c[0].equals(s) && c[4].equals(s) && c[8].equals(s))
+                || (c[2].equals(s) && c[4].equals(s) && c[6].equals(s));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.gamehub_m.core.db;
+
+/**
+ * Result of one Database or repository operation
+ */
+public interface DataCallback<T> {
+    void onSuccess(T result);
+
+    void onError(String errorMessage);
+}
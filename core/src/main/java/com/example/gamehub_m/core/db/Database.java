@@ -0,0 +1,110 @@
+package com.example.gamehub_m.core.db;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The part of the Realtime Database the data layer uses, free of Firebase types: the Firebase SDK
+ * behind it in the app, a MemoryDatabase in JVM tests, benchmarks and the simulator.
+ * Paths are slash separated without leading slash. Values are what DataSnapshot.getValue() returns:
+ * Maps, Strings, Longs, Doubles and Booleans, or null for a missing node.
+ * Callbacks arrive on the implementation's callback thread, in the order the operations were made.
+ */
+public interface Database {
+
+    /**
+     * Error message of a write the security rules rejected. Retrying the same write will fail
+     * again; every other error may be transient, e.g. the device being offline.
+     */
+    String PERMISSION_DENIED = "Permission denied";
+
+    /**
+     * A new child key under path, unique and ordered by creation like a push key; no data is written
+     */
+    String push(String path);
+
+    /**
+     * Read the value at path once
+     */
+    void get(String path, DataCallback<Object> callback);
+
+    /**
+     * Run a query once
+     * @param callback Receives the matching children in query order
+     */
+    void query(Query query, DataCallback<List<Snapshot>> callback);
+
+    /**
+     * Replace the value at path; null deletes it
+     * @param callback May be null
+     */
+    void set(String path, Object value, DataCallback<Void> callback);
+
+    /**
+     * Set each path to its value as one atomic write; either all of them are written or none
+     * @param callback May be null
+     */
+    void update(Map<String, Object> updates, DataCallback<Void> callback);
+
+    /**
+     * Atomically replace the value at path with what transaction makes of it; the transaction may run
+     * more than once if the value changes meanwhile
+     * @param callback Told whether the transaction committed; may be null
+     */
+    void transaction(String path, Transaction transaction, DataCallback<Boolean> callback);
+
+    /**
+     * Listen to the children of a query. Children already matching are reported as added, followed
+     * by one onLoaded(); then every change of the query's result is reported until removed.
+     */
+    Registration listen(Query query, ChildListener listener);
+
+    /**
+     * How this database spells a server-side increment by delta, for use as a value in set and update
+     */
+    Object increment(long delta);
+
+    /**
+     * Turns the current value of a node into its new value
+     */
+    interface Transaction {
+        /**
+         * Returned by apply() to leave the value as it is and not commit
+         */
+        Object ABORT = new Object();
+
+        /**
+         * @param current The stored value, null if the node does not exist
+         * @return The value to store, or ABORT
+         */
+        Object apply(Object current);
+    }
+
+    /**
+     * Children of a listened query coming and going
+     */
+    interface ChildListener {
+        void onChildAdded(String key, Object value);
+
+        void onChildChanged(String key, Object value);
+
+        void onChildRemoved(String key);
+
+        /**
+         * The children that matched when listening started have all been reported
+         */
+        void onLoaded();
+
+        void onError(String errorMessage);
+    }
+
+    /**
+     * A listener added with listen()
+     */
+    interface Registration {
+        /**
+         * Stop listening; nothing more is reported after this returns
+         */
+        void remove();
+    }
+}
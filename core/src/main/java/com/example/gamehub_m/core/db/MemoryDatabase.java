@@ -0,0 +1,764 @@
+package com.example.gamehub_m.core.db;
+
+import com.example.gamehub_m.core.engine.GameScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * In-process Database: a JSON tree of nested maps, for deterministic data-layer tests, benchmarks
+ * and load simulations without a Firebase project.
+ *
+ * Queries run on ordered indexes, one per queried node and order, built on first use and kept up to
+ * date by every write below the node, so a limitToLast(n) query costs O(log size + n) like an
+ * indexed query on the server. Listened queries are re-run after each write that may change their
+ * result (not, say, for a score landing below a full top 50) and the difference is reported as
+ * child events. Writes apply atomically under one lock; optional
+ * Rules reject a write as a whole, as the security rules would.
+ *
+ * Callbacks, failures included, never run under the lock. Without a scheduler, they run on the
+ * calling thread before the call returns, and the database may be used from any thread. With a GameScheduler (a VirtualScheduler in tests), callbacks are
+ * posted to it after the configured latency, and the database must be used from its thread. Failures
+ * can be injected for a number of upcoming operations or at random.
+ */
+public class MemoryDatabase implements Database {
+
+    public static final String FAILURE_MESSAGE = "Injected failure";
+
+    // Push key alphabet, in ASCII order so keys sort by creation
+    private static final String PUSH_CHARS = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz";
+
+    private final Object lock = new Object();
+    private final GameScheduler scheduler;
+    private final Map<String, Object> root = new HashMap<>();
+    private final Map<String, Index> indexes = new HashMap<>();
+    private final List<Listen> listens = new ArrayList<>();
+    private Rules rules;
+    private long latencyMillis = 0;
+    private int failNext = 0;
+    private double failureRate = 0;
+    private Random failureRandom;
+    private long pushCounter = 0;
+
+    private long reads = 0;
+    private long writes = 0;
+    private long rejected = 0;
+    private long failed = 0;
+    private long paths = 0;
+    private long leafWrites = 0;
+    private long bytesWritten = 0;
+
+    /**
+     * A database that calls back synchronously
+     */
+    public MemoryDatabase() {
+        this(null);
+    }
+
+    /**
+     * A database that posts its callbacks to scheduler
+     */
+    public MemoryDatabase(GameScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Delay every callback by millis; needs a scheduler
+     */
+    public void setLatency(long millis) {
+        if (scheduler == null && millis != 0) {
+            throw new IllegalStateException("Latency needs a scheduler");
+        }
+        synchronized (lock) {
+            latencyMillis = millis;
+        }
+    }
+
+    /**
+     * Fail the next count reads and writes with FAILURE_MESSAGE, without touching the data
+     */
+    public void failNext(int count) {
+        synchronized (lock) {
+            failNext = count;
+        }
+    }
+
+    /**
+     * Fail each read and write with probability rate, drawn from random
+     */
+    public void setFailureRate(double rate, Random random) {
+        synchronized (lock) {
+            failureRate = rate;
+            failureRandom = random;
+        }
+    }
+
+    /**
+     * Validate every write with rules; null accepts everything
+     */
+    public void setRules(Rules rules) {
+        synchronized (lock) {
+            this.rules = rules;
+        }
+    }
+
+    /**
+     * A copy of the value at path, read directly, e.g. to check what a test wrote
+     */
+    public Object getValue(String path) {
+        synchronized (lock) {
+            return copy(node(split(path)));
+        }
+    }
+
+    public Stats getStats() {
+        synchronized (lock) {
+            return new Stats(reads, writes, rejected, failed, paths, leafWrites, bytesWritten);
+        }
+    }
+
+    @Override
+    public String push(String path) {
+        long time = scheduler != null ? scheduler.now() : System.currentTimeMillis();
+        long counter;
+        synchronized (lock) {
+            counter = pushCounter++;
+        }
+        char[] key = new char[20];
+        for (int i = 7; i >= 0; i--) {
+            key[i] = PUSH_CHARS.charAt((int) (time & 63));
+            time >>>= 6;
+        }
+        // Where Firebase appends random characters, a counter keeps keys unique and ordered
+        for (int i = 19; i >= 8; i--) {
+            key[i] = PUSH_CHARS.charAt((int) (counter & 63));
+            counter >>>= 6;
+        }
+        return new String(key);
+    }
+
+    @Override
+    public void get(String path, DataCallback<Object> callback) {
+        Runnable outcome;
+        synchronized (lock) {
+            if (shouldFail()) {
+                outcome = () -> callback.onError(FAILURE_MESSAGE);
+            } else {
+                reads++;
+                Object value = copy(node(split(path)));
+                outcome = () -> callback.onSuccess(value);
+            }
+        }
+        deliver(outcome);
+    }
+
+    @Override
+    public void query(Query query, DataCallback<List<Snapshot>> callback) {
+        Runnable outcome;
+        synchronized (lock) {
+            if (shouldFail()) {
+                outcome = () -> callback.onError(FAILURE_MESSAGE);
+            } else {
+                reads++;
+                String[] keys = split(query.getPath());
+                Map<?, ?> children = children(keys);
+                List<Position> selected = select(query, keys);
+                List<Snapshot> result = new ArrayList<>(selected.size());
+                for (Position position : selected) {
+                    result.add(new Snapshot(position.key, copy(children.get(position.key))));
+                }
+                outcome = () -> callback.onSuccess(result);
+            }
+        }
+        deliver(outcome);
+    }
+
+    @Override
+    public void set(String path, Object value, DataCallback<Void> callback) {
+        update(Collections.singletonMap(path, value), callback);
+    }
+
+    @Override
+    public void update(Map<String, Object> updates, DataCallback<Void> callback) {
+        List<Runnable> events = new ArrayList<>();
+        String error;
+        synchronized (lock) {
+            error = shouldFail() ? FAILURE_MESSAGE : rejection(updates);
+            if (error == null) {
+                List<String[]> written = new ArrayList<>(updates.size());
+                bytesWritten += 2;
+                for (Map.Entry<String, Object> update : updates.entrySet()) {
+                    String[] keys = split(update.getKey());
+                    bytesWritten += update.getKey().length() + 4;
+                    write(keys, update.getValue());
+                    written.add(keys);
+                }
+                writes++;
+                paths += updates.size();
+                notifyListens(written, events);
+            }
+        }
+        for (Runnable event : events) {
+            deliver(event);
+        }
+        if (error != null) {
+            deliverError(callback, error);
+        } else if (callback != null) {
+            deliver(() -> callback.onSuccess(null));
+        }
+    }
+
+    @Override
+    public void transaction(String path, Transaction transaction, DataCallback<Boolean> callback) {
+        List<Runnable> events = new ArrayList<>();
+        String error;
+        boolean committed = false;
+        synchronized (lock) {
+            error = shouldFail() ? FAILURE_MESSAGE : null;
+            if (error == null) {
+                String[] keys = split(path);
+                reads++;
+                // Runs under the lock, so the value cannot change under it and it never needs to rerun
+                Object value = transaction.apply(copy(node(keys)));
+                if (value != Transaction.ABORT) {
+                    error = rejection(Collections.singletonMap(path, value));
+                    if (error == null) {
+                        write(keys, value);
+                        writes++;
+                        paths++;
+                        notifyListens(Collections.singletonList(keys), events);
+                        committed = true;
+                    }
+                }
+            }
+        }
+        for (Runnable event : events) {
+            deliver(event);
+        }
+        if (error != null) {
+            deliverError(callback, error);
+        } else if (callback != null) {
+            boolean result = committed;
+            deliver(() -> callback.onSuccess(result));
+        }
+    }
+
+    @Override
+    public Registration listen(Query query, ChildListener listener) {
+        Listen listen;
+        // The current children, reported as added in query order
+        List<Runnable> events = new ArrayList<>();
+        synchronized (lock) {
+            listen = new Listen(query, listener);
+            listen.refresh(null, events);
+            listens.add(listen);
+        }
+        for (Runnable event : events) {
+            deliver(event);
+        }
+        deliver(listen::loaded);
+        return () -> {
+            synchronized (lock) {
+                listens.remove(listen);
+                listen.removed = true;
+            }
+        };
+    }
+
+    @Override
+    public Object increment(long delta) {
+        return new Increment(delta);
+    }
+
+    // Operations
+
+    /**
+     * PERMISSION_DENIED if the rules reject one of updates, otherwise null; counts the rejection
+     */
+    private String rejection(Map<String, Object> updates) {
+        if (rules != null) {
+            for (Map.Entry<String, Object> update : updates.entrySet()) {
+                if (!rules.allows(update.getKey(), node(split(update.getKey())), update.getValue())) {
+                    rejected++;
+                    return PERMISSION_DENIED;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean shouldFail() {
+        if (failNext > 0) {
+            failNext--;
+        } else if (failureRandom == null || failureRandom.nextDouble() >= failureRate) {
+            return false;
+        }
+        failed++;
+        return true;
+    }
+
+    private void deliver(Runnable callback) {
+        if (scheduler == null) {
+            callback.run();
+        } else {
+            scheduler.postAt(callback, scheduler.now() + latencyMillis);
+        }
+    }
+
+    private void deliverError(DataCallback<?> callback, String message) {
+        if (callback != null) {
+            deliver(() -> callback.onError(message));
+        }
+    }
+
+    private static String[] split(String path) {
+        if (path.isEmpty() || path.startsWith("/") || path.endsWith("/") || path.contains("//")) {
+            throw new IllegalArgumentException("Invalid path: " + path);
+        }
+        return path.split("/");
+    }
+
+    private Object node(String[] keys) {
+        return node(keys, keys.length);
+    }
+
+    private Object node(String[] keys, int depth) {
+        Object node = root;
+        for (int i = 0; i < depth; i++) {
+            if (!(node instanceof Map)) {
+                return null;
+            }
+            node = ((Map<?, ?>) node).get(keys[i]);
+        }
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(String[] keys, Object value) {
+        Object stored = store(value, node(keys));
+        Map<String, Object> parent = root;
+        if (stored != null) {
+            for (int i = 0; i < keys.length - 1; i++) {
+                Object child = parent.get(keys[i]);
+                if (!(child instanceof Map)) {
+                    child = new HashMap<String, Object>();
+                    parent.put(keys[i], child);
+                }
+                parent = (Map<String, Object>) child;
+            }
+            parent.put(keys[keys.length - 1], stored);
+        } else {
+            // Deleting: remove the node, then every parent it leaves empty
+            List<Map<String, Object>> parents = new ArrayList<>(keys.length);
+            for (int i = 0; i < keys.length - 1 && parent != null; i++) {
+                parents.add(parent);
+                Object child = parent.get(keys[i]);
+                parent = child instanceof Map ? (Map<String, Object>) child : null;
+            }
+            if (parent != null) {
+                parent.remove(keys[keys.length - 1]);
+                for (int i = parents.size() - 1; i >= 0 && parent.isEmpty(); i--) {
+                    parent = parents.get(i);
+                    parent.remove(keys[i]);
+                }
+            }
+        }
+        for (Index index : indexes.values()) {
+            index.onWrite(keys);
+        }
+    }
+
+    /**
+     * The tree's own copy of value: integral numbers as Long, increments applied to current, empty
+     * nodes dropped; counts what is written
+     */
+    private Object store(Object value, Object current) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Increment) {
+            long delta = ((Increment) value).delta;
+            leafWrites++;
+            // Sent as {".sv":{"increment":delta}}
+            bytesWritten += 22 + Long.toString(delta).length();
+            return (current instanceof Number ? ((Number) current).longValue() : 0) + delta;
+        }
+        if (value instanceof Map) {
+            Map<?, ?> currentMap = current instanceof Map ? (Map<?, ?>) current : null;
+            Map<String, Object> node = new HashMap<>();
+            bytesWritten += 2;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                Object child = store(entry.getValue(), currentMap != null ? currentMap.get(key) : null);
+                if (child != null) {
+                    node.put(key, child);
+                    bytesWritten += key.length() + 4;
+                }
+            }
+            return node.isEmpty() ? null : node;
+        }
+        leafWrites++;
+        if (value instanceof String) {
+            bytesWritten += ((String) value).length() + 2;
+            return value;
+        }
+        if (value instanceof Boolean) {
+            bytesWritten += (Boolean) value ? 4 : 5;
+            return value;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            long number = ((Number) value).longValue();
+            bytesWritten += Long.toString(number).length();
+            return number;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            bytesWritten += Double.toString(number).length();
+            // Whole numbers come back as Long, as from the Realtime Database
+            return number == Math.rint(number) && Math.abs(number) < 0x1p53 ? (Object) (long) number : number;
+        }
+        throw new IllegalArgumentException("Unsupported value: " + value.getClass().getName());
+    }
+
+    /**
+     * A deep copy of a stored value, safe to hand out
+     */
+    private static Object copy(Object value) {
+        if (!(value instanceof Map)) {
+            return value;
+        }
+        Map<?, ?> node = (Map<?, ?>) value;
+        Map<String, Object> copy = new HashMap<>(node.size() * 2);
+        for (Map.Entry<?, ?> entry : node.entrySet()) {
+            copy.put((String) entry.getKey(), copy(entry.getValue()));
+        }
+        return copy;
+    }
+
+    // Queries
+
+    private Map<?, ?> children(String[] keys) {
+        Object parent = node(keys);
+        return parent instanceof Map ? (Map<?, ?>) parent : Collections.emptyMap();
+    }
+
+    /**
+     * The index positions of the children matching query, in query order
+     */
+    private List<Position> select(Query query, String[] keys) {
+        NavigableSet<Position> range = index(query, keys).order;
+        if (query.hasStart()) {
+            range = range.tailSet(Position.cursor(query.getStartValue(), query.getStartKey(), 1), false);
+        }
+        if (query.hasEnd()) {
+            range = range.headSet(Position.cursor(query.getEndValue(), query.getEndKey(), -1), false);
+        }
+        // Not range.size(), which walks the whole range
+        int limit = query.hasLimit() ? query.getLimit() : Integer.MAX_VALUE;
+        List<Position> selected = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Position> it = query.isLimitToLast() ? range.descendingIterator() : range.iterator();
+        while (it.hasNext() && selected.size() < limit) {
+            selected.add(it.next());
+        }
+        if (query.isLimitToLast()) {
+            Collections.reverse(selected);
+        }
+        return selected;
+    }
+
+    private Index index(Query query, String[] keys) {
+        String name = query.getPath() + "|" + query.getOrderByChild();
+        Index index = indexes.get(name);
+        if (index == null) {
+            index = new Index(keys, query.getOrderByChild());
+            index.rebuild();
+            indexes.put(name, index);
+        }
+        return index;
+    }
+
+    private void notifyListens(List<String[]> written, List<Runnable> events) {
+        for (Listen listen : listens) {
+            List<String> touched = null;
+            boolean whole = false;
+            for (String[] keys : written) {
+                if (!related(listen.keys, keys)) {
+                    continue;
+                }
+                if (keys.length <= listen.keys.length) {
+                    whole = true;
+                    break;
+                }
+                String child = keys[listen.keys.length];
+                if (listen.mayChange(child)) {
+                    if (touched == null) {
+                        touched = new ArrayList<>(2);
+                    }
+                    touched.add(child);
+                }
+            }
+            if (whole) {
+                listen.refresh(null, events);
+            } else if (touched != null) {
+                listen.refresh(touched, events);
+            }
+        }
+    }
+
+    /**
+     * Whether one path is the other or below it
+     */
+    private static boolean related(String[] a, String[] b) {
+        int common = Math.min(a.length, b.length);
+        for (int i = 0; i < common; i++) {
+            if (!a[i].equals(b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A child's place in an index: its order value (null when ordered by key) and key.
+     * Cursors without a key sort after (bias 1) or before (bias -1) every key with their value.
+     */
+    private static final class Position implements Comparable<Position> {
+        final Object value;
+        final String key;
+        final int bias;
+
+        Position(Object value, String key, int bias) {
+            this.value = value;
+            this.key = key;
+            this.bias = bias;
+        }
+
+        static Position cursor(Object value, String key, int bias) {
+            return new Position(value, key, key == null ? bias : 0);
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            int byValue = Query.compareValues(value, other.value);
+            if (byValue != 0) {
+                return byValue;
+            }
+            if (bias != 0 || other.bias != 0) {
+                return Integer.compare(bias, other.bias);
+            }
+            return key.compareTo(other.key);
+        }
+    }
+
+    /**
+     * The children of one node in one order
+     */
+    private final class Index {
+        final String[] keys;
+        final String orderByChild;
+        final TreeSet<Position> order = new TreeSet<>();
+        final Map<String, Position> byKey = new HashMap<>();
+
+        Index(String[] keys, String orderByChild) {
+            this.keys = keys;
+            this.orderByChild = orderByChild;
+        }
+
+        void rebuild() {
+            order.clear();
+            byKey.clear();
+            Object parent = node(keys);
+            if (parent instanceof Map) {
+                for (Map.Entry<?, ?> child : ((Map<?, ?>) parent).entrySet()) {
+                    put((String) child.getKey(), child.getValue());
+                }
+            }
+        }
+
+        void onWrite(String[] written) {
+            if (!related(keys, written)) {
+                return;
+            }
+            if (written.length <= keys.length) {
+                // The indexed node itself or one of its parents was replaced
+                rebuild();
+                return;
+            }
+            String key = written[keys.length];
+            Object parent = node(keys);
+            put(key, parent instanceof Map ? ((Map<?, ?>) parent).get(key) : null);
+        }
+
+        private void put(String key, Object child) {
+            Position old = byKey.remove(key);
+            if (old != null) {
+                order.remove(old);
+            }
+            if (child != null) {
+                Object value = orderByChild == null ? null
+                        : child instanceof Map ? ((Map<?, ?>) child).get(orderByChild) : null;
+                Position position = new Position(value, key, 0);
+                order.add(position);
+                byKey.put(key, position);
+            }
+        }
+    }
+
+    /**
+     * A listened query and the result it last reported
+     */
+    private final class Listen {
+        final Query query;
+        final String[] keys;
+        final Index index;
+        final ChildListener listener;
+        final Map<String, Object> window = new HashMap<>();
+        // Positions of the first and last child reported, null while there are none
+        Position first;
+        Position last;
+        volatile boolean removed = false;
+
+        Listen(Query query, ChildListener listener) {
+            this.query = query;
+            this.keys = split(query.getPath());
+            this.index = index(query, keys);
+            this.listener = listener;
+        }
+
+        /**
+         * Whether a write to child may change the result: not when the child is outside a full
+         * window on the side the limit cuts off, e.g. below the top 50 of a limitToLast(50)
+         */
+        boolean mayChange(String child) {
+            if (window.containsKey(child)) {
+                return true;
+            }
+            Position position = index.byKey.get(child);
+            if (position == null) {
+                // Deleted, and it was not in the result
+                return false;
+            }
+            if (!query.hasLimit() || window.size() < query.getLimit()) {
+                return true;
+            }
+            return query.isLimitToLast() ? position.compareTo(first) > 0 : position.compareTo(last) < 0;
+        }
+
+        /**
+         * Re-run the query and queue events for what changed
+         * @param touched The children written, or null if anything may have changed
+         */
+        void refresh(List<String> touched, List<Runnable> events) {
+            List<Position> selected = select(query, keys);
+            Map<?, ?> children = children(keys);
+            Map<String, Object> current = new HashMap<>(selected.size() * 2);
+            for (Position position : selected) {
+                current.put(position.key, children.get(position.key));
+            }
+            first = selected.isEmpty() ? null : selected.get(0);
+            last = selected.isEmpty() ? null : selected.get(selected.size() - 1);
+
+            for (Iterator<String> it = window.keySet().iterator(); it.hasNext(); ) {
+                String key = it.next();
+                if (!current.containsKey(key)) {
+                    it.remove();
+                    events.add(() -> removed(key));
+                }
+            }
+            for (Position position : selected) {
+                String key = position.key;
+                Object previous = window.get(key);
+                Object stored = current.get(key);
+                if (previous != null && ((touched != null && !touched.contains(key)) || previous.equals(stored))) {
+                    continue;
+                }
+                Object value = copy(stored);
+                window.put(key, value);
+                Object reported = copy(value);
+                if (previous == null) {
+                    events.add(() -> added(key, reported));
+                } else {
+                    events.add(() -> changed(key, reported));
+                }
+            }
+        }
+
+        void added(String key, Object value) {
+            if (!removed) {
+                listener.onChildAdded(key, value);
+            }
+        }
+
+        void changed(String key, Object value) {
+            if (!removed) {
+                listener.onChildChanged(key, value);
+            }
+        }
+
+        void removed(String key) {
+            if (!removed) {
+                listener.onChildRemoved(key);
+            }
+        }
+
+        void loaded() {
+            if (!removed) {
+                listener.onLoaded();
+            }
+        }
+    }
+
+    private static final class Increment {
+        final long delta;
+
+        Increment(long delta) {
+            this.delta = delta;
+        }
+    }
+
+    /**
+     * Server-side validation of writes, like database.rules.json
+     */
+    public interface Rules {
+        /**
+         * @param current The value stored at path, which must not be modified
+         * @param value The value about to be written there, as the client sent it
+         */
+        boolean allows(String path, Object current, Object value);
+    }
+
+    /**
+     * What the database has done so far
+     */
+    public static class Stats {
+        public final long reads;
+        public final long writes;
+        // Writes the rules refused
+        public final long rejected;
+        // Operations failed by injection
+        public final long failed;
+        // Paths written, counting each path of a multi-path update
+        public final long paths;
+        public final long leafWrites;
+        // JSON size of the writes, as a client would send them in an update
+        public final long bytesWritten;
+
+        Stats(long reads, long writes, long rejected, long failed, long paths, long leafWrites,
+              long bytesWritten) {
+            this.reads = reads;
+            this.writes = writes;
+            this.rejected = rejected;
+            this.failed = failed;
+            this.paths = paths;
+            this.leafWrites = leafWrites;
+            this.bytesWritten = bytesWritten;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.gamehub_m.core.db;
+
+import java.util.Objects;
+
+/**
+ * The children of a node, ordered by key or by one child value, optionally cut at a cursor and
+ * limited from either end; the Realtime Database queries the data layer uses. Immutable, so
+ * queries can be shared and built step by step:
+ *
+ *   Query.at("leaderboard/Guess").orderByChild("highScore").limitToLast(50)
+ *
+ * Cursors compare (value, key) pairs, values ordered as the Realtime Database orders them.
+ */
+public final class Query {
+
+    private static final int NO_LIMIT = 0;
+
+    private final String path;
+    private final String orderByChild;
+    private final boolean hasStart;
+    private final Object startValue;
+    private final String startKey;
+    private final boolean hasEnd;
+    private final Object endValue;
+    private final String endKey;
+    private final int limit;
+    private final boolean limitToLast;
+
+    private Query(String path, String orderByChild, boolean hasStart, Object startValue, String startKey,
+                  boolean hasEnd, Object endValue, String endKey, int limit, boolean limitToLast) {
+        this.path = path;
+        this.orderByChild = orderByChild;
+        this.hasStart = hasStart;
+        this.startValue = startValue;
+        this.startKey = startKey;
+        this.hasEnd = hasEnd;
+        this.endValue = endValue;
+        this.endKey = endKey;
+        this.limit = limit;
+        this.limitToLast = limitToLast;
+    }
+
+    /**
+     * All children of path, ordered by key
+     */
+    public static Query at(String path) {
+        return new Query(path, null, false, null, null, false, null, null, NO_LIMIT, false);
+    }
+
+    public Query orderByChild(String child) {
+        return new Query(path, child, hasStart, startValue, startKey, hasEnd, endValue, endKey, limit, limitToLast);
+    }
+
+    /**
+     * Only children ordered after (value, key)
+     */
+    public Query startAfter(Object value, String key) {
+        return new Query(path, orderByChild, true, value, key, hasEnd, endValue, endKey, limit, limitToLast);
+    }
+
+    /**
+     * Only children ordered before (value, key)
+     */
+    public Query endBefore(Object value, String key) {
+        return new Query(path, orderByChild, hasStart, startValue, startKey, true, value, key, limit, limitToLast);
+    }
+
+    public Query limitToFirst(int count) {
+        return new Query(path, orderByChild, hasStart, startValue, startKey, hasEnd, endValue, endKey,
+                checkLimit(count), false);
+    }
+
+    public Query limitToLast(int count) {
+        return new Query(path, orderByChild, hasStart, startValue, startKey, hasEnd, endValue, endKey,
+                checkLimit(count), true);
+    }
+
+    private static int checkLimit(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + count);
+        }
+        return count;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The child the results are ordered by, or null to order by key
+     */
+    public String getOrderByChild() {
+        return orderByChild;
+    }
+
+    public boolean hasStart() {
+        return hasStart;
+    }
+
+    public Object getStartValue() {
+        return startValue;
+    }
+
+    public String getStartKey() {
+        return startKey;
+    }
+
+    public boolean hasEnd() {
+        return hasEnd;
+    }
+
+    public Object getEndValue() {
+        return endValue;
+    }
+
+    public String getEndKey() {
+        return endKey;
+    }
+
+    public boolean hasLimit() {
+        return limit != NO_LIMIT;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Whether the limit keeps the last children rather than the first
+     */
+    public boolean isLimitToLast() {
+        return limitToLast;
+    }
+
+    /**
+     * Order two values as the Realtime Database orders children by a child value: missing values
+     * first, then false, true, numbers, strings, and nodes last
+     */
+    public static int compareValues(Object a, Object b) {
+        int typeA = typeOrder(a);
+        int typeB = typeOrder(b);
+        if (typeA != typeB) {
+            return Integer.compare(typeA, typeB);
+        }
+        if (a instanceof Boolean) {
+            return Boolean.compare((Boolean) a, (Boolean) b);
+        }
+        if (a instanceof Number) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return Long.compare(((Number) a).longValue(), ((Number) b).longValue());
+            }
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof String) {
+            return ((String) a).compareTo((String) b);
+        }
+        return 0;
+    }
+
+    private static int typeOrder(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof Number) {
+            return 2;
+        }
+        if (value instanceof String) {
+            return 3;
+        }
+        return 4;
+    }
+
+    private static boolean isIntegral(Object number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Query)) {
+            return false;
+        }
+        Query other = (Query) o;
+        return hasStart == other.hasStart && hasEnd == other.hasEnd && limit == other.limit
+                && limitToLast == other.limitToLast && path.equals(other.path)
+                && Objects.equals(orderByChild, other.orderByChild)
+                && Objects.equals(startValue, other.startValue) && Objects.equals(startKey, other.startKey)
+                && Objects.equals(endValue, other.endValue) && Objects.equals(endKey, other.endKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, orderByChild, startValue, startKey, endValue, endKey, limit, limitToLast);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(path);
+        out.append(orderByChild != null ? " orderByChild(" + orderByChild + ")" : " orderByKey()");
+        if (hasStart) {
+            out.append(" startAfter(").append(startValue).append(", ").append(startKey).append(')');
+        }
+        if (hasEnd) {
+            out.append(" endBefore(").append(endValue).append(", ").append(endKey).append(')');
+        }
+        if (hasLimit()) {
+            out.append(limitToLast ? " limitToLast(" : " limitToFirst(").append(limit).append(')');
+        }
+        return out.toString();
+    }
+}
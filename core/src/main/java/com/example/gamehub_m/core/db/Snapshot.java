@@ -0,0 +1,31 @@
+package com.example.gamehub_m.core.db;
+
+/**
+ * One child of a query result: its key and value
+ */
+public final class Snapshot {
+
+    private final String key;
+    private final Object value;
+
+    public Snapshot(String key, Object value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The value as DataSnapshot.getValue() returns it
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + value;
+    }
+}
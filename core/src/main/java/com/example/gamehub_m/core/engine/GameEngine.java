@@ -0,0 +1,44 @@
+package com.example.gamehub_m.core.engine;
+
+import java.util.Random;
+
+/**
+ * One game's rules and timing, without a UI. Time is always passed in rather than read, and every
+ * delay the game needs (showing a pattern, the CPU thinking) is asked for through the deadline
+ * tick() returns, so a GameLoop can run it on the main thread or as fast as possible on a
+ * VirtualScheduler. Renderers read the state through the implementation's getters.
+ */
+public interface GameEngine {
+
+    // Returned by tick() when nothing is due until the next input
+    long NO_TICK = Long.MAX_VALUE;
+
+    /**
+     * Start a new game at nowMillis, drawing all of its randomness from random
+     */
+    void start(Random random, long nowMillis);
+
+    /**
+     * Whether input() is allowed in the current state
+     */
+    boolean acceptsInput();
+
+    /**
+     * Apply one player input, e.g. a guessed number, a color or a cell
+     * @throws IllegalArgumentException if the input is not allowed at this point
+     */
+    void input(int event, long nowMillis);
+
+    /**
+     * Run everything that was due at or before nowMillis
+     * @return When the engine next needs to tick, or NO_TICK
+     */
+    long tick(long nowMillis);
+
+    /**
+     * The score the game would submit now
+     */
+    long getScore();
+
+    boolean isOver();
+}
@@ -0,0 +1,149 @@
+package com.example.gamehub_m.core.engine;
+
+import java.util.Random;
+
+/**
+ * The event loop every game runs in. Player input and the engine's own timers both end in
+ * GameEngine.tick(), after which a single wake-up task is (re)scheduled for the deadline the
+ * engine returned: at most one task is ever queued per game, lateness does not accumulate, and
+ * pause() stops all of the game's timing with one cancel. How late each wake-up ran is recorded
+ * in the metrics. Use it from the scheduler's thread only.
+ */
+public class GameLoop {
+
+    // Wake-ups later than about one frame count as late
+    public static final long LATE_THRESHOLD_MILLIS = 17;
+
+    private final GameEngine engine;
+    private final GameScheduler scheduler;
+    private final Listener listener;
+    private final TimingMetrics metrics = new TimingMetrics(LATE_THRESHOLD_MILLIS);
+    private final Runnable wake = this::onWake;
+    private long wakeAt = GameEngine.NO_TICK;
+    private boolean started = false;
+    private boolean running = false;
+    private boolean overReported = false;
+
+    public GameLoop(GameEngine engine, GameScheduler scheduler, Listener listener) {
+        this.engine = engine;
+        this.scheduler = scheduler;
+        this.listener = listener;
+    }
+
+    /**
+     * Start a new game on the engine, dropping anything still scheduled for the last one
+     */
+    public void start(Random random) {
+        schedule(GameEngine.NO_TICK);
+        metrics.reset();
+        overReported = false;
+        started = true;
+        running = true;
+        long now = scheduler.now();
+        engine.start(random, now);
+        advance(now);
+    }
+
+    /**
+     * Pass a player input to the engine
+     * @return false if the loop is paused or the engine does not accept input right now
+     * @throws IllegalArgumentException if the engine rejects this input
+     */
+    public boolean input(int event) {
+        if (!running || !engine.acceptsInput()) {
+            return false;
+        }
+        long now = scheduler.now();
+        engine.input(event, now);
+        advance(now);
+        return true;
+    }
+
+    /**
+     * Stop ticking, e.g. while the screen is not visible; input is ignored until resume()
+     */
+    public void pause() {
+        running = false;
+        schedule(GameEngine.NO_TICK);
+    }
+
+    /**
+     * Continue after pause(); does nothing before the first start()
+     */
+    public void resume() {
+        if (!started) {
+            return;
+        }
+        running = true;
+        advance(scheduler.now());
+    }
+
+    /**
+     * Tick now and reschedule, after the engine was changed outside of input()
+     */
+    public void refresh() {
+        if (running) {
+            advance(scheduler.now());
+        }
+    }
+
+    /**
+     * Whether the engine is waiting for a deadline, i.e. something on screen is being animated
+     */
+    public boolean isTicking() {
+        return wakeAt != GameEngine.NO_TICK;
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public TimingMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void onWake() {
+        long intended = wakeAt;
+        wakeAt = GameEngine.NO_TICK;
+        long now = scheduler.now();
+        metrics.record(intended, now);
+        advance(now);
+    }
+
+    private void advance(long now) {
+        schedule(running ? engine.tick(now) : GameEngine.NO_TICK);
+        listener.onUpdate();
+        if (engine.isOver() && !overReported) {
+            overReported = true;
+            listener.onGameOver(engine.getScore());
+        }
+    }
+
+    private void schedule(long timeMillis) {
+        if (timeMillis == wakeAt) {
+            return;
+        }
+        if (wakeAt != GameEngine.NO_TICK) {
+            scheduler.cancel(wake);
+        }
+        wakeAt = timeMillis;
+        if (timeMillis != GameEngine.NO_TICK) {
+            scheduler.postAt(wake, timeMillis);
+        }
+    }
+
+    /**
+     * Told about every change of the engine's state, on the scheduler's thread
+     */
+    public interface Listener {
+        /**
+         * The engine ticked or took input; render its state
+         */
+        void onUpdate();
+
+        /**
+         * The game just ended; called once per game, after onUpdate
+         */
+        void onGameOver(long score);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.gamehub_m.core.engine;
+
+/**
+ * The clock and timer queue a GameLoop runs on: the main thread's Handler in the app, a
+ * VirtualScheduler on the JVM.
+ */
+public interface GameScheduler {
+
+    /**
+     * The current time in milliseconds, on the scheduler's own monotonic clock
+     */
+    long now();
+
+    /**
+     * Run task at timeMillis on the scheduler's thread, or as soon as possible if that has passed
+     */
+    void postAt(Runnable task, long timeMillis);
+
+    /**
+     * Remove every pending run of task
+     */
+    void cancel(Runnable task);
+}
@@ -0,0 +1,87 @@
+package com.example.gamehub_m.core.engine;
+
+import java.util.Locale;
+
+/**
+ * How late scheduled game events ran compared to their intended time, and how many display
+ * frames were dropped while they were pending.
+ */
+public class TimingMetrics {
+
+    private int events = 0;
+    private long totalDriftMillis = 0;
+    private long maxDriftMillis = 0;
+    private int lateEvents = 0;
+    private int frames = 0;
+    private int droppedFrames = 0;
+    private final long lateThresholdMillis;
+
+    /**
+     * @param lateThresholdMillis Drift above which an event counts as late, e.g. one frame
+     */
+    public TimingMetrics(long lateThresholdMillis) {
+        this.lateThresholdMillis = lateThresholdMillis;
+    }
+
+    public void reset() {
+        events = 0;
+        totalDriftMillis = 0;
+        maxDriftMillis = 0;
+        lateEvents = 0;
+        frames = 0;
+        droppedFrames = 0;
+    }
+
+    public void record(long intendedMillis, long actualMillis) {
+        long drift = Math.max(0, actualMillis - intendedMillis);
+        events++;
+        totalDriftMillis += drift;
+        maxDriftMillis = Math.max(maxDriftMillis, drift);
+        if (drift > lateThresholdMillis) {
+            lateEvents++;
+        }
+    }
+
+    /**
+     * Record the time between two consecutive frames; every whole frame interval beyond the first
+     * counts as a dropped frame
+     */
+    public void recordFrame(long frameDeltaNanos, long frameIntervalNanos) {
+        frames++;
+        if (frameIntervalNanos > 0 && frameDeltaNanos > frameIntervalNanos) {
+            // Half a frame of slack absorbs vsync jitter
+            droppedFrames += (int) ((frameDeltaNanos + frameIntervalNanos / 2) / frameIntervalNanos) - 1;
+        }
+    }
+
+    public int getEvents() {
+        return events;
+    }
+
+    public long getMaxDriftMillis() {
+        return maxDriftMillis;
+    }
+
+    public double getMeanDriftMillis() {
+        return events == 0 ? 0 : (double) totalDriftMillis / events;
+    }
+
+    public int getLateEvents() {
+        return lateEvents;
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    public int getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    @Override
+    public String toString() {
+        return events + " events, mean drift " + String.format(Locale.US, "%.1f", getMeanDriftMillis())
+                + " ms, max " + maxDriftMillis + " ms, " + lateEvents + " late, "
+                + droppedFrames + "/" + frames + " frames dropped";
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.gamehub_m.core.engine;
+
+import java.util.PriorityQueue;
+
+/**
+ * A GameScheduler on a virtual clock, for running games headlessly: time only moves when told to
+ * and jumps straight to the next task, so a game plays as fast as its rules run. Tasks due at the
+ * same time run in the order they were posted. Single-threaded.
+ */
+public class VirtualScheduler implements GameScheduler {
+
+    private final PriorityQueue<Task> queue = new PriorityQueue<>();
+    private long now;
+    private long posted = 0;
+
+    public VirtualScheduler() {
+        this(0);
+    }
+
+    public VirtualScheduler(long startMillis) {
+        this.now = startMillis;
+    }
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public void postAt(Runnable task, long timeMillis) {
+        queue.add(new Task(task, Math.max(now, timeMillis), posted++));
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        queue.removeIf(pending -> pending.task == task);
+    }
+
+    /**
+     * Move the clock to the earliest pending task and run it
+     * @return false if nothing was pending
+     */
+    public boolean runNext() {
+        Task next = queue.poll();
+        if (next == null) {
+            return false;
+        }
+        now = next.timeMillis;
+        next.task.run();
+        return true;
+    }
+
+    /**
+     * Run every task due up to timeMillis, including ones they post, and leave the clock there
+     */
+    public void advanceTo(long timeMillis) {
+        while (!queue.isEmpty() && queue.peek().timeMillis <= timeMillis) {
+            runNext();
+        }
+        now = Math.max(now, timeMillis);
+    }
+
+    public void advanceBy(long millis) {
+        advanceTo(now + millis);
+    }
+
+    /**
+     * Run tasks until none are pending
+     * @return The number of tasks run
+     * @throws IllegalStateException if more than maxTasks would run, e.g. a task reposting itself
+     */
+    public int runUntilIdle(int maxTasks) {
+        int run = 0;
+        while (runNext()) {
+            if (++run > maxTasks) {
+                throw new IllegalStateException("Still busy after " + maxTasks + " tasks");
+            }
+        }
+        return run;
+    }
+
+    public boolean isIdle() {
+        return queue.isEmpty();
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private static final class Task implements Comparable<Task> {
+        final Runnable task;
+        final long timeMillis;
+        final long order;
+
+        Task(Runnable task, long timeMillis, long order) {
+            this.task = task;
+            this.timeMillis = timeMillis;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byTime = Long.compare(timeMillis, other.timeMillis);
+            return byTime != 0 ? byTime : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.gamehub_m.core.games;
+
+/**
+ * Rock Paper Scissors outcome rule. Moves are indexes in cyclic order,
+ * so each move beats the one before it; outcomes come from a 3x3 lookup table.
+ */
+public final class RpsRules {
+
+    public static final int ROCK = 0;
+    public static final int PAPER = 1;
+    public static final int SCISSORS = 2;
+    public static final int MOVES = 3;
+
+    public static final int DRAW = 0;
+    public static final int PLAYER_WINS = 1;
+    public static final int CPU_WINS = -1;
+
+    // Indexed by playerMove * MOVES + cpuMove
+    private static final int[] OUTCOMES = {
+            // CPU plays rock, paper, scissors
+            DRAW, CPU_WINS, PLAYER_WINS,    // player rock
+            PLAYER_WINS, DRAW, CPU_WINS,    // player paper
+            CPU_WINS, PLAYER_WINS, DRAW     // player scissors
+    };
+
+    private RpsRules() {
+    }
+
+    /**
+     * The move that beats move
+     */
+    public static int counter(int move) {
+        return (move + 1) % MOVES;
+    }
+
+    /**
+     * @return DRAW, PLAYER_WINS or CPU_WINS
+     */
+    public static int outcome(int playerMove, int cpuMove) {
+        return OUTCOMES[playerMove * MOVES + cpuMove];
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.gamehub_m.core.guess;
+
+import java.util.Random;
+
+/**
+ * Plays Guess from the hints alone, keeping the window of numbers still possible.
+ * With skill 1 it always guesses the middle of the window (binary search, which never runs out of
+ * attempts); with skill 0 it guesses uniformly inside the window; in between it picks the middle
+ * with probability skill. Allocation-free, for simulations.
+ */
+public class GuessBot {
+
+    private final Random random;
+    private final double skill;
+    private long low;
+    private long high;
+
+    public GuessBot(Random random, double skill) {
+        if (skill < 0 || skill > 1) {
+            throw new IllegalArgumentException("skill must be in 0-1: " + skill);
+        }
+        this.random = random;
+        this.skill = skill;
+    }
+
+    public static GuessBot binarySearch() {
+        return new GuessBot(null, 1.0);
+    }
+
+    /**
+     * Forget the hints, for a new round in range
+     */
+    public void newRound(GuessRange range) {
+        low = range.getMin();
+        high = range.getMax();
+    }
+
+    public long nextGuess() {
+        if (skill >= 1.0 || random.nextDouble() < skill) {
+            // Unsigned halving, the window may span more than Long.MAX_VALUE
+            return low + ((high - low) >>> 1);
+        }
+        return GuessRange.randomBetween(random, low, high);
+    }
+
+    /**
+     * Narrow the window with a TOO_LOW or TOO_HIGH answer to a guess
+     */
+    public void onResult(long guess, int result) {
+        if (result == GuessEngine.TOO_LOW) {
+            low = guess + 1;
+        } else if (result == GuessEngine.TOO_HIGH) {
+            high = guess - 1;
+        }
+    }
+
+    /**
+     * Play a new game on engine until it is over or maxRounds rounds were won
+     * @return The final score
+     */
+    public long play(GuessEngine engine, int maxRounds) {
+        engine.newGame();
+        newRound(engine.getRange());
+        while (!engine.isOver() && engine.getRoundsWon() < maxRounds) {
+            long guess = nextGuess();
+            int result = engine.guess(guess);
+            if (result == GuessEngine.CORRECT) {
+                newRound(engine.getRange());
+            } else {
+                onResult(guess, result);
+            }
+        }
+        return engine.getScore();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.gamehub_m.core.guess;
+
+/**
+ * Picks the range of each Guess round. A fixed difficulty always plays one range; the adaptive one
+ * climbs a ladder of ranges from 1-10 to 1-1,000,000, starting at the classic 1-100. After
+ * STREAK_TO_LEVEL_UP rounds in a row found within the binary search depth it moves a level up;
+ * a round only won with the last attempt moves it a level down.
+ * The level depends on nothing but the rounds of the current game, so replays reproduce it.
+ */
+public class GuessDifficulty {
+
+    public static final int STREAK_TO_LEVEL_UP = 3;
+
+    // Every level stays within int, which is what replays record guesses as
+    private static final GuessRange[] ADAPTIVE_LEVELS = {
+            GuessRange.of(1, 10),
+            GuessRange.of(1, 50),
+            GuessRange.CLASSIC,
+            GuessRange.of(1, 1_000),
+            GuessRange.of(1, 10_000),
+            GuessRange.of(1, 100_000),
+            GuessRange.of(1, 1_000_000),
+    };
+    private static final int ADAPTIVE_START_LEVEL = 2;
+
+    private final GuessRange[] levels;
+    private final int startLevel;
+    private final int maxAttempts;
+    private int level;
+    private int streak;
+
+    private GuessDifficulty(GuessRange[] levels, int startLevel) {
+        this.levels = levels;
+        this.startLevel = startLevel;
+        int attempts = 0;
+        for (GuessRange range : levels) {
+            attempts = Math.max(attempts, range.getAttempts());
+        }
+        this.maxAttempts = attempts;
+        reset();
+    }
+
+    public static GuessDifficulty fixed(GuessRange range) {
+        return new GuessDifficulty(new GuessRange[]{range}, 0);
+    }
+
+    public static GuessDifficulty adaptive() {
+        return new GuessDifficulty(ADAPTIVE_LEVELS, ADAPTIVE_START_LEVEL);
+    }
+
+    /**
+     * Back to the starting level, for a new game
+     */
+    public void reset() {
+        level = startLevel;
+        streak = 0;
+    }
+
+    /**
+     * Adjust the level after a round of the current range was won
+     * @param guesses Guesses the round took, including the correct one
+     */
+    public void onRoundWon(int guesses) {
+        GuessRange range = levels[level];
+        if (guesses >= range.getAttempts()) {
+            streak = 0;
+            if (level > 0) {
+                level--;
+            }
+        } else if (guesses <= range.getSearchDepth()) {
+            streak++;
+            if (streak >= STREAK_TO_LEVEL_UP && level < levels.length - 1) {
+                streak = 0;
+                level++;
+            }
+        } else {
+            streak = 0;
+        }
+    }
+
+    public GuessRange getRange() {
+        return levels[level];
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * The most attempts, and so points, any round can give
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.gamehub_m.core.guess;
+
+import java.util.Random;
+
+/**
+ * Guess the number: each round hides a target in the range picked by the GuessDifficulty and
+ * gives that range's attempts. A correct guess scores the attempts that were left, including the
+ * one just used, and starts the next round; running out of attempts ends the game.
+ */
+public class GuessEngine {
+
+    // Results of guess()
+    public static final int TOO_LOW = -1;
+    public static final int CORRECT = 0;
+    public static final int TOO_HIGH = 1;
+    // Wrong, and it was the last attempt
+    public static final int GAME_OVER = 2;
+
+    private final Random random;
+    private final GuessDifficulty difficulty;
+    private GuessRange range;
+    private long target;
+    private int attemptsRemaining;
+    private long score;
+    private int roundsWon;
+    private int lastPoints;
+    private boolean over = true;
+
+    /**
+     * Every round in the classic 1-100 with 10 attempts
+     */
+    public GuessEngine(Random random) {
+        this(random, GuessDifficulty.fixed(GuessRange.CLASSIC));
+    }
+
+    public GuessEngine(Random random, GuessDifficulty difficulty) {
+        this.random = random;
+        this.difficulty = difficulty;
+        this.range = difficulty.getRange();
+    }
+
+    /**
+     * Reset the score and difficulty and start the first round
+     */
+    public void newGame() {
+        score = 0;
+        roundsWon = 0;
+        lastPoints = 0;
+        over = false;
+        difficulty.reset();
+        nextRound();
+    }
+
+    private void nextRound() {
+        range = difficulty.getRange();
+        target = range.randomNumber(random);
+        attemptsRemaining = range.getAttempts();
+    }
+
+    /**
+     * Whether number is in the current round's range
+     */
+    public boolean inRange(long number) {
+        return range.contains(number);
+    }
+
+    /**
+     * @return TOO_LOW or TOO_HIGH with attempts left, CORRECT (the next round has started), or
+     *         GAME_OVER
+     * @throws IllegalArgumentException if number is out of range
+     * @throws IllegalStateException if the game is over
+     */
+    public int guess(long number) {
+        if (over) {
+            throw new IllegalStateException("Guess after the game ended");
+        }
+        if (!range.contains(number)) {
+            throw new IllegalArgumentException("Guess out of range: " + number);
+        }
+        if (number == target) {
+            lastPoints = attemptsRemaining;
+            score += lastPoints;
+            roundsWon++;
+            difficulty.onRoundWon(range.getAttempts() - attemptsRemaining + 1);
+            nextRound();
+            return CORRECT;
+        }
+        attemptsRemaining--;
+        if (attemptsRemaining == 0) {
+            over = true;
+            return GAME_OVER;
+        }
+        return number < target ? TOO_LOW : TOO_HIGH;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * The range of the current round, or of the lost one once the game is over
+     */
+    public GuessRange getRange() {
+        return range;
+    }
+
+    public GuessDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * The number to find in the current round, or the one that was not found once the game is over
+     */
+    public long getTarget() {
+        return target;
+    }
+
+    public int getAttemptsRemaining() {
+        return attemptsRemaining;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public int getRoundsWon() {
+        return roundsWon;
+    }
+
+    /**
+     * Points scored by the last correct guess
+     */
+    public int getLastPoints() {
+        return lastPoints;
+    }
+}
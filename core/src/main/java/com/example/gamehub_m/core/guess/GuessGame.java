@@ -0,0 +1,80 @@
+package com.example.gamehub_m.core.guess;
+
+import com.example.gamehub_m.core.engine.GameEngine;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+
+import java.util.Random;
+
+/**
+ * Guess as a GameEngine: inputs are guessed numbers, at the app's adaptive difficulty. Nothing in
+ * Guess is timed, so it never asks for a tick.
+ */
+public class GuessGame implements GameEngine {
+
+    private GuessEngine engine;
+    private ReplayRecorder recorder;
+    private int lastResult = GuessEngine.CORRECT;
+    private long lastGuess;
+
+    /**
+     * Record every accepted guess, as GuessReplayGame replays them
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void start(Random random, long nowMillis) {
+        engine = new GuessEngine(random, GuessDifficulty.adaptive());
+        engine.newGame();
+        lastResult = GuessEngine.CORRECT;
+    }
+
+    @Override
+    public boolean acceptsInput() {
+        return engine != null && !engine.isOver();
+    }
+
+    @Override
+    public void input(int guess, long nowMillis) {
+        if (!acceptsInput()) {
+            throw new IllegalArgumentException("Guess after the game ended");
+        }
+        // Out-of-range guesses throw IllegalArgumentException before anything is recorded
+        lastResult = engine.guess(guess);
+        lastGuess = guess;
+        if (recorder != null) {
+            recorder.record(guess);
+        }
+    }
+
+    @Override
+    public long tick(long nowMillis) {
+        return NO_TICK;
+    }
+
+    @Override
+    public long getScore() {
+        return engine == null ? 0 : engine.getScore();
+    }
+
+    @Override
+    public boolean isOver() {
+        return engine != null && engine.isOver();
+    }
+
+    public GuessEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * GuessEngine's answer to the last guess
+     */
+    public int getLastResult() {
+        return lastResult;
+    }
+
+    public long getLastGuess() {
+        return lastGuess;
+    }
+}
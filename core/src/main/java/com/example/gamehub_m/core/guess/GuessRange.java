@@ -0,0 +1,121 @@
+package com.example.gamehub_m.core.guess;
+
+import java.util.Random;
+
+/**
+ * The numbers a Guess round hides its target in, anywhere in the 64-bit range, and the attempts
+ * it gives. of() derives the attempts from the size of the range: what binary search needs in the
+ * worst case (floor(log2(size)) + 1) plus DEFAULT_SLACK, so 1-100 keeps its 10 attempts.
+ */
+public final class GuessRange {
+
+    public static final int DEFAULT_SLACK = 3;
+    public static final GuessRange CLASSIC = of(1, 100);
+
+    private final long min;
+    private final long max;
+    private final int attempts;
+
+    public GuessRange(long min, long max, int attempts) {
+        if (max < min) {
+            throw new IllegalArgumentException("Empty range: " + min + "-" + max);
+        }
+        if (attempts < 1) {
+            throw new IllegalArgumentException("attempts must be positive: " + attempts);
+        }
+        this.min = min;
+        this.max = max;
+        this.attempts = attempts;
+    }
+
+    public static GuessRange of(long min, long max) {
+        if (max < min) {
+            throw new IllegalArgumentException("Empty range: " + min + "-" + max);
+        }
+        return new GuessRange(min, max, searchDepth(min, max) + DEFAULT_SLACK);
+    }
+
+    /**
+     * Guesses binary search needs in the worst case to find a number in min-max
+     */
+    public static int searchDepth(long min, long max) {
+        // Size - 1 as an unsigned long; -1 means all 2^64 values
+        long span = max - min;
+        return span == -1 ? 65 : 64 - Long.numberOfLeadingZeros(span + 1);
+    }
+
+    /**
+     * A uniformly distributed number in low-high
+     */
+    static long randomBetween(Random random, long low, long high) {
+        long span = high - low;
+        if (span >= 0 && span < Integer.MAX_VALUE) {
+            // Same draw as the int-only engine, so small ranges replay unchanged
+            return low + random.nextInt((int) span + 1);
+        }
+        if (span == -1) {
+            return random.nextLong();
+        }
+        long bound = span + 1;
+        long r;
+        if (bound > 0) {
+            // Below 2^63: rejection as in SplittableRandom.nextLong(bound)
+            long m = bound - 1;
+            for (long u = random.nextLong() >>> 1; u + m - (r = u % bound) < 0; u = random.nextLong() >>> 1) {
+                // Rejected, draw again
+            }
+        } else {
+            // At least 2^63 values, so more than half of all draws are accepted
+            do {
+                r = random.nextLong();
+            } while (Long.compareUnsigned(r, span) > 0);
+        }
+        return low + r;
+    }
+
+    long randomNumber(Random random) {
+        return randomBetween(random, min, max);
+    }
+
+    public boolean contains(long number) {
+        return number >= min && number <= max;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public int getSearchDepth() {
+        return searchDepth(min, max);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GuessRange)) {
+            return false;
+        }
+        GuessRange other = (GuessRange) o;
+        return min == other.min && max == other.max && attempts == other.attempts;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(min) + Long.hashCode(max)) + attempts;
+    }
+
+    @Override
+    public String toString() {
+        return min + "-" + max + " in " + attempts;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pure merge rule for a leaderboard node: leaderboard/{gameName}/{userId}.
+ * Kept free of Firebase types so ScoreUpdate can build the update with it
+ * in the app and in plain JVM tests alike.
+ */
+public final class HighScoreMerge {
+
+    private HighScoreMerge() {
+    }
+
+    /**
+     * Merge a new score into a leaderboard node.
+     * @param currentHighScore The stored high score, or null if the node does not exist
+     * @return The node to write, or null if the stored high score is already >= score
+     */
+    public static Map<String, Object> mergeHighScore(Long currentHighScore, String userId, String displayName,
+                                                     long score, long timestamp) {
+        if (currentHighScore != null && currentHighScore >= score) {
+            return null;
+        }
+
+        Map<String, Object> leaderboardData = new HashMap<>();
+        leaderboardData.put("displayName", displayName);
+        leaderboardData.put("highScore", score);
+        leaderboardData.put("userId", userId);
+        leaderboardData.put("updatedAt", timestamp);
+        return leaderboardData;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.gamehub_m.core.leaderboard;
+
+/**
+ * Model for Leaderboard Entry
+ */
+public class LeaderboardEntry {
+    public String userId;
+    public String displayName;
+    public long highScore;
+    public int rank; // 1-based, 0 if unknown
+
+    public LeaderboardEntry(String userId, String displayName, long highScore) {
+        this.userId = userId;
+        this.displayName = displayName;
+        this.highScore = highScore;
+    }
+
+    public LeaderboardEntry(String userId, String displayName, long highScore, int rank) {
+        this(userId, displayName, highScore);
+        this.rank = rank;
+    }
+
+    /**
+     * Copy of this entry at another rank; entries already handed to the UI are never mutated
+     */
+    public LeaderboardEntry withRank(int rank) {
+        return new LeaderboardEntry(userId, displayName, highScore, rank);
+    }
+
+    public boolean hasSameContents(LeaderboardEntry other) {
+        return highScore == other.highScore && rank == other.rank
+                && (displayName == null ? other.displayName == null : displayName.equals(other.displayName));
+    }
+}
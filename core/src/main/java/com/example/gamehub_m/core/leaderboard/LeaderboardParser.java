@@ -0,0 +1,50 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns leaderboard/{gameName} query results into ranked entries.
+ * Works on the plain values DataSnapshot.getValue() returns (Maps, Strings, Longs)
+ * so it runs in JVM tests and benchmarks without Firebase.
+ */
+public final class LeaderboardParser {
+
+    private LeaderboardParser() {
+    }
+
+    /**
+     * Parse a leaderboard/{gameName}/{userId} node, or return null if it is incomplete
+     * @param key The node key, used when the node has no userId field
+     * @param value The node value as returned by DataSnapshot.getValue()
+     */
+    public static LeaderboardEntry parseEntry(String key, Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> node = (Map<?, ?>) value;
+        Object displayName = node.get("displayName");
+        Object highScore = node.get("highScore");
+        Object userId = node.get("userId");
+
+        if (displayName instanceof String && highScore instanceof Number) {
+            return new LeaderboardEntry(userId instanceof String ? (String) userId : key,
+                    (String) displayName, ((Number) highScore).longValue());
+        }
+        return null;
+    }
+
+    /**
+     * Reorder entries of an orderByChild("highScore") query, which come lowest first,
+     * to highest first and number them from 1.
+     * @return The same list, for chaining
+     */
+    public static List<LeaderboardEntry> rankDescending(List<LeaderboardEntry> ascending) {
+        Collections.reverse(ascending);
+        for (int i = 0; i < ascending.size(); i++) {
+            ascending.get(i).rank = i + 1;
+        }
+        return ascending;
+    }
+}
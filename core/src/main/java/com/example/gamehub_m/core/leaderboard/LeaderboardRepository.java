@@ -0,0 +1,188 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.Database;
+import com.example.gamehub_m.core.db.Query;
+import com.example.gamehub_m.core.db.Snapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the leaderboard/{gameName} boards and their leaderboardStats histograms from a Database.
+ * Every query orders by highScore, which database.rules.json indexes.
+ */
+public class LeaderboardRepository {
+
+    private static final String HIGH_SCORE = "highScore";
+
+    private final Database database;
+
+    public LeaderboardRepository(Database database) {
+        this.database = database;
+    }
+
+    /**
+     * The top limit entries of a game, highest first and ranked from 1
+     */
+    public void getTop(String gameName, int limit, DataCallback<List<LeaderboardEntry>> callback) {
+        database.query(board(gameName).limitToLast(limit), new Entries(callback) {
+            @Override
+            List<LeaderboardEntry> order(List<LeaderboardEntry> ascending) {
+                return LeaderboardParser.rankDescending(ascending);
+            }
+        });
+    }
+
+    /**
+     * One page of the leaderboard next to a known entry, using the highScore plus node key as a
+     * cursor so pages stay stable across equal scores.
+     * @param cursor The last entry of the page above (when loading below) or the first entry of
+     *               the page below (when loading above); null for the top page
+     * @param above true to load the higher-ranked page before the cursor
+     * @param callback Receives entries highest first, without ranks
+     */
+    public void getPage(String gameName, LeaderboardEntry cursor, boolean above, int pageSize,
+                        DataCallback<List<LeaderboardEntry>> callback) {
+        Query query = board(gameName);
+        if (cursor == null) {
+            query = query.limitToLast(pageSize);
+        } else if (above) {
+            query = query.startAfter(cursor.highScore, cursor.userId).limitToFirst(pageSize);
+        } else {
+            query = query.endBefore(cursor.highScore, cursor.userId).limitToLast(pageSize);
+        }
+        database.query(query, new Entries(callback) {
+            @Override
+            List<LeaderboardEntry> order(List<LeaderboardEntry> ascending) {
+                Collections.reverse(ascending);
+                return ascending;
+            }
+        });
+    }
+
+    /**
+     * A user's high score in a game, or null if the user has no entry
+     */
+    public void getHighScore(String gameName, String userId, DataCallback<Long> callback) {
+        database.get(ScoreUpdate.leaderboardPath(gameName, userId) + "/" + HIGH_SCORE, new DataCallback<Object>() {
+            @Override
+            public void onSuccess(Object highScore) {
+                callback.onSuccess(highScore instanceof Number ? ((Number) highScore).longValue() : null);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * How many entries rank above a user's (highScore, userId), counting at most limit of them
+     */
+    public void countAbove(String gameName, String userId, long highScore, int limit,
+                           DataCallback<Integer> callback) {
+        // Entries ordered after (highScore, userId) are exactly the ones ranked above the user
+        database.query(board(gameName).startAfter(highScore, userId).limitToFirst(limit),
+                new DataCallback<List<Snapshot>>() {
+                    @Override
+                    public void onSuccess(List<Snapshot> above) {
+                        callback.onSuccess(above.size());
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        callback.onError(errorMessage);
+                    }
+                });
+    }
+
+    /**
+     * The score histogram of a game, empty if it has none
+     */
+    public void getHistogram(String gameName, DataCallback<ScoreHistogram> callback) {
+        database.get(ScoreUpdate.statsPath(gameName), new DataCallback<Object>() {
+            @Override
+            public void onSuccess(Object value) {
+                callback.onSuccess(ScoreHistogram.fromValue(value));
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Recompute leaderboardStats/{gameName} from the raw leaderboard, for repair.
+     * Downloads the whole board once; increments made while it runs may be lost,
+     * so run it when the game is quiet.
+     * @param callback May be null
+     */
+    public void rebuildHistogram(String gameName, DataCallback<Void> callback) {
+        database.query(Query.at(ScoreUpdate.LEADERBOARD_REF + "/" + gameName), new DataCallback<List<Snapshot>>() {
+            @Override
+            public void onSuccess(List<Snapshot> board) {
+                ScoreHistogram histogram = new ScoreHistogram();
+                for (Snapshot snapshot : board) {
+                    LeaderboardEntry entry = LeaderboardParser.parseEntry(snapshot.getKey(), snapshot.getValue());
+                    if (entry != null) {
+                        histogram.add(entry.highScore);
+                    }
+                }
+                database.set(ScoreUpdate.statsPath(gameName), histogram.toValue(), callback);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (callback != null) {
+                    callback.onError(errorMessage);
+                }
+            }
+        });
+    }
+
+    /**
+     * Listen to the top limit nodes of a game; values parse with LeaderboardParser.parseEntry
+     */
+    public Database.Registration listenTop(String gameName, int limit, Database.ChildListener listener) {
+        return database.listen(board(gameName).limitToLast(limit), listener);
+    }
+
+    private static Query board(String gameName) {
+        return Query.at(ScoreUpdate.LEADERBOARD_REF + "/" + gameName).orderByChild(HIGH_SCORE);
+    }
+
+    /**
+     * Parses a query result, skipping incomplete nodes, and hands it on in the caller's order
+     */
+    private abstract static class Entries implements DataCallback<List<Snapshot>> {
+        private final DataCallback<List<LeaderboardEntry>> callback;
+
+        Entries(DataCallback<List<LeaderboardEntry>> callback) {
+            this.callback = callback;
+        }
+
+        abstract List<LeaderboardEntry> order(List<LeaderboardEntry> ascending);
+
+        @Override
+        public void onSuccess(List<Snapshot> snapshots) {
+            List<LeaderboardEntry> entries = new ArrayList<>(snapshots.size());
+            for (Snapshot snapshot : snapshots) {
+                LeaderboardEntry entry = LeaderboardParser.parseEntry(snapshot.getKey(), snapshot.getValue());
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+            callback.onSuccess(order(entries));
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            callback.onError(errorMessage);
+        }
+    }
+}
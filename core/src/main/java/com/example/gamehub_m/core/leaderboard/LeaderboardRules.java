@@ -0,0 +1,32 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import com.example.gamehub_m.core.db.MemoryDatabase;
+
+import java.util.Map;
+
+/**
+ * The highScore rule of database.rules.json for a MemoryDatabase: a leaderboard node written as a
+ * whole must carry a numeric highScore, and a new high score must name the stored one as
+ * previousHighScore and beat it. Other paths are not checked.
+ */
+public class LeaderboardRules implements MemoryDatabase.Rules {
+
+    @Override
+    public boolean allows(String path, Object current, Object value) {
+        if (!path.startsWith(ScoreUpdate.LEADERBOARD_REF + "/") || !(value instanceof Map)
+                || path.split("/").length != 3) {
+            return true;
+        }
+        Object highScore = ((Map<?, ?>) value).get("highScore");
+        if (!(highScore instanceof Number)) {
+            return false;
+        }
+        Object stored = current instanceof Map ? ((Map<?, ?>) current).get("highScore") : null;
+        Object previous = ((Map<?, ?>) value).get("previousHighScore");
+        if (stored == null) {
+            return previous == null;
+        }
+        return previous instanceof Number && ((Number) previous).longValue() == ((Number) stored).longValue()
+                && ((Number) highScore).longValue() > ((Number) stored).longValue();
+    }
+}
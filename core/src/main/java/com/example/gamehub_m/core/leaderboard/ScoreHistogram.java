@@ -0,0 +1,176 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-game distribution of leaderboard high scores, counted per score bucket.
+ * Stored at leaderboardStats/{gameName} as {"total": n, "buckets": {"b{index}": count}} so that
+ * rank and percentile queries cost one small read instead of downloading the whole board.
+ *
+ * Scores 0-63 get a bucket each (exact ranks); above that every power of two is split into
+ * 8 buckets, so the relative error of an estimated rank stays within 1/8 of the score.
+ */
+public class ScoreHistogram {
+
+    public static final String TOTAL_KEY = "total";
+    public static final String BUCKETS_KEY = "buckets";
+
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int LINEAR_BITS = 6;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[LINEAR_BUCKETS];
+    private long total = 0;
+
+    public static int bucketOf(long score) {
+        if (score < LINEAR_BUCKETS) {
+            return (int) Math.max(0, score);
+        }
+        int log = 63 - Long.numberOfLeadingZeros(score);
+        int sub = (int) ((score >>> (log - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_BUCKETS + (log - LINEAR_BITS) * SUB_BUCKETS + sub;
+    }
+
+    public static long lowerBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int log = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + LINEAR_BITS;
+        int sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub)) << (log - SUB_BUCKET_BITS);
+    }
+
+    public static long upperBound(int bucket) {
+        if (bucket >= bucketOf(Long.MAX_VALUE)) {
+            return Long.MAX_VALUE;
+        }
+        return lowerBound(bucket + 1) - 1;
+    }
+
+    public static String bucketKey(int bucket) {
+        return "b" + bucket;
+    }
+
+    /**
+     * Changes to apply to the stats node when a user's high score moves from previous to current.
+     * Keys are paths relative to leaderboardStats/{gameName}; empty if nothing changes.
+     * @param previousHighScore null if the user had no leaderboard entry
+     */
+    public static Map<String, Long> deltas(Long previousHighScore, long highScore) {
+        Map<String, Long> deltas = new HashMap<>();
+        int bucket = bucketOf(highScore);
+        if (previousHighScore == null) {
+            deltas.put(TOTAL_KEY, 1L);
+            deltas.put(BUCKETS_KEY + "/" + bucketKey(bucket), 1L);
+        } else {
+            int previousBucket = bucketOf(previousHighScore);
+            if (previousBucket != bucket) {
+                deltas.put(BUCKETS_KEY + "/" + bucketKey(previousBucket), -1L);
+                deltas.put(BUCKETS_KEY + "/" + bucketKey(bucket), 1L);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Build a histogram from the stats node value (as returned by DataSnapshot.getValue())
+     */
+    public static ScoreHistogram fromValue(Object value) {
+        ScoreHistogram histogram = new ScoreHistogram();
+        if (!(value instanceof Map)) {
+            return histogram;
+        }
+        Object buckets = ((Map<?, ?>) value).get(BUCKETS_KEY);
+        if (buckets instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) buckets).entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                if (key.startsWith("b") && entry.getValue() instanceof Number) {
+                    try {
+                        histogram.addToBucket(Integer.parseInt(key.substring(1)),
+                                ((Number) entry.getValue()).longValue());
+                    } catch (NumberFormatException e) {
+                        // Not a bucket
+                    }
+                }
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * The stats node value for this histogram
+     */
+    public Map<String, Object> toValue() {
+        Map<String, Object> buckets = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buckets.put(bucketKey(i), counts[i]);
+            }
+        }
+        Map<String, Object> value = new HashMap<>();
+        value.put(TOTAL_KEY, total);
+        value.put(BUCKETS_KEY, buckets);
+        return value;
+    }
+
+    public void add(long score) {
+        addToBucket(bucketOf(score), 1);
+    }
+
+    private void addToBucket(int bucket, long count) {
+        if (bucket < 0) {
+            return;
+        }
+        if (bucket >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(bucket + 1, counts.length * 2));
+        }
+        counts[bucket] += count;
+        total += count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getCount(int bucket) {
+        return bucket < counts.length ? Math.max(0, counts[bucket]) : 0;
+    }
+
+    /**
+     * Number of entries in buckets strictly above the bucket of score
+     */
+    public long countAboveBucket(long score) {
+        long above = 0;
+        for (int i = bucketOf(score) + 1; i < counts.length; i++) {
+            above += Math.max(0, counts[i]);
+        }
+        return above;
+    }
+
+    /**
+     * Best-effort rank of a score: entries in higher buckets, plus the share of its own bucket
+     * above it assuming scores are spread evenly within the bucket. Exact for scores below 64.
+     */
+    public long estimateRank(long score) {
+        int bucket = bucketOf(score);
+        long inBucket = getCount(bucket);
+        long lower = lowerBound(bucket);
+        long width = upperBound(bucket) - lower + 1;
+        long aboveInBucket = width <= 1 ? 0
+                : Math.round((double) inBucket * (upperBound(bucket) - score) / width);
+        return 1 + countAboveBucket(score) + aboveInBucket;
+    }
+
+    /**
+     * Share of entries with a high score at or below score, 0-100
+     */
+    public double percentile(long score) {
+        if (total <= 0) {
+            return 100.0;
+        }
+        return 100.0 * (total - (estimateRank(score) - 1)) / total;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.Database;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saves scores to a Database. Each score is one ScoreUpdate: the history entry under its scoreId
+ * (or a fresh push key) and, when the score raises the user's high score, the leaderboard node and histogram
+ * increments, written together.
+ * The write is conditional: the database rules only accept a new highScore whose previousHighScore
+ * matches the stored one, so a stale known high score (another device wrote meanwhile) rejects the
+ * whole write, and it is retried after re-reading the node, up to MAX_WRITE_ATTEMPTS times.
+ * The high score of each user and game is read once and then cached. Thread-safe.
+ */
+public class ScoreRepository {
+
+    public static final int MAX_WRITE_ATTEMPTS = 5;
+
+    // Known to have no leaderboard entry yet
+    private static final long NO_HIGH_SCORE = Long.MIN_VALUE;
+
+    private final Database database;
+    // Last high score seen committed, per userId/gameName
+    private final Map<String, Long> knownHighScores = new ConcurrentHashMap<>();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public ScoreRepository(Database database) {
+        this.database = database;
+    }
+
+    /**
+     * Save a score
+     * @param callback May be null
+     */
+    public void save(ScoreSubmission submission, DataCallback<Void> callback) {
+        String scoreId = submission.scoreId != null ? submission.scoreId
+                : newScoreId(submission.userId, submission.gameName);
+        Map<String, Object> scoreData = ScoreUpdate.historyEntry(submission.score, submission.timestamp,
+                submission.displayName, submission.replay, submission.replayDigest);
+        commit(submission, ScoreUpdate.scorePath(submission.userId, submission.gameName, scoreId), scoreData, 1,
+                callback);
+    }
+
+    /**
+     * A new history key for a ScoreSubmission, generated on the client without a round trip
+     */
+    public String newScoreId(String userId, String gameName) {
+        return database.push(ScoreUpdate.SCORES_REF + "/" + userId + "/" + gameName);
+    }
+
+    private void commit(ScoreSubmission submission, String historyPath, Map<String, Object> scoreData,
+                        int attempt, DataCallback<Void> callback) {
+        String cacheKey = submission.userId + "/" + submission.gameName;
+        Long knownHighScore = knownHighScores.get(cacheKey);
+        if (knownHighScore == null) {
+            // Unknown high score: one read, the same extra round trip a cold transaction would cost
+            database.get(ScoreUpdate.leaderboardPath(submission.gameName, submission.userId) + "/highScore",
+                    new DataCallback<Object>() {
+                        @Override
+                        public void onSuccess(Object highScore) {
+                            knownHighScores.put(cacheKey,
+                                    highScore instanceof Number ? ((Number) highScore).longValue() : NO_HIGH_SCORE);
+                            commit(submission, historyPath, scoreData, attempt, callback);
+                        }
+
+                        @Override
+                        public void onError(String errorMessage) {
+                            fail(callback, errorMessage);
+                        }
+                    });
+            return;
+        }
+
+        Long previousHighScore = knownHighScore == NO_HIGH_SCORE ? null : knownHighScore;
+        boolean raisesHighScore = ScoreUpdate.raisesHighScore(previousHighScore, submission.score);
+        Map<String, Object> updates = ScoreUpdate.build(submission.userId, submission.gameName, historyPath,
+                scoreData, previousHighScore, database::increment);
+
+        database.update(updates, new DataCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                if (raisesHighScore) {
+                    knownHighScores.put(cacheKey, submission.score);
+                }
+                if (callback != null) {
+                    callback.onSuccess(null);
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (!raisesHighScore || attempt >= MAX_WRITE_ATTEMPTS) {
+                    fail(callback, errorMessage);
+                    return;
+                }
+                // Nothing was written; re-read the high score and try again
+                knownHighScores.remove(cacheKey);
+                retries.incrementAndGet();
+                commit(submission, historyPath, scoreData, attempt + 1, callback);
+            }
+        });
+    }
+
+    private void fail(DataCallback<Void> callback, String errorMessage) {
+        failures.incrementAndGet();
+        if (callback != null) {
+            callback.onError(errorMessage);
+        }
+    }
+
+    /**
+     * Attempts after the first, across all saves
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Saves that failed
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.gamehub_m.core.leaderboard;
+
+/**
+ * One score to save for a user, with the replay that produced it
+ */
+public class ScoreSubmission {
+    public final String userId;
+    public final String displayName;
+    public final String gameName;
+    public final long score;
+    public final long timestamp;
+    // Base64 encoded Replay that produced the score and its ReplaySigner digest, or both null
+    public final String replay;
+    public final String replayDigest;
+    // History key chosen before the first attempt, so a retried save rewrites its own entry; null for a
+    // fresh key per save
+    public final String scoreId;
+
+    public ScoreSubmission(String userId, String displayName, String gameName, long score, long timestamp,
+                           String replay, String replayDigest) {
+        this(userId, displayName, gameName, score, timestamp, replay, replayDigest, null);
+    }
+
+    public ScoreSubmission(String userId, String displayName, String gameName, long score, long timestamp,
+                           String replay, String replayDigest, String scoreId) {
+        this.userId = userId;
+        this.displayName = displayName;
+        this.gameName = gameName;
+        this.score = score;
+        this.timestamp = timestamp;
+        this.replay = replay;
+        this.replayDigest = replayDigest;
+        this.scoreId = scoreId;
+    }
+}
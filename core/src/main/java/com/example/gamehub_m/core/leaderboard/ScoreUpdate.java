@@ -0,0 +1,99 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The multi-path update that saves one score: the history entry at scores/{userId}/{gameName}/{scoreId}
+ * and, when the score raises the user's high score, the leaderboard node (with previousHighScore,
+ * which the database rules compare against the stored high score) plus the histogram increments
+ * under leaderboardStats/{gameName}. Free of Firebase types, so ScoreManager, the simulator's
+ * backends and plain JVM tests all send the same write.
+ */
+public final class ScoreUpdate {
+
+    public static final String SCORES_REF = "scores";
+    public static final String LEADERBOARD_REF = "leaderboard";
+    public static final String STATS_REF = "leaderboardStats";
+    public static final String REPLAY_KEY = "replay";
+    public static final String REPLAY_DIGEST_KEY = "replayDigest";
+
+    private ScoreUpdate() {
+    }
+
+    /**
+     * The history entry of a score
+     * @param replay Encoded replay, or null to save the score without one
+     */
+    public static Map<String, Object> historyEntry(long score, long timestamp, String displayName,
+                                                   String replay, String replayDigest) {
+        Map<String, Object> scoreData = new HashMap<>();
+        scoreData.put("score", score);
+        scoreData.put("timestamp", timestamp);
+        scoreData.put("displayName", displayName);
+        putReplay(scoreData, replay, replayDigest);
+        return scoreData;
+    }
+
+    /**
+     * Build the update for a history entry made by historyEntry().
+     * @param previousHighScore The user's stored high score as last seen, null if there is none
+     * @param increment How the backend spells a server-side increment
+     */
+    public static Map<String, Object> build(String userId, String gameName, String historyPath,
+                                            Map<String, Object> scoreData, Long previousHighScore,
+                                            Increment increment) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(historyPath, scoreData);
+
+        long score = ((Number) scoreData.get("score")).longValue();
+        Map<String, Object> leaderboardData = HighScoreMerge.mergeHighScore(previousHighScore, userId,
+                (String) scoreData.get("displayName"), score, ((Number) scoreData.get("timestamp")).longValue());
+        if (leaderboardData == null) {
+            return updates;
+        }
+        if (previousHighScore != null) {
+            leaderboardData.put("previousHighScore", previousHighScore);
+        }
+        // The replay behind the high score, for offline verification
+        putReplay(leaderboardData, (String) scoreData.get(REPLAY_KEY), (String) scoreData.get(REPLAY_DIGEST_KEY));
+        updates.put(leaderboardPath(gameName, userId), leaderboardData);
+        for (Map.Entry<String, Long> delta : ScoreHistogram.deltas(previousHighScore, score).entrySet()) {
+            updates.put(statsPath(gameName) + "/" + delta.getKey(), increment.of(delta.getValue()));
+        }
+        return updates;
+    }
+
+    /**
+     * Whether build() includes the leaderboard node, i.e. a successful write makes score the high score
+     */
+    public static boolean raisesHighScore(Long previousHighScore, long score) {
+        return previousHighScore == null || previousHighScore < score;
+    }
+
+    public static String scorePath(String userId, String gameName, String scoreId) {
+        return SCORES_REF + "/" + userId + "/" + gameName + "/" + scoreId;
+    }
+
+    public static String leaderboardPath(String gameName, String userId) {
+        return LEADERBOARD_REF + "/" + gameName + "/" + userId;
+    }
+
+    public static String statsPath(String gameName) {
+        return STATS_REF + "/" + gameName;
+    }
+
+    private static void putReplay(Map<String, Object> data, String replay, String replayDigest) {
+        if (replay != null) {
+            data.put(REPLAY_KEY, replay);
+            data.put(REPLAY_DIGEST_KEY, replayDigest);
+        }
+    }
+
+    /**
+     * A server-side increment by delta, e.g. ServerValue.increment in the Android SDK
+     */
+    public interface Increment {
+        Object of(long delta);
+    }
+}
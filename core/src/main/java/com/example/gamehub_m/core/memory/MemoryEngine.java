@@ -0,0 +1,101 @@
+package com.example.gamehub_m.core.memory;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Memory (Simon) game state: the pattern grows by one random color per round and the player
+ * repeats it from the beginning.
+ * The pattern is packed 2 bits per color into a growable byte array, and input is checked against
+ * it by position, so a tap costs the same at round 5 as at round 5000 and nothing is boxed.
+ */
+public class MemoryEngine {
+
+    public static final int COLORS = 4;
+
+    public static final int MISMATCH = -1;
+    public static final int INCOMPLETE = 0;
+    public static final int COMPLETE = 1;
+
+    private static final int COLORS_PER_BYTE = 4;
+    private static final int INITIAL_CAPACITY = 16; // Bytes, 64 colors
+
+    private final Random random;
+    private byte[] packed = new byte[INITIAL_CAPACITY];
+    private int length = 0;
+    // Index of the next color the player has to enter
+    private int inputPosition = 0;
+
+    public MemoryEngine(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Forget the pattern
+     */
+    public void reset() {
+        length = 0;
+        inputPosition = 0;
+    }
+
+    /**
+     * Start the next round: append a random color and expect the pattern from the beginning
+     * @return The appended color
+     */
+    public int nextRound() {
+        int color = random.nextInt(COLORS);
+        append(color);
+        inputPosition = 0;
+        return color;
+    }
+
+    /**
+     * Append a known color, e.g. when replaying a recorded game
+     */
+    public void append(int color) {
+        int index = length >> 2;
+        if (index == packed.length) {
+            packed = Arrays.copyOf(packed, packed.length * 2);
+        }
+        int shift = (length & (COLORS_PER_BYTE - 1)) << 1;
+        packed[index] = (byte) ((packed[index] & ~(3 << shift)) | (color << shift));
+        length++;
+    }
+
+    /**
+     * Check the player's next tap
+     * @return MISMATCH, INCOMPLETE (correct so far) or COMPLETE (whole pattern repeated)
+     */
+    public int submit(int color) {
+        if (inputPosition >= length || colorAt(inputPosition) != color) {
+            return MISMATCH;
+        }
+        inputPosition++;
+        return inputPosition == length ? COMPLETE : INCOMPLETE;
+    }
+
+    /**
+     * Start repeating the current pattern again from the beginning
+     */
+    public void restartInput() {
+        inputPosition = 0;
+    }
+
+    public int colorAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return (packed[index >> 2] >> ((index & (COLORS_PER_BYTE - 1)) << 1)) & 3;
+    }
+
+    /**
+     * Number of colors in the pattern, i.e. the current round
+     */
+    public int length() {
+        return length;
+    }
+
+    public int getInputPosition() {
+        return inputPosition;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.gamehub_m.core.memory;
+
+import com.example.gamehub_m.core.engine.GameEngine;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+
+import java.util.Random;
+
+/**
+ * Memory as a GameEngine. Each round waits ROUND_DELAY_MILLIS, shows the pattern on the
+ * PlaybackTiming schedule, then takes the player's taps; a completed pattern starts the next round
+ * after NEXT_ROUND_DELAY_MILLIS, a wrong tap ends the game. Tapped colors light up for
+ * TAP_FLASH_MILLIS. Inputs are colors; the score is the number of patterns completed.
+ */
+public class MemoryGame implements GameEngine {
+
+    public static final long ROUND_DELAY_MILLIS = 500;
+    public static final long NEXT_ROUND_DELAY_MILLIS = 1000;
+    public static final long TAP_FLASH_MILLIS = 300;
+
+    public static final int WATCHING = 0;
+    public static final int REPEATING = 1;
+    public static final int ROUND_WON = 2;
+    public static final int OVER = 3;
+
+    private final PlaybackTiming timing;
+    private final long[] tapFlashUntil = new long[MemoryEngine.COLORS];
+    private MemoryEngine engine;
+    private ReplayRecorder recorder;
+    private int phase = OVER;
+    // Start of the current phase; playback starts ROUND_DELAY_MILLIS after it
+    private long phaseStart;
+    private int nextEvent;
+    private int shownColor = -1;
+    private long now;
+    private long score;
+
+    public MemoryGame(PlaybackTiming timing) {
+        this.timing = timing;
+    }
+
+    /**
+     * Record every tap, as MemoryReplayGame replays them
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void start(Random random, long nowMillis) {
+        engine = new MemoryEngine(random);
+        score = 0;
+        now = nowMillis;
+        for (int color = 0; color < MemoryEngine.COLORS; color++) {
+            tapFlashUntil[color] = 0;
+        }
+        nextRound(nowMillis);
+    }
+
+    private void nextRound(long nowMillis) {
+        engine.nextRound();
+        phase = WATCHING;
+        restartPlayback(nowMillis);
+    }
+
+    /**
+     * Show the pattern again from the start, after the usual delay, e.g. when the screen comes back;
+     * does nothing unless the pattern is being shown
+     */
+    public void restartPlayback(long nowMillis) {
+        if (phase != WATCHING) {
+            return;
+        }
+        phaseStart = nowMillis;
+        nextEvent = 0;
+        shownColor = -1;
+    }
+
+    @Override
+    public boolean acceptsInput() {
+        return phase == REPEATING;
+    }
+
+    @Override
+    public void input(int color, long nowMillis) {
+        if (phase != REPEATING) {
+            throw new IllegalArgumentException("Tap while not repeating the pattern");
+        }
+        if (color < 0 || color >= MemoryEngine.COLORS) {
+            throw new IllegalArgumentException("Unknown color: " + color);
+        }
+        now = nowMillis;
+        if (recorder != null) {
+            recorder.record(color);
+        }
+        tapFlashUntil[color] = nowMillis + TAP_FLASH_MILLIS;
+        int check = engine.submit(color);
+        if (check == MemoryEngine.MISMATCH) {
+            phase = OVER;
+        } else if (check == MemoryEngine.COMPLETE) {
+            score++;
+            phase = ROUND_WON;
+            phaseStart = nowMillis;
+        }
+    }
+
+    @Override
+    public long tick(long nowMillis) {
+        now = nowMillis;
+        if (phase == ROUND_WON && nowMillis >= phaseStart + NEXT_ROUND_DELAY_MILLIS) {
+            nextRound(nowMillis);
+        }
+        int length = engine.length();
+        long playbackStart = phaseStart + ROUND_DELAY_MILLIS;
+        // Catch up on every event that is due, if the tick came late
+        while (phase == WATCHING && playbackStart + timing.eventOffset(nextEvent, length) <= nowMillis) {
+            int event = nextEvent++;
+            if (PlaybackTiming.isFinish(event, length)) {
+                shownColor = -1;
+                phase = REPEATING;
+            } else {
+                shownColor = PlaybackTiming.isFlashOn(event) ? engine.colorAt(PlaybackTiming.colorIndex(event)) : -1;
+            }
+        }
+
+        long deadline = NO_TICK;
+        if (phase == WATCHING) {
+            deadline = playbackStart + timing.eventOffset(nextEvent, length);
+        } else if (phase == ROUND_WON) {
+            deadline = phaseStart + NEXT_ROUND_DELAY_MILLIS;
+        }
+        for (long until : tapFlashUntil) {
+            if (until > nowMillis) {
+                deadline = Math.min(deadline, until);
+            }
+        }
+        return deadline;
+    }
+
+    /**
+     * Whether a color is lit, as of the last tick or input: flashed by the pattern or just tapped
+     */
+    public boolean isLit(int color) {
+        return color == shownColor || tapFlashUntil[color] > now;
+    }
+
+    /**
+     * WATCHING, REPEATING, ROUND_WON or OVER
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    public MemoryEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public long getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean isOver() {
+        return phase == OVER;
+    }
+}
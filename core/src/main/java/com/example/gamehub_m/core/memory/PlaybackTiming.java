@@ -0,0 +1,76 @@
+package com.example.gamehub_m.core.memory;
+
+/**
+ * When each flash of a Memory pattern playback happens.
+ * A pattern of length n is played as 2n + 1 events: color i lights up at i * step, goes dark at
+ * i * step + flash, and playback finishes at n * step. Step and flash shrink geometrically per round
+ * down to a floor, so later rounds play faster.
+ */
+public class PlaybackTiming {
+
+    private final long stepMillis;
+    private final long flashMillis;
+    private final double speedUpPerRound;
+    private final long minStepMillis;
+
+    /**
+     * @param speedUpPerRound Factor applied to step and flash per round after the first, e.g. 0.96
+     * @param minStepMillis Step never gets shorter than this; flash keeps its ratio to step
+     */
+    public PlaybackTiming(long stepMillis, long flashMillis, double speedUpPerRound, long minStepMillis) {
+        this.stepMillis = stepMillis;
+        this.flashMillis = flashMillis;
+        this.speedUpPerRound = speedUpPerRound;
+        this.minStepMillis = Math.min(minStepMillis, stepMillis);
+    }
+
+    /**
+     * The same speed every round
+     */
+    public static PlaybackTiming constant(long stepMillis, long flashMillis) {
+        return new PlaybackTiming(stepMillis, flashMillis, 1.0, stepMillis);
+    }
+
+    public long stepMillis(int round) {
+        double step = stepMillis * Math.pow(speedUpPerRound, Math.max(0, round - 1));
+        return Math.max(minStepMillis, Math.round(step));
+    }
+
+    public long flashMillis(int round) {
+        return Math.round((double) flashMillis * stepMillis(round) / stepMillis);
+    }
+
+    public static int eventCount(int length) {
+        return 2 * length + 1;
+    }
+
+    /**
+     * Time of an event from the start of playback
+     */
+    public long eventOffset(int event, int round) {
+        long offset = (event >> 1) * stepMillis(round);
+        return (event & 1) == 0 ? offset : offset + flashMillis(round);
+    }
+
+    public static boolean isFinish(int event, int length) {
+        return event == 2 * length;
+    }
+
+    /**
+     * Color index of a flash event
+     */
+    public static int colorIndex(int event) {
+        return event >> 1;
+    }
+
+    public static boolean isFlashOn(int event) {
+        return (event & 1) == 0;
+    }
+
+    /**
+     * Length of the whole playback of a round
+     */
+    public long totalMillis(int length, int round) {
+        return length * stepMillis(round);
+    }
+}
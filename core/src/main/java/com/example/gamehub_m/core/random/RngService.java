@@ -0,0 +1,61 @@
+package com.example.gamehub_m.core.random;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands every game its own random stream, all derived from one session seed.
+ * The n-th stream a game asks for in a session is seeded with streamSeed(sessionSeed, game, n), so
+ * recording the session seed (or a stream's getSeed()) is enough to replay a game exactly, and
+ * tests and benchmarks can start a session with a fixed seed.
+ */
+public class RngService {
+
+    private static RngService instance;
+
+    private long sessionSeed;
+    // Streams handed out per game in this session
+    private final Map<String, Integer> streamCounts = new HashMap<>();
+
+    public RngService(long sessionSeed) {
+        this.sessionSeed = sessionSeed;
+    }
+
+    /**
+     * The process-wide service, seeded from the clock until startSession is called
+     */
+    public static synchronized RngService getInstance() {
+        if (instance == null) {
+            instance = new RngService(SplitMix64.mix(System.nanoTime() ^ System.currentTimeMillis()));
+        }
+        return instance;
+    }
+
+    /**
+     * Restart stream numbering from a new session seed
+     */
+    public synchronized void startSession(long sessionSeed) {
+        this.sessionSeed = sessionSeed;
+        streamCounts.clear();
+    }
+
+    public synchronized long getSessionSeed() {
+        return sessionSeed;
+    }
+
+    /**
+     * The next stream for a game, e.g. "Memory"
+     */
+    public synchronized Xoshiro256Random stream(String gameName) {
+        Integer count = streamCounts.get(gameName);
+        int index = count == null ? 0 : count;
+        streamCounts.put(gameName, index + 1);
+        return new Xoshiro256Random(streamSeed(sessionSeed, gameName, index));
+    }
+
+    public static long streamSeed(long sessionSeed, String gameName, int index) {
+        // String.hashCode is specified, so seeds are stable across runs and devices
+        long gameSeed = SplitMix64.mix(sessionSeed + SplitMix64.GOLDEN_GAMMA * gameName.hashCode());
+        return SplitMix64.mix(gameSeed + SplitMix64.GOLDEN_GAMMA * (index + 1L));
+    }
+}
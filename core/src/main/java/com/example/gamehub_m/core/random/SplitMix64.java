@@ -0,0 +1,30 @@
+package com.example.gamehub_m.core.random;
+
+/**
+ * SplitMix64 (Steele, Lea and Flood): a 64-bit counter passed through a strong mixing function.
+ * Used to expand one seed into generator state and to derive independent stream seeds.
+ */
+public final class SplitMix64 {
+
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * The SplitMix64 output function; a bijection on longs
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
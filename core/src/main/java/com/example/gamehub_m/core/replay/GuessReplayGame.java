@@ -0,0 +1,43 @@
+package com.example.gamehub_m.core.replay;
+
+import com.example.gamehub_m.core.guess.GuessDifficulty;
+import com.example.gamehub_m.core.guess.GuessEngine;
+
+import java.util.Random;
+
+/**
+ * Guess the number, played by GuessEngine with the adaptive difficulty of the app. Events are the
+ * guessed numbers; every adaptive range fits in an int.
+ */
+public class GuessReplayGame implements ReplayGame {
+
+    private GuessEngine engine;
+
+    @Override
+    public void start(Random random) {
+        engine = new GuessEngine(random, GuessDifficulty.adaptive());
+        engine.newGame();
+    }
+
+    @Override
+    public void apply(int guess) {
+        if (engine.isOver()) {
+            throw new IllegalArgumentException("Guess after the game ended");
+        }
+        if (guess < 0) {
+            throw new IllegalArgumentException("Negative guess: " + guess);
+        }
+        // Out-of-range guesses throw IllegalArgumentException themselves
+        engine.guess(guess);
+    }
+
+    @Override
+    public long getScore() {
+        return engine.getScore();
+    }
+
+    @Override
+    public boolean provesScore() {
+        return true;
+    }
+}
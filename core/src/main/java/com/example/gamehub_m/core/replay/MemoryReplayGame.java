@@ -0,0 +1,51 @@
+package com.example.gamehub_m.core.replay;
+
+import com.example.gamehub_m.core.memory.MemoryEngine;
+
+import java.util.Random;
+
+/**
+ * Memory: the score is the number of patterns repeated completely. Events are the tapped colors;
+ * a wrong tap ends the game.
+ */
+public class MemoryReplayGame implements ReplayGame {
+
+    private MemoryEngine engine;
+    private boolean over;
+    private long score;
+
+    @Override
+    public void start(Random random) {
+        engine = new MemoryEngine(random);
+        engine.nextRound();
+        over = false;
+        score = 0;
+    }
+
+    @Override
+    public void apply(int color) {
+        if (over) {
+            throw new IllegalArgumentException("Tap after the game ended");
+        }
+        if (color < 0 || color >= MemoryEngine.COLORS) {
+            throw new IllegalArgumentException("Unknown color: " + color);
+        }
+        int check = engine.submit(color);
+        if (check == MemoryEngine.MISMATCH) {
+            over = true;
+        } else if (check == MemoryEngine.COMPLETE) {
+            score++;
+            engine.nextRound();
+        }
+    }
+
+    @Override
+    public long getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean provesScore() {
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.gamehub_m.core.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A recorded game: the seed of the game's random stream plus every input event in order.
+ * Events are non-negative ints whose meaning is defined by the game's ReplayGame, stored as
+ * unsigned LEB128 varints, so the usual small events (a color, a cell, a guess) take one byte.
+ * Immutable; create with ReplayRecorder.
+ */
+public final class Replay {
+
+    private static final int FORMAT_VERSION = 1;
+    // Far above any replay the database accepts (16384 Base64 characters)
+    private static final int MAX_EVENT_BYTES = 1 << 20;
+
+    private final String gameName;
+    private final long seed;
+    private final byte[] events;
+    private final int eventCount;
+
+    Replay(String gameName, long seed, byte[] events, int eventCount) {
+        this.gameName = gameName;
+        this.seed = seed;
+        this.events = events;
+        this.eventCount = eventCount;
+    }
+
+    public String getGameName() {
+        return gameName;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Size of the encoded events
+     */
+    public int getEventBytes() {
+        return events.length;
+    }
+
+    public Reader reader() {
+        return new Reader(events);
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(gameName);
+        out.writeLong(seed);
+        out.writeInt(eventCount);
+        out.writeInt(events.length);
+        out.write(events);
+    }
+
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + events.length);
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Not thrown by in-memory streams
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Replay fromByteArray(byte[] data) throws IOException {
+        return readFrom(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    public static Replay readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported replay format: " + version);
+        }
+        String gameName = in.readUTF();
+        long seed = in.readLong();
+        int eventCount = in.readInt();
+        int length = in.readInt();
+        // Both counts are untrusted; bound them before allocating
+        if (eventCount < 0 || length < eventCount || length > MAX_EVENT_BYTES
+                || length > (long) eventCount * Varint.MAX_BYTES) {
+            throw new IOException("Corrupt replay: " + eventCount + " events in " + length + " bytes");
+        }
+        byte[] events = new byte[length];
+        in.readFully(events);
+        return new Replay(gameName, seed, events, eventCount);
+    }
+
+    /**
+     * Decodes the events of a replay one at a time
+     */
+    public static final class Reader {
+
+        private final byte[] events;
+        private int position = 0;
+
+        private Reader(byte[] events) {
+            this.events = events;
+        }
+
+        public boolean hasNext() {
+            return position < events.length;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the events end inside a varint
+         */
+        public int next() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (position >= events.length) {
+                    throw new IllegalArgumentException("Truncated replay event");
+                }
+                byte b = events[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Replay event longer than " + Varint.MAX_BYTES + " bytes");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.gamehub_m.core.replay;
+
+import java.util.Random;
+
+/**
+ * The rules of one game, reduced to what is needed to re-run a Replay without a UI.
+ */
+public interface ReplayGame {
+
+    /**
+     * Start the game with the random stream it was recorded with
+     */
+    void start(Random random);
+
+    /**
+     * Play one recorded event
+     * @throws IllegalArgumentException if the event could not have happened at this point
+     */
+    void apply(int event);
+
+    /**
+     * The score the game would submit now
+     */
+    long getScore();
+
+    /**
+     * Whether replaying proves the score: false when the replay carries opponent moves that cannot be
+     * re-derived and are only checked for legality, so a forged replay can reach any score
+     */
+    boolean provesScore();
+}
@@ -0,0 +1,72 @@
+package com.example.gamehub_m.core.replay;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sizes of stored replays in least-recently-used order, evicting the oldest once the total
+ * exceeds a byte budget. Not thread-safe.
+ */
+public class ReplayIndex {
+
+    private final long maxBytes;
+    // Access order: iteration starts at the least recently used replay
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    public ReplayIndex(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Add (or replace) a replay as the most recently used one
+     * @return The replays evicted to stay within the budget, oldest first; never id itself
+     */
+    public List<String> put(String id, long bytes) {
+        Long previous = sizes.put(id, bytes);
+        totalBytes += bytes - (previous == null ? 0 : previous);
+
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> it = sizes.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(id)) {
+                break;
+            }
+            totalBytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+            it.remove();
+        }
+        return evicted;
+    }
+
+    /**
+     * Mark a replay as used
+     * @return false if the replay is not in the index
+     */
+    public boolean touch(String id) {
+        return sizes.get(id) != null;
+    }
+
+    public void remove(String id) {
+        Long size = sizes.remove(id);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    public boolean contains(String id) {
+        return sizes.containsKey(id);
+    }
+
+    public int size() {
+        return sizes.size();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+}
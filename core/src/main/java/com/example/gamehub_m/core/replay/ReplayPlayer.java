@@ -0,0 +1,49 @@
+package com.example.gamehub_m.core.replay;
+
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+
+/**
+ * Re-runs replays headlessly, as fast as the rules allow.
+ */
+public final class ReplayPlayer {
+
+    private ReplayPlayer() {
+    }
+
+    /**
+     * The rules of a game by its leaderboard name
+     * @throws IllegalArgumentException for a game without replay rules
+     */
+    public static ReplayGame newGame(String gameName) {
+        switch (gameName) {
+            case "Guess": return new GuessReplayGame();
+            case "Memory": return new MemoryReplayGame();
+            case "RPS": return new RpsReplayGame();
+            case "TicTacToe": return new TicTacToeReplayGame();
+            default: throw new IllegalArgumentException("No replay rules for " + gameName);
+        }
+    }
+
+    /**
+     * Play a replay from its seed through all of its events
+     * @return The score at the end of the replay
+     * @throws IllegalArgumentException if the replay contains an event its game does not allow
+     */
+    public static long play(Replay replay) {
+        return play(replay, newGame(replay.getGameName()));
+    }
+
+    /**
+     * Play a replay with the rules of game, which is left in its final state
+     * @return The score at the end of the replay
+     * @throws IllegalArgumentException if the replay contains an event its game does not allow
+     */
+    public static long play(Replay replay, ReplayGame game) {
+        game.start(new Xoshiro256Random(replay.getSeed()));
+        Replay.Reader events = replay.reader();
+        while (events.hasNext()) {
+            game.apply(events.next());
+        }
+        return game.getScore();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.gamehub_m.core.replay;
+
+import java.util.Arrays;
+
+/**
+ * Records the input events of one game as it is played.
+ * Recording an event only writes its varint into a growable byte array.
+ */
+public class ReplayRecorder {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String gameName;
+    private long seed;
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int size = 0;
+    private int eventCount = 0;
+
+    public ReplayRecorder(String gameName) {
+        this.gameName = gameName;
+    }
+
+    /**
+     * Drop the recorded events and start recording a game played with a stream seeded with seed
+     */
+    public void start(long seed) {
+        this.seed = seed;
+        size = 0;
+        eventCount = 0;
+    }
+
+    public void record(int event) {
+        if (event < 0) {
+            throw new IllegalArgumentException("Replay events must not be negative: " + event);
+        }
+        if (size + Varint.MAX_BYTES > buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        size = Varint.write(buffer, size, event);
+        eventCount++;
+    }
+
+    public String getGameName() {
+        return gameName;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * The events recorded so far; recording can continue afterwards
+     */
+    public Replay toReplay() {
+        return new Replay(gameName, seed, Arrays.copyOf(buffer, size), eventCount);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.gamehub_m.core.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Digest binding a submitted score to the replay that produced it: HMAC-SHA256 over the user,
+ * the score and the encoded replay, truncated to DIGEST_BYTES and written as hex.
+ * The key ships with the app, so the digest only proves that a submission was not edited after
+ * signing; re-simulating the replay is what shows that the score was earned.
+ * Not thread-safe; use one signer per thread.
+ */
+public class ReplaySigner {
+
+    public static final int DIGEST_BYTES = 16;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Mac mac;
+
+    public ReplaySigner(byte[] key) {
+        try {
+            mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+    }
+
+    public String sign(String userId, long score, byte[] replay) {
+        byte[] digest = digest(userId, score, replay);
+        char[] hex = new char[DIGEST_BYTES * 2];
+        for (int i = 0; i < DIGEST_BYTES; i++) {
+            hex[2 * i] = HEX[(digest[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    public boolean verify(String userId, long score, byte[] replay, String signature) {
+        if (signature == null || signature.length() != DIGEST_BYTES * 2) {
+            return false;
+        }
+        byte[] expected = new byte[DIGEST_BYTES];
+        for (int i = 0; i < DIGEST_BYTES; i++) {
+            int high = Character.digit(signature.charAt(2 * i), 16);
+            int low = Character.digit(signature.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            expected[i] = (byte) ((high << 4) | low);
+        }
+        byte[] digest = digest(userId, score, replay);
+        byte[] actual = new byte[DIGEST_BYTES];
+        System.arraycopy(digest, 0, actual, 0, DIGEST_BYTES);
+        // Constant time, so response timing does not leak how much of a guess was right
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private byte[] digest(String userId, long score, byte[] replay) {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(header);
+            out.writeUTF(userId);
+            out.writeLong(score);
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Not thrown by in-memory streams
+        }
+        mac.update(header.toByteArray());
+        return mac.doFinal(replay);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.gamehub_m.core.replay;
+
+import com.example.gamehub_m.core.games.RpsRules;
+
+import java.util.Random;
+
+/**
+ * Rock paper scissors: the score is the number of rounds the player won.
+ * The CPU's moves come from a model learned across sessions, so they cannot be re-derived from
+ * the seed; each event records both moves of a round, see event(). Any pair of moves is legal, so
+ * a replay does not prove its score.
+ */
+public class RpsReplayGame implements ReplayGame {
+
+    private long score;
+
+    public static int event(int playerMove, int cpuMove) {
+        return playerMove * RpsRules.MOVES + cpuMove;
+    }
+
+    @Override
+    public void start(Random random) {
+        score = 0;
+    }
+
+    @Override
+    public void apply(int event) {
+        if (event < 0 || event >= RpsRules.MOVES * RpsRules.MOVES) {
+            throw new IllegalArgumentException("Unknown RPS round: " + event);
+        }
+        if (RpsRules.outcome(event / RpsRules.MOVES, event % RpsRules.MOVES) == RpsRules.PLAYER_WINS) {
+            score++;
+        }
+    }
+
+    @Override
+    public long getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean provesScore() {
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.gamehub_m.core.replay;
+
+import com.example.gamehub_m.core.tictactoe.TicTacToeBoard;
+import com.example.gamehub_m.core.tictactoe.TicTacToeCpu;
+
+import java.util.Random;
+
+/**
+ * Tic-tac-toe against the CPU: the score is the number of boards the player won.
+ * Events are the cells played, the player (X) first and then alternating with the CPU, NEW_BOARD
+ * when a decided board is cleared, and difficultyEvent() whenever the difficulty is chosen.
+ * The CPU draws from the recorded stream, so its cells are re-derived from the seed and the
+ * difficulty, and a recorded CPU cell that differs is illegal. The replay uses the solver where
+ * the app looks moves up in TicTacToeMoveTable, which holds the solver's moves.
+ */
+public class TicTacToeReplayGame implements ReplayGame {
+
+    public static final int NEW_BOARD = TicTacToeBoard.CELLS;
+    // Followed by one event per difficulty, in ordinal order
+    private static final int DIFFICULTY = NEW_BOARD + 1;
+
+    private static final TicTacToeCpu.Difficulty[] DIFFICULTIES = TicTacToeCpu.Difficulty.values();
+
+    private final TicTacToeBoard board = new TicTacToeBoard();
+    private TicTacToeCpu cpu;
+    private int toMove;
+    private boolean over;
+    private long score;
+
+    public static int difficultyEvent(TicTacToeCpu.Difficulty difficulty) {
+        return DIFFICULTY + difficulty.ordinal();
+    }
+
+    @Override
+    public void start(Random random) {
+        cpu = new TicTacToeCpu(random, null);
+        score = 0;
+        newBoard();
+    }
+
+    private void newBoard() {
+        board.reset();
+        toMove = TicTacToeBoard.X;
+        over = false;
+    }
+
+    @Override
+    public void apply(int event) {
+        if (event >= DIFFICULTY && event < DIFFICULTY + DIFFICULTIES.length) {
+            cpu.setDifficulty(DIFFICULTIES[event - DIFFICULTY]);
+            return;
+        }
+        if (event == NEW_BOARD) {
+            if (!over) {
+                throw new IllegalArgumentException("New board before the board was decided");
+            }
+            newBoard();
+            return;
+        }
+        if (event < 0 || event > NEW_BOARD) {
+            throw new IllegalArgumentException("Unknown tic-tac-toe event: " + event);
+        }
+        if (over || !board.isEmpty(event)) {
+            throw new IllegalArgumentException("Illegal move: " + event);
+        }
+        if (toMove == TicTacToeBoard.O) {
+            int expected = cpu.chooseMove(board, TicTacToeBoard.O);
+            if (event != expected) {
+                throw new IllegalArgumentException("CPU played " + event + " instead of " + expected);
+            }
+        }
+        board.place(toMove, event);
+        if (board.hasWon(toMove)) {
+            over = true;
+            if (toMove == TicTacToeBoard.X) {
+                score++;
+            }
+        } else if (board.isFull()) {
+            over = true;
+        }
+        toMove = TicTacToeBoard.other(toMove);
+    }
+
+    @Override
+    public long getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean provesScore() {
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.gamehub_m.core.replay;
+
+/**
+ * Unsigned LEB128: 7 bits per byte, high bit set on every byte but the last.
+ */
+final class Varint {
+
+    static final int MAX_BYTES = 5;
+
+    private Varint() {
+    }
+
+    /**
+     * @return The position after the written bytes
+     */
+    static int write(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+}
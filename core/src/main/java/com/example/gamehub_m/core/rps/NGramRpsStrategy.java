@@ -0,0 +1,147 @@
+package com.example.gamehub_m.core.rps;
+
+import com.example.gamehub_m.core.games.RpsRules;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Predicts the player's next move from what they played after the same recent rounds before,
+ * and plays the counter. A round is encoded as one of 9 symbols (player move * 3 + CPU move),
+ * so the model also picks up reactions like "switch after losing".
+ *
+ * For every order k from 0 to MAX_ORDER the last k rounds form a context, and counts[context][move]
+ * holds how often the player followed it with move. All contexts live in one int array, indexed
+ * by the base-9 encoded history, so predicting and learning are a fixed number of array reads and
+ * writes with no allocation. The longest context seen at least MIN_OBSERVATIONS times wins; counts
+ * of a context are halved when it reaches COUNT_LIMIT so the model keeps adapting.
+ * The counts carry across sessions through writeTo and readFrom; the history does not.
+ */
+public class NGramRpsStrategy implements RpsStrategy {
+
+    public static final int MAX_ORDER = 3;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int SYMBOLS = RpsRules.MOVES * RpsRules.MOVES;
+    private static final int MIN_OBSERVATIONS = 2;
+    private static final int COUNT_LIMIT = 1 << 10;
+
+    // SYMBOLS^k, and the first context of each order
+    private static final int[] POWERS = new int[MAX_ORDER + 1];
+    private static final int[] OFFSETS = new int[MAX_ORDER + 1];
+    private static final int CONTEXTS;
+
+    static {
+        int contexts = 0;
+        int power = 1;
+        for (int order = 0; order <= MAX_ORDER; order++) {
+            POWERS[order] = power;
+            OFFSETS[order] = contexts;
+            contexts += power;
+            power *= SYMBOLS;
+        }
+        CONTEXTS = contexts;
+    }
+
+    private final Random random;
+    private final int[] counts = new int[CONTEXTS * RpsRules.MOVES];
+    private final int[] totals = new int[CONTEXTS];
+    // The last MAX_ORDER rounds in base 9, most recent in the lowest digit
+    private int history = 0;
+    private int historyLength = 0;
+
+    public NGramRpsStrategy(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Forget the rounds of the previous session; learned counts are kept
+     */
+    public void startSession() {
+        history = 0;
+        historyLength = 0;
+    }
+
+    @Override
+    public int chooseMove() {
+        int predicted = predictPlayerMove();
+        return predicted < 0 ? random.nextInt(RpsRules.MOVES) : RpsRules.counter(predicted);
+    }
+
+    /**
+     * The player's most likely next move, or -1 if nothing has been learned yet
+     */
+    public int predictPlayerMove() {
+        for (int order = Math.min(historyLength, MAX_ORDER); order >= 0; order--) {
+            int context = context(order);
+            if (totals[context] >= MIN_OBSERVATIONS) {
+                int base = context * RpsRules.MOVES;
+                int best = 0;
+                for (int move = 1; move < RpsRules.MOVES; move++) {
+                    if (counts[base + move] > counts[base + best]) {
+                        best = move;
+                    }
+                }
+                return best;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void observe(int playerMove, int cpuMove) {
+        for (int order = Math.min(historyLength, MAX_ORDER); order >= 0; order--) {
+            int context = context(order);
+            int base = context * RpsRules.MOVES;
+            counts[base + playerMove]++;
+            if (++totals[context] >= COUNT_LIMIT) {
+                totals[context] = 0;
+                for (int move = 0; move < RpsRules.MOVES; move++) {
+                    counts[base + move] >>= 1;
+                    totals[context] += counts[base + move];
+                }
+            }
+        }
+        history = (history * SYMBOLS + playerMove * RpsRules.MOVES + cpuMove) % POWERS[MAX_ORDER];
+        if (historyLength < MAX_ORDER) {
+            historyLength++;
+        }
+    }
+
+    private int context(int order) {
+        return OFFSETS[order] + history % POWERS[order];
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(MAX_ORDER);
+        for (int count : counts) {
+            out.writeInt(count);
+        }
+    }
+
+    /**
+     * Replace the learned counts with saved ones
+     */
+    public void readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported RPS model format: " + version);
+        }
+        int order = in.readInt();
+        if (order != MAX_ORDER) {
+            throw new IOException("Unsupported RPS model order: " + order);
+        }
+        int[] read = new int[counts.length];
+        for (int i = 0; i < read.length; i++) {
+            read[i] = in.readInt();
+        }
+        System.arraycopy(read, 0, counts, 0, counts.length);
+        for (int context = 0; context < CONTEXTS; context++) {
+            int base = context * RpsRules.MOVES;
+            totals[context] = counts[base] + counts[base + 1] + counts[base + 2];
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.gamehub_m.core.rps;
+
+import com.example.gamehub_m.core.games.RpsRules;
+
+import java.util.Random;
+
+/**
+ * Uniformly random moves; unbeatable in the long run but never exploits the player.
+ */
+public class RandomRpsStrategy implements RpsStrategy {
+
+    private final Random random;
+
+    public RandomRpsStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int chooseMove() {
+        return random.nextInt(RpsRules.MOVES);
+    }
+
+    @Override
+    public void observe(int playerMove, int cpuMove) {
+        // Nothing to learn
+    }
+}
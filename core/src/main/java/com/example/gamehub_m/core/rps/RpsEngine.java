@@ -0,0 +1,115 @@
+package com.example.gamehub_m.core.rps;
+
+import com.example.gamehub_m.core.games.RpsRules;
+
+/**
+ * UI-independent Rock Paper Scissors game: moves are RpsRules ints, the CPU's move comes from an
+ * RpsStrategy, and every round is recorded in a ring buffer and folded into running statistics.
+ * Playing a round allocates nothing.
+ */
+public class RpsEngine {
+
+    public static final int DEFAULT_HISTORY = 64;
+
+    private final RpsStrategy strategy;
+    private final RpsHistory history;
+
+    private int rounds = 0;
+    private int playerWins = 0;
+    private int cpuWins = 0;
+    // Positive: consecutive player wins, negative: consecutive CPU wins, 0 after a draw
+    private int streak = 0;
+    private int longestWinStreak = 0;
+    private int longestLossStreak = 0;
+    private final int[] playerMoveCounts = new int[RpsRules.MOVES];
+    private int lastCpuMove = -1;
+
+    public RpsEngine(RpsStrategy strategy) {
+        this(strategy, DEFAULT_HISTORY);
+    }
+
+    public RpsEngine(RpsStrategy strategy, int historyCapacity) {
+        this.strategy = strategy;
+        this.history = new RpsHistory(historyCapacity);
+    }
+
+    /**
+     * Play one round against the strategy's move
+     * @return RpsRules.DRAW, PLAYER_WINS or CPU_WINS
+     */
+    public int play(int playerMove) {
+        int cpuMove = strategy.chooseMove();
+        int outcome = RpsRules.outcome(playerMove, cpuMove);
+        strategy.observe(playerMove, cpuMove);
+        record(playerMove, cpuMove, outcome);
+        return outcome;
+    }
+
+    private void record(int playerMove, int cpuMove, int outcome) {
+        lastCpuMove = cpuMove;
+        history.add(playerMove, cpuMove);
+        rounds++;
+        playerMoveCounts[playerMove]++;
+        if (outcome == RpsRules.PLAYER_WINS) {
+            playerWins++;
+            streak = streak > 0 ? streak + 1 : 1;
+            longestWinStreak = Math.max(longestWinStreak, streak);
+        } else if (outcome == RpsRules.CPU_WINS) {
+            cpuWins++;
+            streak = streak < 0 ? streak - 1 : -1;
+            longestLossStreak = Math.max(longestLossStreak, -streak);
+        } else {
+            streak = 0;
+        }
+    }
+
+    public int getLastCpuMove() {
+        return lastCpuMove;
+    }
+
+    public RpsHistory getHistory() {
+        return history;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getPlayerWins() {
+        return playerWins;
+    }
+
+    public int getCpuWins() {
+        return cpuWins;
+    }
+
+    public int getDraws() {
+        return rounds - playerWins - cpuWins;
+    }
+
+    /**
+     * Share of rounds the player won, 0-1
+     */
+    public double getWinRate() {
+        return rounds == 0 ? 0 : (double) playerWins / rounds;
+    }
+
+    public int getCurrentStreak() {
+        return streak;
+    }
+
+    public int getLongestWinStreak() {
+        return longestWinStreak;
+    }
+
+    public int getLongestLossStreak() {
+        return longestLossStreak;
+    }
+
+    /**
+     * Share of rounds in which the player chose move, 0-1
+     */
+    public double getMoveFrequency(int move) {
+        return rounds == 0 ? 0 : (double) playerMoveCounts[move] / rounds;
+    }
+}
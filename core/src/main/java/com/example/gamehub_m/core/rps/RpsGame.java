@@ -0,0 +1,118 @@
+package com.example.gamehub_m.core.rps;
+
+import com.example.gamehub_m.core.engine.GameEngine;
+import com.example.gamehub_m.core.games.RpsRules;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+import com.example.gamehub_m.core.replay.RpsReplayGame;
+
+import java.util.Random;
+
+/**
+ * Rock paper scissors as a GameEngine, for a whole session: a move is revealed against the CPU's
+ * THINK_MILLIS later, and PLAY_AGAIN clears the table for the next one. The session never ends;
+ * the score is the number of rounds won. The CPU draws from its strategy's own stream, so start()
+ * ignores its random.
+ */
+public class RpsGame implements GameEngine {
+
+    public static final long THINK_MILLIS = 600;
+    public static final int PLAY_AGAIN = RpsRules.MOVES;
+
+    public static final int CHOOSING = 0;
+    public static final int THINKING = 1;
+    public static final int REVEALED = 2;
+
+    private final RpsEngine engine;
+    private ReplayRecorder recorder;
+    private int phase = CHOOSING;
+    private int playerMove = -1;
+    private int lastOutcome = RpsRules.DRAW;
+    private long revealAt;
+
+    public RpsGame(RpsEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Record both moves of every round, as RpsReplayGame replays them
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void start(Random random, long nowMillis) {
+        phase = CHOOSING;
+        playerMove = -1;
+    }
+
+    @Override
+    public boolean acceptsInput() {
+        return phase != THINKING;
+    }
+
+    @Override
+    public void input(int event, long nowMillis) {
+        if (phase == CHOOSING && event >= 0 && event < RpsRules.MOVES) {
+            playerMove = event;
+            phase = THINKING;
+            revealAt = nowMillis + THINK_MILLIS;
+        } else if (phase == REVEALED && event == PLAY_AGAIN) {
+            playerMove = -1;
+            phase = CHOOSING;
+        } else {
+            throw new IllegalArgumentException("Input " + event + " not allowed in phase " + phase);
+        }
+    }
+
+    @Override
+    public long tick(long nowMillis) {
+        if (phase != THINKING) {
+            return NO_TICK;
+        }
+        if (nowMillis < revealAt) {
+            return revealAt;
+        }
+        lastOutcome = engine.play(playerMove);
+        if (recorder != null) {
+            recorder.record(RpsReplayGame.event(playerMove, engine.getLastCpuMove()));
+        }
+        phase = REVEALED;
+        return NO_TICK;
+    }
+
+    /**
+     * CHOOSING, THINKING or REVEALED
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * The player's move of the current round, or -1 while choosing
+     */
+    public int getPlayerMove() {
+        return playerMove;
+    }
+
+    /**
+     * RpsRules outcome of the last revealed round
+     */
+    public int getLastOutcome() {
+        return lastOutcome;
+    }
+
+    public RpsEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public long getScore() {
+        return engine.getPlayerWins();
+    }
+
+    @Override
+    public boolean isOver() {
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.gamehub_m.core.rps;
+
+import com.example.gamehub_m.core.games.RpsRules;
+
+/**
+ * The most recent rounds in a fixed-size ring buffer, one byte per round
+ * (player move * 3 + CPU move). Older rounds are overwritten.
+ */
+public class RpsHistory {
+
+    private final byte[] rounds;
+    private int next = 0;
+    private int size = 0;
+
+    public RpsHistory(int capacity) {
+        rounds = new byte[capacity];
+    }
+
+    public void add(int playerMove, int cpuMove) {
+        rounds[next] = (byte) (playerMove * RpsRules.MOVES + cpuMove);
+        next = (next + 1) % rounds.length;
+        if (size < rounds.length) {
+            size++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return rounds.length;
+    }
+
+    public void clear() {
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * @param age 0 for the latest round, up to size() - 1 for the oldest kept
+     */
+    public int playerMove(int age) {
+        return round(age) / RpsRules.MOVES;
+    }
+
+    public int cpuMove(int age) {
+        return round(age) % RpsRules.MOVES;
+    }
+
+    public int outcome(int age) {
+        int round = round(age);
+        return RpsRules.outcome(round / RpsRules.MOVES, round % RpsRules.MOVES);
+    }
+
+    private int round(int age) {
+        if (age < 0 || age >= size) {
+            throw new IndexOutOfBoundsException("age " + age + ", size " + size);
+        }
+        return rounds[(next - 1 - age + rounds.length) % rounds.length];
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.gamehub_m.core.rps;
+
+/**
+ * How the CPU picks its Rock Paper Scissors move. Moves are RpsRules move indexes.
+ */
+public interface RpsStrategy {
+
+    /**
+     * The CPU's move for the next round, chosen before the player's move is known
+     */
+    int chooseMove();
+
+    /**
+     * Learn from a finished round
+     */
+    void observe(int playerMove, int cpuMove);
+}
@@ -0,0 +1,116 @@
+package com.example.gamehub_m.core.tictactoe;
+
+/**
+ * 3x3 TicTacToe board as two 9-bit masks, one per player.
+ * Cell index = row * 3 + col, bit i of a mask is set when that player owns cell i.
+ * Wins are checked against the eight line masks and empty cells are enumerated with bit
+ * operations, so no method allocates; the activity renders from this board rather than
+ * reading button text back.
+ */
+public final class TicTacToeBoard {
+
+    public static final int SIZE = 3;
+    public static final int CELLS = SIZE * SIZE;
+    public static final int FULL = (1 << CELLS) - 1;
+
+    public static final int X = 0;
+    public static final int O = 1;
+    public static final int NONE = -1;
+
+    // Rows, columns, then both diagonals
+    static final int[] LINES = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    private final int[] masks = new int[2];
+
+    public static int index(int row, int col) {
+        return row * SIZE + col;
+    }
+
+    public static int other(int player) {
+        return player ^ 1;
+    }
+
+    /**
+     * True if the mask contains a full row, column or diagonal
+     */
+    public static boolean isWin(int mask) {
+        for (int line : LINES) {
+            if ((mask & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void reset() {
+        masks[X] = 0;
+        masks[O] = 0;
+    }
+
+    /**
+     * Put player's mark on a cell
+     * @return false if the cell is already taken
+     */
+    public boolean place(int player, int cell) {
+        int bit = 1 << cell;
+        if (((masks[X] | masks[O]) & bit) != 0) {
+            return false;
+        }
+        masks[player] |= bit;
+        return true;
+    }
+
+    /**
+     * X, O or NONE
+     */
+    public int occupant(int cell) {
+        int bit = 1 << cell;
+        if ((masks[X] & bit) != 0) {
+            return X;
+        }
+        return (masks[O] & bit) != 0 ? O : NONE;
+    }
+
+    public boolean isEmpty(int cell) {
+        return ((masks[X] | masks[O]) & (1 << cell)) == 0;
+    }
+
+    public int getMask(int player) {
+        return masks[player];
+    }
+
+    public int emptyMask() {
+        return ~(masks[X] | masks[O]) & FULL;
+    }
+
+    public int emptyCount() {
+        return Integer.bitCount(emptyMask());
+    }
+
+    public int moveCount() {
+        return Integer.bitCount(masks[X] | masks[O]);
+    }
+
+    public boolean isFull() {
+        return (masks[X] | masks[O]) == FULL;
+    }
+
+    public boolean hasWon(int player) {
+        return isWin(masks[player]);
+    }
+
+    /**
+     * The n-th empty cell (0-based) in index order, or -1 if there are not that many
+     */
+    public int nthEmptyCell(int n) {
+        int empty = emptyMask();
+        for (int i = 0; i < n && empty != 0; i++) {
+            empty &= empty - 1; // Drop the lowest empty cell
+        }
+        return empty == 0 ? -1 : Integer.numberOfTrailingZeros(empty);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.gamehub_m.core.tictactoe;
+
+import java.util.Random;
+
+/**
+ * CPU opponent with selectable difficulty.
+ * EASY plays randomly, MEDIUM takes wins and blocks threats, HARD searches with the solver but
+ * slips now and then, and IMPOSSIBLE plays perfectly by looking the move up in the precomputed
+ * TicTacToeMoveTable. The table is loaded on the first IMPOSSIBLE move; until it is available
+ * (or if loading fails) the solver is used instead.
+ */
+public class TicTacToeCpu {
+
+    public enum Difficulty {
+        EASY, MEDIUM, HARD, IMPOSSIBLE
+    }
+
+    // Chance of a HARD opponent playing a MEDIUM move instead of the best one
+    private static final double HARD_SLIP_CHANCE = 0.2;
+
+    private final Random random;
+    private final TableLoader tableLoader;
+    private TicTacToeMoveTable table;
+    private boolean tableRequested = false;
+    private Difficulty difficulty = Difficulty.EASY;
+
+    public TicTacToeCpu(Random random, TableLoader tableLoader) {
+        this.random = random;
+        this.tableLoader = tableLoader;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Pick a cell for player, or -1 if the board is full
+     */
+    public int chooseMove(TicTacToeBoard board, int player) {
+        if (board.emptyCount() == 0) {
+            return -1;
+        }
+        switch (difficulty) {
+            case IMPOSSIBLE:
+                return perfectMove(board, player);
+            case HARD:
+                return random.nextDouble() < HARD_SLIP_CHANCE
+                        ? tacticalMove(board, player)
+                        : TicTacToeSolver.bestMove(board.getMask(player), board.getMask(TicTacToeBoard.other(player)));
+            case MEDIUM:
+                return tacticalMove(board, player);
+            default:
+                return randomMove(board);
+        }
+    }
+
+    private int perfectMove(TicTacToeBoard board, int player) {
+        TicTacToeMoveTable moves = getTable();
+        // The table only covers games started by X
+        boolean playerToMove = (board.moveCount() & 1) == (player == TicTacToeBoard.X ? 0 : 1);
+        if (moves != null && playerToMove) {
+            int move = moves.bestMove(board.getMask(TicTacToeBoard.X), board.getMask(TicTacToeBoard.O));
+            if (move >= 0) {
+                return move;
+            }
+        }
+        return TicTacToeSolver.bestMove(board.getMask(player), board.getMask(TicTacToeBoard.other(player)));
+    }
+
+    /**
+     * Win if possible, otherwise block the opponent's win, otherwise play randomly
+     */
+    private int tacticalMove(TicTacToeBoard board, int player) {
+        int win = completingCell(board.getMask(player), board.emptyMask());
+        if (win >= 0) {
+            return win;
+        }
+        int block = completingCell(board.getMask(TicTacToeBoard.other(player)), board.emptyMask());
+        return block >= 0 ? block : randomMove(board);
+    }
+
+    private int randomMove(TicTacToeBoard board) {
+        return board.nthEmptyCell(random.nextInt(board.emptyCount()));
+    }
+
+    /**
+     * An empty cell that completes a line for mask, or -1
+     */
+    private static int completingCell(int mask, int empty) {
+        for (int line : TicTacToeBoard.LINES) {
+            int missing = line & ~mask;
+            if (Integer.bitCount(missing) == 1 && (missing & empty) != 0) {
+                return Integer.numberOfTrailingZeros(missing);
+            }
+        }
+        return -1;
+    }
+
+    private TicTacToeMoveTable getTable() {
+        if (!tableRequested) {
+            tableRequested = true;
+            table = tableLoader != null ? tableLoader.load() : null;
+        }
+        return table;
+    }
+
+    /**
+     * Supplies the move table on first use; may return null if it is unavailable
+     */
+    public interface TableLoader {
+        TicTacToeMoveTable load();
+    }
+}
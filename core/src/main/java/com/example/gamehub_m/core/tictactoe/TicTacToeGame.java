@@ -0,0 +1,169 @@
+package com.example.gamehub_m.core.tictactoe;
+
+import com.example.gamehub_m.core.engine.GameEngine;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+import com.example.gamehub_m.core.replay.TicTacToeReplayGame;
+
+import java.util.Random;
+
+/**
+ * Tic-tac-toe against the CPU as a GameEngine, for a whole session of boards. The player (X)
+ * inputs cells; the CPU (O) answers CPU_DELAY_MILLIS later; once a board is decided NEW_BOARD
+ * clears it. The session never ends; the score is the number of boards won. The CPU draws from
+ * its own stream, so start() ignores its random.
+ */
+public class TicTacToeGame implements GameEngine {
+
+    public static final long CPU_DELAY_MILLIS = 700;
+    public static final int NEW_BOARD = TicTacToeReplayGame.NEW_BOARD;
+
+    public static final int PLAYER_TURN = 0;
+    public static final int CPU_TURN = 1;
+    public static final int BOARD_OVER = 2;
+
+    private static final int PLAYER = TicTacToeBoard.X;
+    private static final int CPU = TicTacToeBoard.O;
+
+    private final TicTacToeBoard board = new TicTacToeBoard();
+    private final TicTacToeCpu cpu;
+    private ReplayRecorder recorder;
+    private int phase = PLAYER_TURN;
+    private int winner = TicTacToeBoard.NONE;
+    private long cpuMoveAt;
+    private int playerWins = 0;
+    private int cpuWins = 0;
+
+    public TicTacToeGame(TicTacToeCpu cpu) {
+        this.cpu = cpu;
+    }
+
+    /**
+     * Record the cells of both sides, every new board and difficulty, as TicTacToeReplayGame
+     * replays them
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Change the CPU's difficulty, from its next move on. Goes through the game rather than the
+     * CPU so the replay can re-derive the CPU's moves.
+     */
+    public void setDifficulty(TicTacToeCpu.Difficulty difficulty) {
+        cpu.setDifficulty(difficulty);
+        record(TicTacToeReplayGame.difficultyEvent(difficulty));
+    }
+
+    @Override
+    public void start(Random random, long nowMillis) {
+        board.reset();
+        phase = PLAYER_TURN;
+        winner = TicTacToeBoard.NONE;
+        playerWins = 0;
+        cpuWins = 0;
+    }
+
+    @Override
+    public boolean acceptsInput() {
+        return phase != CPU_TURN;
+    }
+
+    @Override
+    public void input(int event, long nowMillis) {
+        if (event == NEW_BOARD && phase == BOARD_OVER) {
+            record(NEW_BOARD);
+            board.reset();
+            winner = TicTacToeBoard.NONE;
+            phase = PLAYER_TURN;
+            return;
+        }
+        if (phase != PLAYER_TURN || event < 0 || event >= TicTacToeBoard.CELLS || !board.isEmpty(event)) {
+            throw new IllegalArgumentException("Move " + event + " not allowed in phase " + phase);
+        }
+        move(PLAYER, event);
+        if (phase == PLAYER_TURN) {
+            phase = CPU_TURN;
+            cpuMoveAt = nowMillis + CPU_DELAY_MILLIS;
+        }
+    }
+
+    @Override
+    public long tick(long nowMillis) {
+        if (phase != CPU_TURN) {
+            return NO_TICK;
+        }
+        if (nowMillis < cpuMoveAt) {
+            return cpuMoveAt;
+        }
+        int cell = cpu.chooseMove(board, CPU);
+        if (cell >= 0) {
+            move(CPU, cell);
+        }
+        if (phase == CPU_TURN) {
+            phase = PLAYER_TURN;
+        }
+        return NO_TICK;
+    }
+
+    private void move(int player, int cell) {
+        board.place(player, cell);
+        record(cell);
+        if (board.hasWon(player)) {
+            winner = player;
+            phase = BOARD_OVER;
+            if (player == PLAYER) {
+                playerWins++;
+            } else {
+                cpuWins++;
+            }
+        } else if (board.isFull()) {
+            phase = BOARD_OVER;
+        }
+    }
+
+    private void record(int event) {
+        if (recorder != null) {
+            recorder.record(event);
+        }
+    }
+
+    /**
+     * PLAYER_TURN, CPU_TURN or BOARD_OVER
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * X or O once a board is won, NONE while playing or after a draw
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public TicTacToeBoard getBoard() {
+        return board;
+    }
+
+    public TicTacToeCpu getCpu() {
+        return cpu;
+    }
+
+    public int getPlayerWins() {
+        return playerWins;
+    }
+
+    public int getCpuWins() {
+        return cpuWins;
+    }
+
+    @Override
+    public long getScore() {
+        return playerWins;
+    }
+
+    @Override
+    public boolean isOver() {
+        return false;
+    }
+}
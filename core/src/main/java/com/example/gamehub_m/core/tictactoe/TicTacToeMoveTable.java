@@ -0,0 +1,154 @@
+package com.example.gamehub_m.core.tictactoe;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Best move for every position reachable from the empty board with X moving first,
+ * so perfect play is a constant-time lookup instead of a search.
+ * Positions are indexed by their base-3 encoding (cell i contributes 3^i for X, 2 * 3^i for O)
+ * and each holds a 4-bit cell number, 0xF for terminal or unreachable positions:
+ * 3^9 nibbles, under 10 KB. Generated at build time by main() into a raw resource.
+ */
+public final class TicTacToeMoveTable {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int POSITIONS = 19683; // 3^9
+    private static final int NO_MOVE = 0xF;
+
+    // Base-3 value of each 9-bit mask with its bits as 1-digits
+    private static final int[] TERNARY = new int[TicTacToeBoard.FULL + 1];
+
+    static {
+        for (int mask = 0; mask <= TicTacToeBoard.FULL; mask++) {
+            int value = 0;
+            int power = 1;
+            for (int cell = 0; cell < TicTacToeBoard.CELLS; cell++) {
+                if ((mask & (1 << cell)) != 0) {
+                    value += power;
+                }
+                power *= 3;
+            }
+            TERNARY[mask] = value;
+        }
+    }
+
+    private final byte[] packed;
+
+    private TicTacToeMoveTable(byte[] packed) {
+        this.packed = packed;
+    }
+
+    static int key(int xMask, int oMask) {
+        return TERNARY[xMask] + 2 * TERNARY[oMask];
+    }
+
+    /**
+     * Best cell for the side to move (X when both have played equally often), or -1 if the
+     * position is over or cannot arise in a game started by X
+     */
+    public int bestMove(int xMask, int oMask) {
+        int key = key(xMask, oMask);
+        int move = (packed[key >> 1] >> ((key & 1) << 2)) & 0xF;
+        return move == NO_MOVE ? -1 : move;
+    }
+
+    /**
+     * Number of positions with a stored move
+     */
+    public int size() {
+        int size = 0;
+        for (int key = 0; key < POSITIONS; key++) {
+            if (((packed[key >> 1] >> ((key & 1) << 2)) & 0xF) != NO_MOVE) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Solve every reachable position
+     */
+    public static TicTacToeMoveTable generate() {
+        byte[] packed = new byte[(POSITIONS + 1) / 2];
+        Arrays.fill(packed, (byte) 0xFF);
+        TicTacToeMoveTable table = new TicTacToeMoveTable(packed);
+        table.fill(0, 0, new boolean[POSITIONS]);
+        return table;
+    }
+
+    private void fill(int xMask, int oMask, boolean[] visited) {
+        int key = key(xMask, oMask);
+        if (visited[key]) {
+            return;
+        }
+        visited[key] = true;
+        boolean xToMove = Integer.bitCount(xMask) == Integer.bitCount(oMask);
+        int mine = xToMove ? xMask : oMask;
+        int theirs = xToMove ? oMask : xMask;
+        int move = TicTacToeSolver.bestMove(mine, theirs);
+        if (move < 0) {
+            return; // Won or full
+        }
+        int shift = (key & 1) << 2;
+        packed[key >> 1] = (byte) ((packed[key >> 1] & ~(0xF << shift)) | (move << shift));
+
+        int empty = ~(xMask | oMask) & TicTacToeBoard.FULL;
+        while (empty != 0) {
+            int bit = empty & -empty;
+            empty &= empty - 1;
+            if (xToMove) {
+                fill(xMask | bit, oMask, visited);
+            } else {
+                fill(xMask, oMask | bit, visited);
+            }
+        }
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(packed.length);
+        data.write(packed);
+        data.flush();
+    }
+
+    public static TicTacToeMoveTable readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int version = data.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported move table format: " + version);
+        }
+        int length = data.readInt();
+        if (length != (POSITIONS + 1) / 2) {
+            throw new IOException("Unexpected move table size: " + length);
+        }
+        byte[] packed = new byte[length];
+        data.readFully(packed);
+        return new TicTacToeMoveTable(packed);
+    }
+
+    /**
+     * Build-time entry point: writes the table to the file given as the only argument
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: TicTacToeMoveTable <output file>");
+        }
+        File output = new File(args[0]);
+        File parent = output.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(output))) {
+            generate().writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.gamehub_m.core.tictactoe;
+
+/**
+ * Negamax search with alpha-beta pruning over bitboard positions.
+ * Positions are given from the side to move: mine is the mover's mask, theirs the opponent's.
+ * Scores are positive when the mover wins; quicker wins (and slower losses) score higher.
+ */
+public final class TicTacToeSolver {
+
+    private static final int INFINITY = 100;
+
+    private TicTacToeSolver() {
+    }
+
+    /**
+     * Value of the position for the side to move under perfect play
+     */
+    public static int evaluate(int mine, int theirs) {
+        return negamax(mine, theirs, -INFINITY, INFINITY);
+    }
+
+    /**
+     * Best cell for the side to move, or -1 if the game is already over
+     */
+    public static int bestMove(int mine, int theirs) {
+        if (TicTacToeBoard.isWin(mine) || TicTacToeBoard.isWin(theirs)) {
+            return -1;
+        }
+        int best = -1;
+        int alpha = -INFINITY;
+        int empty = ~(mine | theirs) & TicTacToeBoard.FULL;
+        while (empty != 0) {
+            int bit = empty & -empty;
+            empty &= empty - 1;
+            int value = -negamax(theirs, mine | bit, -INFINITY, -alpha);
+            if (best == -1 || value > alpha) {
+                alpha = value;
+                best = Integer.numberOfTrailingZeros(bit);
+            }
+        }
+        return best;
+    }
+
+    private static int negamax(int mine, int theirs, int alpha, int beta) {
+        int empty = ~(mine | theirs) & TicTacToeBoard.FULL;
+        if (TicTacToeBoard.isWin(theirs)) {
+            // The opponent's last move won; losing earlier is worse
+            return -(1 + Integer.bitCount(empty));
+        }
+        if (empty == 0) {
+            return 0;
+        }
+        int best = -INFINITY;
+        while (empty != 0) {
+            int bit = empty & -empty;
+            empty &= empty - 1;
+            int value = -negamax(theirs, mine | bit, -beta, -alpha);
+            if (value > best) {
+                best = value;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.gamehub_m.core.db;
+
+import com.example.gamehub_m.core.engine.VirtualScheduler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the in-memory database: writes, indexed queries, listeners, transactions and
+ * injected latency and failures.
+ */
+public class MemoryDatabaseTest {
+
+    private final MemoryDatabase database = new MemoryDatabase();
+
+    private static Map<String, Object> node(String name, long score) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("name", name);
+        node.put("score", score);
+        return node;
+    }
+
+    private void put(String key, long score) {
+        database.set("board/" + key, node(key, score), null);
+    }
+
+    private List<String> keys(Query query) {
+        List<String> keys = new ArrayList<>();
+        database.query(query, new DataCallback<List<Snapshot>>() {
+            @Override
+            public void onSuccess(List<Snapshot> result) {
+                for (Snapshot snapshot : result) {
+                    keys.add(snapshot.getKey());
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                fail(errorMessage);
+            }
+        });
+        return keys;
+    }
+
+    private static <T> DataCallback<T> into(List<Object> results) {
+        return new DataCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                results.add(errorMessage);
+            }
+        };
+    }
+
+    /**
+     * Records whether another thread could use the database while the callback ran
+     */
+    private <T> DataCallback<T> unlocked(List<Object> results) {
+        return new DataCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                results.add(otherThreadCanRead());
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                results.add(otherThreadCanRead());
+            }
+        };
+    }
+
+    private boolean otherThreadCanRead() {
+        Thread reader = new Thread(() -> database.getValue("count"));
+        reader.start();
+        try {
+            reader.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !reader.isAlive();
+    }
+
+    @Test
+    public void writes_normalizeNumbersApplyIncrementsAndPruneEmptyNodes() {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("a/int", 7);
+        updates.put("a/whole", 2.0);
+        updates.put("a/half", 2.5);
+        updates.put("a/count", database.increment(3));
+        database.update(updates, null);
+        database.set("a/count", database.increment(4), null);
+
+        assertEquals(7L, database.getValue("a/int"));
+        assertEquals(2L, database.getValue("a/whole"));
+        assertEquals(2.5, database.getValue("a/half"));
+        assertEquals(7L, database.getValue("a/count"));
+
+        database.set("b/c/d", "x", null);
+        database.set("b/c/d", null, null);
+        assertNull(database.getValue("b"));
+        assertEquals(4, database.getStats().writes);
+    }
+
+    @Test
+    public void getValue_returnsACopy() {
+        put("u1", 10);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> copy = (Map<String, Object>) database.getValue("board/u1");
+        copy.put("score", 99L);
+        assertEquals(10L, database.getValue("board/u1/score"));
+    }
+
+    @Test
+    public void query_ordersByChildWithCursorsAndLimits() {
+        put("a", 30);
+        put("b", 10);
+        put("c", 20);
+        put("d", 20);
+        Query byScore = Query.at("board").orderByChild("score");
+
+        assertEquals(Arrays.asList("b", "c", "d", "a"), keys(byScore));
+        assertEquals(Arrays.asList("d", "a"), keys(byScore.limitToLast(2)));
+        assertEquals(Arrays.asList("b", "c"), keys(byScore.limitToFirst(2)));
+        // Cursors break ties by key, like the leaderboard pages
+        assertEquals(Arrays.asList("d", "a"), keys(byScore.startAfter(20L, "c")));
+        assertEquals(Arrays.asList("b", "c"), keys(byScore.endBefore(20L, "d")));
+        assertEquals(Arrays.asList("a"), keys(byScore.startAfter(20L, null)));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), keys(Query.at("board")));
+
+        // The index follows later writes, including ones to a single child value
+        database.set("board/b/score", 40L, null);
+        database.set("board/a", null, null);
+        assertEquals(Arrays.asList("c", "d", "b"), keys(byScore));
+        assertEquals(Collections.emptyList(), keys(Query.at("missing").orderByChild("score")));
+    }
+
+    @Test
+    public void push_makesUniqueKeysInCreationOrder() {
+        String previous = database.push("scores");
+        for (int i = 0; i < 1000; i++) {
+            String key = database.push("scores");
+            assertEquals(20, key.length());
+            assertTrue(key.compareTo(previous) > 0);
+            previous = key;
+        }
+    }
+
+    @Test
+    public void listen_reportsTheInitialWindowThenItsChanges() {
+        put("a", 10);
+        put("b", 20);
+        put("c", 30);
+        List<String> events = new ArrayList<>();
+        Database.Registration registration = database.listen(
+                Query.at("board").orderByChild("score").limitToLast(2), new Database.ChildListener() {
+                    @Override
+                    public void onChildAdded(String key, Object value) {
+                        events.add("+" + key);
+                    }
+
+                    @Override
+                    public void onChildChanged(String key, Object value) {
+                        events.add("~" + key);
+                    }
+
+                    @Override
+                    public void onChildRemoved(String key) {
+                        events.add("-" + key);
+                    }
+
+                    @Override
+                    public void onLoaded() {
+                        events.add("loaded");
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        fail(errorMessage);
+                    }
+                });
+        assertEquals(Arrays.asList("+b", "+c", "loaded"), events);
+
+        events.clear();
+        put("d", 40);
+        assertEquals(Arrays.asList("-b", "+d"), events);
+
+        events.clear();
+        database.set("board/c/name", "renamed", null);
+        database.set("board/a/name", "outside", null);
+        assertEquals(Arrays.asList("~c"), events);
+
+        events.clear();
+        registration.remove();
+        put("e", 50);
+        assertEquals(Collections.emptyList(), events);
+    }
+
+    @Test
+    public void transaction_commitsOrAborts() {
+        List<Object> results = new ArrayList<>();
+        Database.Transaction addOne = current -> current == null ? 1L : (Long) current + 1;
+        database.transaction("count", addOne, into(results));
+        database.transaction("count", addOne, into(results));
+        database.transaction("count", current -> Database.Transaction.ABORT, into(results));
+        assertEquals(Arrays.asList(true, true, false), results);
+        assertEquals(2L, database.getValue("count"));
+    }
+
+    @Test
+    public void rules_rejectTheWholeUpdate() {
+        database.setRules((path, current, value) -> !path.startsWith("locked"));
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("open/a", 1L);
+        updates.put("locked/b", 2L);
+        List<Object> results = new ArrayList<>();
+        database.update(updates, into(results));
+
+        assertEquals(Arrays.asList(MemoryDatabase.PERMISSION_DENIED), results);
+        assertNull(database.getValue("open"));
+        assertEquals(1, database.getStats().rejected);
+    }
+
+    @Test
+    public void scheduler_delaysCallbacksAndFailuresLeaveDataUntouched() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        MemoryDatabase delayed = new MemoryDatabase(scheduler);
+        delayed.setLatency(50);
+        List<Object> results = new ArrayList<>();
+
+        delayed.set("a", 1L, into(results));
+        delayed.failNext(1);
+        delayed.set("a", 2L, into(results));
+        delayed.get("a", into(results));
+        assertEquals(Collections.emptyList(), results);
+
+        scheduler.advanceTo(49);
+        assertEquals(Collections.emptyList(), results);
+        scheduler.advanceTo(50);
+        assertEquals(Arrays.asList(null, MemoryDatabase.FAILURE_MESSAGE, 1L), results);
+        assertEquals(1, delayed.getStats().failed);
+    }
+
+    @Test
+    public void callbacks_runOutsideTheLock() {
+        List<Object> results = new ArrayList<>();
+        database.failNext(2);
+        database.get("count", unlocked(results));
+        database.query(Query.at("board"), unlocked(results));
+        database.transaction("count", current -> Database.Transaction.ABORT, unlocked(results));
+        database.setRules((path, current, value) -> false);
+        database.set("count", 1L, unlocked(results));
+        database.transaction("count", current -> 1L, unlocked(results));
+        assertEquals(Arrays.asList(true, true, true, true, true), results);
+    }
+}
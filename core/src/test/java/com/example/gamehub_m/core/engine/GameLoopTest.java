@@ -0,0 +1,288 @@
+package com.example.gamehub_m.core.engine;
+
+import com.example.gamehub_m.core.games.RpsRules;
+import com.example.gamehub_m.core.guess.GuessBot;
+import com.example.gamehub_m.core.guess.GuessEngine;
+import com.example.gamehub_m.core.guess.GuessGame;
+import com.example.gamehub_m.core.memory.MemoryEngine;
+import com.example.gamehub_m.core.memory.MemoryGame;
+import com.example.gamehub_m.core.memory.PlaybackTiming;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+import com.example.gamehub_m.core.replay.ReplayPlayer;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+import com.example.gamehub_m.core.rps.RandomRpsStrategy;
+import com.example.gamehub_m.core.rps.RpsEngine;
+import com.example.gamehub_m.core.rps.RpsGame;
+import com.example.gamehub_m.core.tictactoe.TicTacToeBoard;
+import com.example.gamehub_m.core.tictactoe.TicTacToeCpu;
+import com.example.gamehub_m.core.tictactoe.TicTacToeGame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the game loop, its virtual scheduler and every game running headlessly on it.
+ */
+public class GameLoopTest {
+
+    private static final PlaybackTiming TIMING = new PlaybackTiming(800, 500, 0.96, 300);
+
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    private int updates = 0;
+    private final List<Long> gameOvers = new ArrayList<>();
+
+    private GameLoop loop(GameEngine engine) {
+        return new GameLoop(engine, scheduler, new GameLoop.Listener() {
+            @Override
+            public void onUpdate() {
+                updates++;
+            }
+
+            @Override
+            public void onGameOver(long score) {
+                gameOvers.add(score);
+            }
+        });
+    }
+
+    @Test
+    public void virtualScheduler_runsByTimeThenPostOrder() {
+        StringBuilder order = new StringBuilder();
+        Runnable c = () -> order.append('c');
+        scheduler.postAt(() -> order.append('b'), 20);
+        scheduler.postAt(() -> order.append('a'), 10);
+        scheduler.postAt(c, 20);
+        scheduler.postAt(() -> order.append('d'), 20);
+        scheduler.postAt(c, 30);
+        scheduler.cancel(c);
+
+        scheduler.advanceTo(15);
+        assertEquals("a", order.toString());
+        assertEquals(15, scheduler.now());
+        assertEquals(2, scheduler.runUntilIdle(10));
+        assertEquals("abd", order.toString());
+        assertEquals(20, scheduler.now());
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    public void memory_playsHeadlessAndReplays() {
+        MemoryGame game = new MemoryGame(TIMING);
+        ReplayRecorder recorder = new ReplayRecorder("Memory");
+        game.setRecorder(recorder);
+        GameLoop loop = loop(game);
+        recorder.start(5);
+        loop.start(new Xoshiro256Random(5));
+
+        long expectedMillis = 0;
+        for (int round = 1; round <= 30; round++) {
+            assertEquals(MemoryGame.WATCHING, game.getPhase());
+            assertFalse(loop.input(0));
+            // Exactly one task is queued at a time
+            assertEquals(1, scheduler.getPendingCount());
+
+            // Watch: the lit colors come in pattern order
+            List<Integer> shown = new ArrayList<>();
+            int lit = -1;
+            while (game.getPhase() == MemoryGame.WATCHING) {
+                assertTrue(scheduler.runNext());
+                int now = litColor(game);
+                if (now >= 0 && now != lit) {
+                    shown.add(now);
+                }
+                lit = now;
+            }
+            MemoryEngine engine = game.getEngine();
+            assertEquals(round, shown.size());
+            for (int i = 0; i < round; i++) {
+                assertEquals(engine.colorAt(i), (int) shown.get(i));
+            }
+            expectedMillis += MemoryGame.ROUND_DELAY_MILLIS + TIMING.totalMillis(round, round);
+
+            // Repeat it; the taps light up and the next round follows
+            for (int i = 0; i < round; i++) {
+                assertTrue(loop.input(engine.colorAt(i)));
+            }
+            assertEquals(MemoryGame.ROUND_WON, game.getPhase());
+            scheduler.advanceBy(MemoryGame.NEXT_ROUND_DELAY_MILLIS);
+            expectedMillis += MemoryGame.NEXT_ROUND_DELAY_MILLIS;
+        }
+        assertEquals(expectedMillis, scheduler.now());
+        assertEquals(0, loop.getMetrics().getLateEvents());
+
+        int wrong = (game.getEngine().colorAt(0) + 1) % MemoryEngine.COLORS;
+        while (!game.acceptsInput()) {
+            scheduler.runNext();
+        }
+        assertTrue(loop.input(wrong));
+        assertTrue(game.isOver());
+        assertTrue(game.isLit(wrong));
+        scheduler.runUntilIdle(10);
+        assertFalse(game.isLit(wrong));
+
+        assertEquals(1, gameOvers.size());
+        assertEquals(30, (long) gameOvers.get(0));
+        assertEquals(30, ReplayPlayer.play(recorder.toReplay()));
+    }
+
+    private static int litColor(MemoryGame game) {
+        for (int color = 0; color < MemoryEngine.COLORS; color++) {
+            if (game.isLit(color)) {
+                return color;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void memory_pauseCancelsAndResumeRestartsThePattern() {
+        MemoryGame game = new MemoryGame(TIMING);
+        GameLoop loop = loop(game);
+        loop.start(new Xoshiro256Random(6));
+        scheduler.advanceBy(MemoryGame.ROUND_DELAY_MILLIS);
+        assertTrue(game.isLit(game.getEngine().colorAt(0)));
+
+        loop.pause();
+        assertTrue(scheduler.isIdle());
+        assertFalse(loop.isTicking());
+        scheduler.advanceBy(10_000);
+        assertEquals(MemoryGame.WATCHING, game.getPhase());
+
+        game.restartPlayback(scheduler.now());
+        loop.resume();
+        assertFalse(game.isLit(game.getEngine().colorAt(0)));
+        scheduler.advanceBy(MemoryGame.ROUND_DELAY_MILLIS);
+        assertTrue(game.isLit(game.getEngine().colorAt(0)));
+    }
+
+    @Test
+    public void guess_endsOnceAndNeverTicks() {
+        GuessGame game = new GuessGame();
+        ReplayRecorder recorder = new ReplayRecorder("Guess");
+        game.setRecorder(recorder);
+        GameLoop loop = loop(game);
+        recorder.start(7);
+        loop.start(new Xoshiro256Random(7));
+
+        // Three rounds by binary search, then wrong guesses until the game is over
+        GuessBot bot = GuessBot.binarySearch();
+        bot.newRound(game.getEngine().getRange());
+        while (game.getEngine().getRoundsWon() < 3) {
+            long guess = bot.nextGuess();
+            loop.input((int) guess);
+            if (game.getLastResult() == GuessEngine.CORRECT) {
+                bot.newRound(game.getEngine().getRange());
+            } else {
+                bot.onResult(guess, game.getLastResult());
+            }
+            assertFalse(loop.isTicking());
+        }
+        int wrong = game.getEngine().getTarget() == 1 ? 2 : 1;
+        while (loop.input(wrong)) {
+            assertTrue(scheduler.isIdle());
+        }
+        assertTrue(game.isOver());
+        assertEquals(1, gameOvers.size());
+        assertEquals(game.getScore(), (long) gameOvers.get(0));
+        assertEquals(game.getScore(), ReplayPlayer.play(recorder.toReplay()));
+    }
+
+    @Test
+    public void rps_revealsAfterThinking() {
+        RpsGame game = new RpsGame(new RpsEngine(new RandomRpsStrategy(new Xoshiro256Random(8))));
+        GameLoop loop = loop(game);
+        loop.start(null);
+
+        assertTrue(loop.input(RpsRules.ROCK));
+        assertEquals(RpsGame.THINKING, game.getPhase());
+        assertFalse(loop.input(RpsGame.PLAY_AGAIN));
+        scheduler.advanceBy(RpsGame.THINK_MILLIS - 1);
+        assertEquals(RpsGame.THINKING, game.getPhase());
+        scheduler.advanceBy(1);
+        assertEquals(RpsGame.REVEALED, game.getPhase());
+        assertEquals(1, game.getEngine().getRounds());
+        assertEquals(RpsRules.outcome(RpsRules.ROCK, game.getEngine().getLastCpuMove()), game.getLastOutcome());
+
+        try {
+            loop.input(RpsRules.PAPER);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // Not before PLAY_AGAIN
+        }
+        assertTrue(loop.input(RpsGame.PLAY_AGAIN));
+        assertEquals(RpsGame.CHOOSING, game.getPhase());
+        assertTrue(gameOvers.isEmpty());
+    }
+
+    @Test
+    public void ticTacToe_cpuAnswersAfterItsDelay() {
+        TicTacToeCpu cpu = new TicTacToeCpu(new Xoshiro256Random(9), () -> null);
+        TicTacToeGame game = new TicTacToeGame(cpu);
+        ReplayRecorder recorder = new ReplayRecorder("TicTacToe");
+        game.setRecorder(recorder);
+        GameLoop loop = loop(game);
+        recorder.start(9);
+        game.setDifficulty(TicTacToeCpu.Difficulty.HARD);
+        loop.start(null);
+
+        for (int board = 0; board < 20; board++) {
+            while (game.getPhase() != TicTacToeGame.BOARD_OVER) {
+                int cell = game.getBoard().nthEmptyCell(0);
+                assertTrue(loop.input(cell));
+                if (game.getPhase() == TicTacToeGame.CPU_TURN) {
+                    assertFalse(loop.input(game.getBoard().nthEmptyCell(0)));
+                    long moves = game.getBoard().moveCount();
+                    scheduler.advanceBy(TicTacToeGame.CPU_DELAY_MILLIS);
+                    assertEquals(moves + 1, game.getBoard().moveCount());
+                }
+            }
+            assertTrue(loop.input(TicTacToeGame.NEW_BOARD));
+            assertEquals(0, game.getBoard().moveCount());
+        }
+        assertTrue(game.getCpuWins() > 0);
+        assertEquals(game.getScore(), ReplayPlayer.play(recorder.toReplay()));
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    public void metrics_trackDriftAndLateEvents() {
+        TimingMetrics metrics = new TimingMetrics(17);
+        metrics.record(1000, 1000);
+        metrics.record(1500, 1510);
+        metrics.record(2000, 2040);
+        // Early callbacks count as no drift
+        metrics.record(2500, 2495);
+
+        assertEquals(4, metrics.getEvents());
+        assertEquals(40, metrics.getMaxDriftMillis());
+        assertEquals(12.5, metrics.getMeanDriftMillis(), 1e-9);
+        assertEquals(1, metrics.getLateEvents());
+
+        metrics.reset();
+        assertEquals(0, metrics.getEvents());
+        assertEquals(0, metrics.getMeanDriftMillis(), 0);
+    }
+
+    @Test
+    public void metrics_countDroppedFrames() {
+        long interval = 16_666_667L;
+        TimingMetrics metrics = new TimingMetrics(17);
+        metrics.recordFrame(interval, interval);
+        // Vsync jitter is not a drop
+        metrics.recordFrame(interval + 3_000_000L, interval);
+        // Two frames skipped
+        metrics.recordFrame(3 * interval, interval);
+        metrics.recordFrame(50_000_000L, interval);
+
+        assertEquals(4, metrics.getFrames());
+        assertEquals(4, metrics.getDroppedFrames());
+
+        metrics.reset();
+        assertEquals(0, metrics.getFrames());
+        assertEquals(0, metrics.getDroppedFrames());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.gamehub_m.core.games;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the RPS rules.
+ */
+public class GameRulesTest {
+
+    @Test
+    public void rps_eachMoveBeatsThePreviousOne() {
+        assertEquals(RpsRules.PLAYER_WINS, RpsRules.outcome(RpsRules.ROCK, RpsRules.SCISSORS));
+        assertEquals(RpsRules.PLAYER_WINS, RpsRules.outcome(RpsRules.PAPER, RpsRules.ROCK));
+        assertEquals(RpsRules.PLAYER_WINS, RpsRules.outcome(RpsRules.SCISSORS, RpsRules.PAPER));
+        assertEquals(RpsRules.CPU_WINS, RpsRules.outcome(RpsRules.SCISSORS, RpsRules.ROCK));
+        for (int move = 0; move < RpsRules.MOVES; move++) {
+            assertEquals(RpsRules.DRAW, RpsRules.outcome(move, move));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.gamehub_m.core.guess;
+
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the Guess rules, ranges, difficulty and bot.
+ */
+public class GuessEngineTest {
+
+    private static final GuessRange CLASSIC = GuessRange.CLASSIC;
+
+    @Test
+    public void guess_givesHintsAndScoresRemainingAttempts() {
+        GuessEngine engine = new GuessEngine(new Xoshiro256Random(1));
+        engine.newGame();
+        long target = engine.getTarget();
+
+        if (target > CLASSIC.getMin()) {
+            assertEquals(GuessEngine.TOO_LOW, engine.guess(target - 1));
+        } else {
+            assertEquals(GuessEngine.TOO_HIGH, engine.guess(target + 1));
+        }
+        assertEquals(CLASSIC.getAttempts() - 1, engine.getAttemptsRemaining());
+
+        assertEquals(GuessEngine.CORRECT, engine.guess(target));
+        assertEquals(CLASSIC.getAttempts() - 1, engine.getLastPoints());
+        assertEquals(CLASSIC.getAttempts() - 1, engine.getScore());
+        assertEquals(1, engine.getRoundsWon());
+        assertEquals(CLASSIC.getAttempts(), engine.getAttemptsRemaining());
+    }
+
+    @Test
+    public void guess_endsTheGameAfterTheLastWrongAttempt() {
+        GuessEngine engine = new GuessEngine(new Xoshiro256Random(2));
+        engine.newGame();
+        long wrong = engine.getTarget() == CLASSIC.getMax() ? CLASSIC.getMin() : CLASSIC.getMax();
+        for (int i = 1; i < CLASSIC.getAttempts(); i++) {
+            assertNotEquals(GuessEngine.GAME_OVER, engine.guess(wrong));
+        }
+        assertEquals(GuessEngine.GAME_OVER, engine.guess(wrong));
+        assertTrue(engine.isOver());
+        assertEquals(0, engine.getScore());
+        try {
+            engine.guess(wrong);
+            fail();
+        } catch (IllegalStateException expected) {
+            // Game over
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void guess_rejectsOutOfRange() {
+        GuessEngine engine = new GuessEngine(new Xoshiro256Random(3));
+        engine.newGame();
+        engine.guess(CLASSIC.getMax() + 1);
+    }
+
+    @Test
+    public void range_derivesAttemptsFromItsSize() {
+        assertEquals(10, CLASSIC.getAttempts());
+        assertEquals(7, CLASSIC.getSearchDepth());
+        assertEquals(1, GuessRange.searchDepth(5, 5));
+        assertEquals(2, GuessRange.searchDepth(1, 2));
+        assertEquals(11, GuessRange.searchDepth(1, 1024));
+        assertEquals(64, GuessRange.searchDepth(0, Long.MAX_VALUE));
+        assertEquals(65, GuessRange.searchDepth(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(68, GuessRange.of(Long.MIN_VALUE, Long.MAX_VALUE).getAttempts());
+    }
+
+    @Test
+    public void range_drawsWithinWideBounds() {
+        Xoshiro256Random random = new Xoshiro256Random(4);
+        long[][] bounds = {{-5, 5}, {0, 3L << 40}, {-1, Long.MAX_VALUE}, {Long.MIN_VALUE, Long.MAX_VALUE - 1}};
+        for (long[] bound : bounds) {
+            for (int i = 0; i < 1000; i++) {
+                long number = GuessRange.randomBetween(random, bound[0], bound[1]);
+                assertTrue(number >= bound[0] && number <= bound[1]);
+            }
+        }
+        // Small ranges draw exactly as nextInt did
+        Xoshiro256Random expected = new Xoshiro256Random(5);
+        Xoshiro256Random actual = new Xoshiro256Random(5);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.nextInt(100) + 1, CLASSIC.randomNumber(actual));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void range_rejectsEmpty() {
+        GuessRange.of(10, 9);
+    }
+
+    @Test
+    public void binarySearchBot_neverLoses() {
+        GuessEngine engine = new GuessEngine(new Xoshiro256Random(6));
+        GuessBot bot = GuessBot.binarySearch();
+        for (int game = 0; game < 100; game++) {
+            long score = bot.play(engine, 10);
+            assertFalse(engine.isOver());
+            assertEquals(10, engine.getRoundsWon());
+            // 1-100 takes at most 7 guesses
+            assertTrue(score >= 10 * (CLASSIC.getAttempts() - 6));
+        }
+    }
+
+    @Test
+    public void binarySearchBot_winsTheFull64BitRange() {
+        GuessRange full = GuessRange.of(Long.MIN_VALUE, Long.MAX_VALUE);
+        GuessEngine engine = new GuessEngine(new Xoshiro256Random(7), GuessDifficulty.fixed(full));
+        GuessBot bot = GuessBot.binarySearch();
+        bot.play(engine, 200);
+        assertFalse(engine.isOver());
+        assertEquals(200, engine.getRoundsWon());
+        assertTrue(engine.getScore() >= 200 * (full.getAttempts() - full.getSearchDepth() + 1));
+    }
+
+    @Test
+    public void randomBot_eventuallyLoses() {
+        Xoshiro256Random random = new Xoshiro256Random(8);
+        GuessEngine engine = new GuessEngine(random);
+        GuessBot bot = new GuessBot(random, 0.0);
+        int lost = 0;
+        for (int game = 0; game < 100; game++) {
+            bot.play(engine, 1000);
+            if (engine.isOver()) {
+                lost++;
+            }
+        }
+        assertEquals(100, lost);
+    }
+
+    @Test
+    public void adaptive_climbsForASkilledPlayerAndResetsPerGame() {
+        GuessEngine engine = new GuessEngine(new Xoshiro256Random(9), GuessDifficulty.adaptive());
+        GuessDifficulty difficulty = engine.getDifficulty();
+        engine.newGame();
+        assertEquals(CLASSIC, engine.getRange());
+
+        GuessBot.binarySearch().play(engine, 100);
+        assertEquals(difficulty.getLevelCount() - 1, difficulty.getLevel());
+        assertEquals(1_000_000, engine.getRange().getMax());
+        assertTrue(engine.getAttemptsRemaining() <= difficulty.getMaxAttempts());
+
+        engine.newGame();
+        assertEquals(CLASSIC, engine.getRange());
+    }
+
+    @Test
+    public void adaptive_levelsUpOnAStreakAndDownOnALastAttemptWin() {
+        GuessDifficulty difficulty = GuessDifficulty.adaptive();
+        int start = difficulty.getLevel();
+        int depth = difficulty.getRange().getSearchDepth();
+
+        difficulty.onRoundWon(depth);
+        difficulty.onRoundWon(depth);
+        // One slow round breaks the streak
+        difficulty.onRoundWon(depth + 1);
+        difficulty.onRoundWon(1);
+        difficulty.onRoundWon(1);
+        assertEquals(start, difficulty.getLevel());
+        difficulty.onRoundWon(1);
+        assertEquals(start + 1, difficulty.getLevel());
+
+        difficulty.onRoundWon(difficulty.getRange().getAttempts());
+        assertEquals(start, difficulty.getLevel());
+
+        GuessDifficulty fixed = GuessDifficulty.fixed(CLASSIC);
+        for (int i = 0; i < 10; i++) {
+            fixed.onRoundWon(1);
+        }
+        assertEquals(CLASSIC, fixed.getRange());
+    }
+}
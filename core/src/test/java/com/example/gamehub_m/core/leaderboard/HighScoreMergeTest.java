@@ -0,0 +1,103 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.MemoryDatabase;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for HighScoreMerge, including a concurrency test where several devices, each with its
+ * own ScoreRepository, save scores for the same users into one MemoryDatabase with the leaderboard
+ * rules.
+ */
+public class HighScoreMergeTest {
+
+    @Test
+    public void mergeHighScore_writesOnlyAHigherScore() {
+        Map<String, Object> node = HighScoreMerge.mergeHighScore(null, "uid", "Jane", 7, 1L);
+        assertNotNull(node);
+        assertEquals(7L, node.get("highScore"));
+        assertEquals("uid", node.get("userId"));
+        assertEquals("Jane", node.get("displayName"));
+
+        assertNull(HighScoreMerge.mergeHighScore(7L, "uid", "Jane", 6, 2L));
+        assertNull(HighScoreMerge.mergeHighScore(7L, "uid", "Jane", 7, 2L));
+        assertEquals(8L, HighScoreMerge.mergeHighScore(7L, "uid", "Jane", 8, 2L).get("highScore"));
+    }
+
+    @Test
+    public void concurrentDevices_maxAlwaysWins() throws Exception {
+        final int users = 4;
+        final int devicesPerUser = 4;
+        final int savesPerDevice = 500;
+        final MemoryDatabase database = new MemoryDatabase();
+        database.setRules(new LeaderboardRules());
+        // Highest score each user saved successfully, and how many saves succeeded
+        final AtomicLong[] expectedMax = new AtomicLong[users];
+        final AtomicInteger[] saved = new AtomicInteger[users];
+        for (int u = 0; u < users; u++) {
+            expectedMax[u] = new AtomicLong(Long.MIN_VALUE);
+            saved[u] = new AtomicInteger();
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(users * devicesPerUser);
+        for (int t = 0; t < users * devicesPerUser; t++) {
+            final int user = t % users;
+            // Every device caches high scores on its own, as each phone's ScoreManager does
+            final ScoreRepository device = new ScoreRepository(database);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < savesPerDevice; i++) {
+                    long score = random.nextInt(1_000_000);
+                    device.save(new ScoreSubmission("u" + user, "Jane", "Memory", score, i, null, null),
+                            new DataCallback<Void>() {
+                                @Override
+                                public void onSuccess(Void result) {
+                                    expectedMax[user].accumulateAndGet(score, Math::max);
+                                    saved[user].incrementAndGet();
+                                }
+
+                                @Override
+                                public void onError(String errorMessage) {
+                                    // Gave up after MAX_WRITE_ATTEMPTS; nothing was written
+                                }
+                            });
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        ScoreHistogram expected = new ScoreHistogram();
+        for (int u = 0; u < users; u++) {
+            assertTrue(saved[u].get() > 0);
+            Object highScore = database.getValue(ScoreUpdate.leaderboardPath("Memory", "u" + u) + "/highScore");
+            assertEquals(expectedMax[u].get(), ((Number) highScore).longValue());
+            expected.add(expectedMax[u].get());
+            // One history entry per successful save, none for a rejected attempt
+            Map<?, ?> history = (Map<?, ?>) database.getValue(ScoreUpdate.SCORES_REF + "/u" + u + "/Memory");
+            assertEquals(saved[u].get(), history.size());
+        }
+        ScoreHistogram histogram = ScoreHistogram.fromValue(database.getValue(ScoreUpdate.statsPath("Memory")));
+        assertEquals(users, histogram.getTotal());
+        assertEquals(expected.toValue(), histogram.toValue());
+    }
+}
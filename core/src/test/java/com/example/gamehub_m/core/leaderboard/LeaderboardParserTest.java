@@ -0,0 +1,60 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for parsing leaderboard nodes from plain snapshot values.
+ */
+public class LeaderboardParserTest {
+
+    private static Map<String, Object> node(String displayName, Object highScore, String userId) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("displayName", displayName);
+        node.put("highScore", highScore);
+        if (userId != null) {
+            node.put("userId", userId);
+        }
+        return node;
+    }
+
+    @Test
+    public void parseEntry_readsFieldsAndFallsBackToKey() {
+        LeaderboardEntry entry = LeaderboardParser.parseEntry("key", node("Ann", 12L, "uid"));
+        assertEquals("uid", entry.userId);
+        assertEquals("Ann", entry.displayName);
+        assertEquals(12, entry.highScore);
+
+        assertEquals("key", LeaderboardParser.parseEntry("key", node("Ann", 12L, null)).userId);
+        // Numbers written from other clients may come back as doubles
+        assertEquals(7, LeaderboardParser.parseEntry("key", node("Ann", 7.0, null)).highScore);
+    }
+
+    @Test
+    public void parseEntry_rejectsIncompleteNodes() {
+        assertNull(LeaderboardParser.parseEntry("key", null));
+        assertNull(LeaderboardParser.parseEntry("key", 5L));
+        assertNull(LeaderboardParser.parseEntry("key", node(null, 12L, "uid")));
+        assertNull(LeaderboardParser.parseEntry("key", node("Ann", "12", "uid")));
+    }
+
+    @Test
+    public void rankDescending_reversesAndNumbers() {
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        entries.add(new LeaderboardEntry("a", "a", 1));
+        entries.add(new LeaderboardEntry("b", "b", 5));
+        entries.add(new LeaderboardEntry("c", "c", 9));
+
+        LeaderboardParser.rankDescending(entries);
+        assertEquals("c", entries.get(0).userId);
+        assertEquals(1, entries.get(0).rank);
+        assertEquals("a", entries.get(2).userId);
+        assertEquals(3, entries.get(2).rank);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.MemoryDatabase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the score and leaderboard repositories against a MemoryDatabase with the
+ * leaderboard rules.
+ */
+public class LeaderboardRepositoryTest {
+
+    private final MemoryDatabase database = new MemoryDatabase();
+    private final ScoreRepository scores = new ScoreRepository(database);
+    private final LeaderboardRepository leaderboard = new LeaderboardRepository(database);
+
+    @Before
+    public void setUp() {
+        database.setRules(new LeaderboardRules());
+    }
+
+    private static <T> DataCallback<T> into(List<Object> results) {
+        return new DataCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                results.add(errorMessage);
+            }
+        };
+    }
+
+    private void save(String userId, long score) {
+        List<Object> results = new ArrayList<>();
+        scores.save(new ScoreSubmission(userId, "Player " + userId, "Memory", score, 1000, null, null),
+                into(results));
+        assertEquals(1, results.size());
+        assertNull(results.get(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LeaderboardEntry> top(int limit) {
+        List<Object> results = new ArrayList<>();
+        leaderboard.getTop("Memory", limit, into(results));
+        return (List<LeaderboardEntry>) results.get(0);
+    }
+
+    @Test
+    public void rules_acceptOnlyAHigherScoreThatNamesTheStoredOne() {
+        LeaderboardRules rules = new LeaderboardRules();
+        Map<String, Object> stored = HighScoreMerge.mergeHighScore(null, "u1", "A", 10, 1);
+        Map<String, Object> raised = HighScoreMerge.mergeHighScore(10L, "u1", "A", 20, 2);
+        assertTrue(rules.allows("leaderboard/Memory/u1", null, stored));
+        raised.put("previousHighScore", 10L);
+        assertTrue(rules.allows("leaderboard/Memory/u1", stored, raised));
+        raised.put("previousHighScore", 5L);
+        assertFalse(rules.allows("leaderboard/Memory/u1", stored, raised));
+        assertFalse(rules.allows("leaderboard/Memory/u1", stored,
+                HighScoreMerge.mergeHighScore(null, "u1", "A", 30, 3)));
+        assertTrue(rules.allows("scores/u1/Memory/k1", null, stored));
+    }
+
+    @Test
+    public void save_writesHistoryLeaderboardAndHistogram() {
+        save("u1", 10);
+        save("u1", 5);
+        save("u1", 20);
+        save("u2", 30);
+
+        assertEquals(3, ((Map<?, ?>) database.getValue("scores/u1/Memory")).size());
+        assertEquals(20L, database.getValue("leaderboard/Memory/u1/highScore"));
+        List<Object> histograms = new ArrayList<>();
+        leaderboard.getHistogram("Memory", into(histograms));
+        ScoreHistogram histogram = (ScoreHistogram) histograms.get(0);
+        assertEquals(2, histogram.getTotal());
+        assertEquals(0, histogram.getCount(ScoreHistogram.bucketOf(10)));
+        assertEquals(1, histogram.getCount(ScoreHistogram.bucketOf(20)));
+        assertEquals(0, scores.getRetries());
+    }
+
+    @Test
+    public void save_retriesAfterAnotherDeviceRaisedTheHighScore() {
+        ScoreRepository tablet = new ScoreRepository(database);
+        save("u1", 10);
+        tablet.save(new ScoreSubmission("u1", "A", "Memory", 20, 1001, null, null), null);
+
+        // This device still thinks the high score is 10
+        save("u1", 30);
+        assertEquals(1, scores.getRetries());
+        assertEquals(30L, database.getValue("leaderboard/Memory/u1/highScore"));
+        assertEquals(1, database.getStats().rejected);
+    }
+
+    @Test
+    public void save_withAScoreIdIsIdempotent() {
+        ScoreSubmission submission = new ScoreSubmission("u1", "A", "Memory", 10, 1000, null, null,
+                scores.newScoreId("u1", "Memory"));
+        scores.save(submission, null);
+        // Written, but the acknowledgement was lost; retried by this process and after a restart
+        scores.save(submission, null);
+        new ScoreRepository(database).save(submission, null);
+
+        assertEquals(1, ((Map<?, ?>) database.getValue("scores/u1/Memory")).size());
+        assertEquals(10L, database.getValue("leaderboard/Memory/u1/highScore"));
+        List<Object> histograms = new ArrayList<>();
+        leaderboard.getHistogram("Memory", into(histograms));
+        assertEquals(1, ((ScoreHistogram) histograms.get(0)).getTotal());
+        assertEquals(0, scores.getFailures());
+    }
+
+    @Test
+    public void save_reportsInjectedFailures() {
+        database.failNext(1);
+        List<Object> results = new ArrayList<>();
+        scores.save(new ScoreSubmission("u1", "A", "Memory", 10, 1000, null, null), into(results));
+        assertEquals(1, scores.getFailures());
+        assertEquals(MemoryDatabase.FAILURE_MESSAGE, results.get(0));
+        assertNull(database.getValue("leaderboard"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void reads_rankPageAndCount() {
+        for (int i = 1; i <= 10; i++) {
+            save("u" + i, i * 10);
+        }
+        List<LeaderboardEntry> top = top(3);
+        assertEquals(3, top.size());
+        assertEquals("u10", top.get(0).userId);
+        assertEquals(1, top.get(0).rank);
+        assertEquals(80, top.get(2).highScore);
+
+        List<Object> pages = new ArrayList<>();
+        leaderboard.getPage("Memory", top.get(2), false, 3, into(pages));
+        leaderboard.getPage("Memory", top.get(2), true, 3, into(pages));
+        List<LeaderboardEntry> below = (List<LeaderboardEntry>) pages.get(0);
+        List<LeaderboardEntry> above = (List<LeaderboardEntry>) pages.get(1);
+        assertEquals(70, below.get(0).highScore);
+        assertEquals(50, below.get(2).highScore);
+        assertEquals(100, above.get(0).highScore);
+        assertEquals(2, above.size());
+
+        List<Object> counts = new ArrayList<>();
+        leaderboard.countAbove("Memory", "u4", 40, 100, into(counts));
+        leaderboard.getHighScore("Memory", "u4", into(counts));
+        leaderboard.getHighScore("Memory", "nobody", into(counts));
+        assertEquals(6, counts.get(0));
+        assertEquals(40L, counts.get(1));
+        assertNull(counts.get(2));
+    }
+
+    @Test
+    public void rebuildHistogram_matchesTheBoard() {
+        for (int i = 1; i <= 5; i++) {
+            save("u" + i, i * 100);
+        }
+        database.set("leaderboardStats/Memory", null, null);
+        leaderboard.rebuildHistogram("Memory", null);
+
+        List<Object> histograms = new ArrayList<>();
+        leaderboard.getHistogram("Memory", into(histograms));
+        assertEquals(5, ((ScoreHistogram) histograms.get(0)).getTotal());
+    }
+}
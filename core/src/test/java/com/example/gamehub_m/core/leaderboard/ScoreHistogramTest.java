@@ -0,0 +1,93 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the bucketed score histogram used for rank and percentile queries.
+ */
+public class ScoreHistogramTest {
+
+    @Test
+    public void buckets_coverEveryScoreExactlyOnce() {
+        for (long score = 0; score < 100_000; score++) {
+            int bucket = ScoreHistogram.bucketOf(score);
+            assertTrue(ScoreHistogram.lowerBound(bucket) <= score);
+            assertTrue(ScoreHistogram.upperBound(bucket) >= score);
+        }
+        assertEquals(63, ScoreHistogram.bucketOf(63));
+        assertEquals(64, ScoreHistogram.bucketOf(64));
+        assertEquals(64, ScoreHistogram.bucketOf(71));
+        assertEquals(65, ScoreHistogram.bucketOf(72));
+        assertEquals(Long.MAX_VALUE, ScoreHistogram.upperBound(ScoreHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void estimateRank_isExactForSmallScores() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        long[] scores = {1, 5, 5, 9, 12, 40};
+        for (long score : scores) {
+            histogram.add(score);
+        }
+        assertEquals(1, histogram.estimateRank(40));
+        assertEquals(2, histogram.estimateRank(12));
+        assertEquals(4, histogram.estimateRank(5));
+        assertEquals(6, histogram.estimateRank(1));
+        assertEquals(6, histogram.getTotal());
+    }
+
+    @Test
+    public void estimateRank_staysCloseForLargeScores() {
+        Random random = new Random(42);
+        long[] scores = new long[5000];
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(1_000_000);
+            histogram.add(scores[i]);
+        }
+        for (int i = 0; i < 50; i++) {
+            long score = scores[i];
+            long exact = 1;
+            for (long other : scores) {
+                if (other > score) {
+                    exact++;
+                }
+            }
+            long estimate = histogram.estimateRank(score);
+            // Within the population of one bucket
+            long bucketCount = histogram.getCount(ScoreHistogram.bucketOf(score));
+            assertTrue(Math.abs(estimate - exact) <= bucketCount);
+        }
+    }
+
+    @Test
+    public void deltas_moveUserBetweenBuckets() {
+        Map<String, Long> first = ScoreHistogram.deltas(null, 10);
+        assertEquals(Long.valueOf(1), first.get("total"));
+        assertEquals(Long.valueOf(1), first.get("buckets/b10"));
+
+        Map<String, Long> moved = ScoreHistogram.deltas(10L, 12L);
+        assertNull(moved.get("total"));
+        assertEquals(Long.valueOf(-1), moved.get("buckets/b10"));
+        assertEquals(Long.valueOf(1), moved.get("buckets/b12"));
+
+        assertTrue(ScoreHistogram.deltas(1000L, 1001L).isEmpty());
+    }
+
+    @Test
+    public void value_roundTrips() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(3);
+        histogram.add(3);
+        histogram.add(5000);
+        ScoreHistogram restored = ScoreHistogram.fromValue(histogram.toValue());
+        assertEquals(3, restored.getTotal());
+        assertEquals(2, restored.getCount(3));
+        assertEquals(1, restored.estimateRank(5000));
+        assertEquals(100.0, restored.percentile(5000), 0.001);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.gamehub_m.core.leaderboard;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the multi-path score update.
+ */
+public class ScoreUpdateTest {
+
+    private static final ScoreUpdate.Increment INCREMENT = delta -> "increment " + delta;
+
+    @Test
+    public void firstScore_writesHistoryLeaderboardAndStats() {
+        Map<String, Object> scoreData = ScoreUpdate.historyEntry(42, 1000, "Ann", "AAEC", "digest");
+        Map<String, Object> updates = ScoreUpdate.build("u1", "Guess", ScoreUpdate.scorePath("u1", "Guess", "k1"),
+                scoreData, null, INCREMENT);
+
+        assertSame(scoreData, updates.get("scores/u1/Guess/k1"));
+        assertEquals(42L, scoreData.get("score"));
+        assertEquals("AAEC", scoreData.get(ScoreUpdate.REPLAY_KEY));
+
+        Map<?, ?> leaderboard = (Map<?, ?>) updates.get("leaderboard/Guess/u1");
+        assertEquals(42L, leaderboard.get("highScore"));
+        assertEquals("Ann", leaderboard.get("displayName"));
+        assertEquals(1000L, leaderboard.get("updatedAt"));
+        assertEquals("digest", leaderboard.get(ScoreUpdate.REPLAY_DIGEST_KEY));
+        assertFalse(leaderboard.containsKey("previousHighScore"));
+
+        assertEquals("increment 1", updates.get("leaderboardStats/Guess/" + ScoreHistogram.TOTAL_KEY));
+        assertEquals("increment 1", updates.get("leaderboardStats/Guess/" + ScoreHistogram.BUCKETS_KEY + "/"
+                + ScoreHistogram.bucketKey(ScoreHistogram.bucketOf(42))));
+        assertTrue(ScoreUpdate.raisesHighScore(null, 42));
+    }
+
+    @Test
+    public void newHighScore_namesThePreviousOne() {
+        Map<String, Object> scoreData = ScoreUpdate.historyEntry(50, 1000, "Ann", null, null);
+        Map<String, Object> updates = ScoreUpdate.build("u1", "Guess", "scores/u1/Guess/k2", scoreData, 10L, INCREMENT);
+
+        Map<?, ?> leaderboard = (Map<?, ?>) updates.get("leaderboard/Guess/u1");
+        assertEquals(10L, leaderboard.get("previousHighScore"));
+        assertFalse(leaderboard.containsKey(ScoreUpdate.REPLAY_KEY));
+        // The total stays, the user moves from one bucket to the other
+        assertFalse(updates.containsKey("leaderboardStats/Guess/" + ScoreHistogram.TOTAL_KEY));
+        assertEquals("increment -1", updates.get("leaderboardStats/Guess/buckets/b10"));
+        assertEquals("increment 1", updates.get("leaderboardStats/Guess/buckets/b50"));
+    }
+
+    @Test
+    public void lowerScore_onlyWritesHistory() {
+        Map<String, Object> scoreData = ScoreUpdate.historyEntry(5, 1000, "Ann", null, null);
+        Map<String, Object> updates = ScoreUpdate.build("u1", "Guess", "scores/u1/Guess/k3", scoreData, 10L, INCREMENT);
+
+        assertEquals(1, updates.size());
+        assertFalse(ScoreUpdate.raisesHighScore(10L, 5));
+        assertFalse(ScoreUpdate.raisesHighScore(10L, 10));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.gamehub_m.core.memory;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the packed Memory engine.
+ */
+public class MemoryEngineTest {
+
+    @Test
+    public void submit_acceptsThePatternFromTheBeginning() {
+        MemoryEngine engine = new MemoryEngine(new Random(3));
+        for (int round = 1; round <= 20; round++) {
+            engine.nextRound();
+            assertEquals(round, engine.length());
+            for (int i = 0; i < round - 1; i++) {
+                assertEquals(MemoryEngine.INCOMPLETE, engine.submit(engine.colorAt(i)));
+            }
+            assertEquals(MemoryEngine.COMPLETE, engine.submit(engine.colorAt(round - 1)));
+        }
+    }
+
+    @Test
+    public void submit_rejectsWrongColorsAndExtraTaps() {
+        MemoryEngine engine = new MemoryEngine(new Random(3));
+        engine.append(2);
+        engine.append(0);
+        assertEquals(MemoryEngine.MISMATCH, engine.submit(1));
+
+        engine.restartInput();
+        assertEquals(MemoryEngine.INCOMPLETE, engine.submit(2));
+        assertEquals(MemoryEngine.COMPLETE, engine.submit(0));
+        assertEquals(MemoryEngine.MISMATCH, engine.submit(0));
+    }
+
+    @Test
+    public void packing_survivesGrowthToLongPatterns() {
+        Random colors = new Random(11);
+        MemoryEngine engine = new MemoryEngine(new Random(3));
+        int[] expected = new int[10_000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = colors.nextInt(MemoryEngine.COLORS);
+            engine.append(expected[i]);
+        }
+        assertEquals(expected.length, engine.length());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], engine.colorAt(i));
+        }
+        for (int i = 0; i < expected.length - 1; i++) {
+            assertEquals(MemoryEngine.INCOMPLETE, engine.submit(expected[i]));
+        }
+        assertEquals(MemoryEngine.COMPLETE, engine.submit(expected[expected.length - 1]));
+    }
+
+    @Test
+    public void reset_forgetsThePattern() {
+        MemoryEngine engine = new MemoryEngine(new Random(3));
+        engine.nextRound();
+        engine.reset();
+        assertEquals(0, engine.length());
+        assertEquals(MemoryEngine.MISMATCH, engine.submit(0));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.gamehub_m.core.memory;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the playback schedule.
+ */
+public class PlaybackTimingTest {
+
+    @Test
+    public void firstRound_keepsTheOriginalSchedule() {
+        PlaybackTiming timing = new PlaybackTiming(800, 500, 0.96, 300);
+        assertEquals(800, timing.stepMillis(1));
+        assertEquals(500, timing.flashMillis(1));
+
+        // Pattern of 3: on/off per color, then finish
+        assertEquals(7, PlaybackTiming.eventCount(3));
+        long[] expected = {0, 500, 800, 1300, 1600, 2100, 2400};
+        for (int event = 0; event < expected.length; event++) {
+            assertEquals(expected[event], timing.eventOffset(event, 1));
+        }
+        assertTrue(PlaybackTiming.isFinish(6, 3));
+        assertFalse(PlaybackTiming.isFinish(5, 3));
+        assertEquals(2, PlaybackTiming.colorIndex(5));
+        assertTrue(PlaybackTiming.isFlashOn(4));
+        assertFalse(PlaybackTiming.isFlashOn(5));
+        assertEquals(2400, timing.totalMillis(3, 1));
+    }
+
+    @Test
+    public void laterRounds_speedUpDownToTheFloor() {
+        PlaybackTiming timing = new PlaybackTiming(800, 500, 0.96, 300);
+        long previous = timing.stepMillis(1);
+        for (int round = 2; round <= 50; round++) {
+            long step = timing.stepMillis(round);
+            assertTrue(step <= previous);
+            assertTrue(step >= 300);
+            assertTrue(timing.flashMillis(round) < step);
+            previous = step;
+        }
+        assertEquals(768, timing.stepMillis(2));
+        assertEquals(300, timing.stepMillis(50));
+        assertEquals(188, timing.flashMillis(50));
+    }
+
+    @Test
+    public void constant_neverSpeedsUp() {
+        PlaybackTiming timing = PlaybackTiming.constant(600, 400);
+        assertEquals(600, timing.stepMillis(30));
+        assertEquals(400, timing.flashMillis(30));
+    }
+}
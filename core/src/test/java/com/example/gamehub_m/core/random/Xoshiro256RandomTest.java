@@ -0,0 +1,79 @@
+package com.example.gamehub_m.core.random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the seeded generators and per-game streams.
+ */
+public class Xoshiro256RandomTest {
+
+    @Test
+    public void splitMix64_matchesReferenceOutput() {
+        // First outputs of the reference implementation seeded with 0
+        SplitMix64 splitMix = new SplitMix64(0);
+        assertEquals(0xE220A8397B1DCDAFL, splitMix.nextLong());
+        assertEquals(0x6E789E6AA1B965F4L, splitMix.nextLong());
+    }
+
+    @Test
+    public void sameSeed_givesSameSequence() {
+        Xoshiro256Random a = new Xoshiro256Random(42);
+        Xoshiro256Random b = new Xoshiro256Random(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+        assertEquals(42, a.getSeed());
+
+        a.setSeed(7);
+        b.setSeed(7);
+        assertEquals(a.nextInt(100), b.nextInt(100));
+        assertNotEquals(new Xoshiro256Random(1).nextLong(), new Xoshiro256Random(2).nextLong());
+    }
+
+    @Test
+    public void nextInt_staysInBoundsAndIsRoughlyUniform() {
+        Xoshiro256Random random = new Xoshiro256Random(3);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[random.nextInt(10)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 9_500 && count < 10_500);
+        }
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(Integer.MAX_VALUE);
+            assertTrue(value >= 0);
+            double d = random.nextDouble();
+            assertTrue(d >= 0 && d < 1);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextInt_rejectsNonPositiveBound() {
+        new Xoshiro256Random(1).nextInt(0);
+    }
+
+    @Test
+    public void split_givesADifferentStream() {
+        Xoshiro256Random parent = new Xoshiro256Random(5);
+        Xoshiro256Random child = parent.split();
+        assertNotEquals(parent.nextLong(), child.nextLong());
+    }
+
+    @Test
+    public void rngService_replaysStreamsFromTheSessionSeed() {
+        RngService service = new RngService(1234);
+        long memory0 = service.stream("Memory").nextLong();
+        long memory1 = service.stream("Memory").nextLong();
+        long guess0 = service.stream("Guess").nextLong();
+        assertNotEquals(memory0, memory1);
+        assertNotEquals(memory0, guess0);
+
+        service.startSession(1234);
+        assertEquals(memory0, service.stream("Memory").nextLong());
+        assertEquals(guess0, service.stream("Guess").nextLong());
+        assertEquals(memory1, new Xoshiro256Random(RngService.streamSeed(1234, "Memory", 1)).nextLong());
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.gamehub_m.core.replay;
+
+import com.example.gamehub_m.core.games.RpsRules;
+import com.example.gamehub_m.core.guess.GuessRange;
+import com.example.gamehub_m.core.memory.MemoryEngine;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+import com.example.gamehub_m.core.tictactoe.TicTacToeCpu;
+import com.example.gamehub_m.core.tictactoe.TicTacToeGame;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for recording, encoding, replaying and evicting replays.
+ */
+public class ReplayTest {
+
+    @Test
+    public void recorder_encodesSmallEventsInOneByte() throws IOException {
+        ReplayRecorder recorder = new ReplayRecorder("Guess");
+        recorder.start(99);
+        int[] events = {0, 5, 127, 128, 300, 16_384, Integer.MAX_VALUE};
+        for (int event : events) {
+            recorder.record(event);
+        }
+        Replay replay = recorder.toReplay();
+        assertEquals(events.length, replay.getEventCount());
+        assertEquals(1 + 1 + 1 + 2 + 2 + 3 + 5, replay.getEventBytes());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        replay.writeTo(new DataOutputStream(bytes));
+        Replay read = Replay.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals("Guess", read.getGameName());
+        assertEquals(99, read.getSeed());
+
+        Replay.Reader reader = read.reader();
+        for (int event : events) {
+            assertTrue(reader.hasNext());
+            assertEquals(event, reader.next());
+        }
+        assertFalse(reader.hasNext());
+    }
+
+    @Test(expected = IOException.class)
+    public void readFrom_rejectsUnknownVersion() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeInt(99);
+        Replay.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test(expected = IOException.class)
+    public void readFrom_rejectsOversizedLengthBeforeAllocating() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(1);
+        out.writeUTF("Guess");
+        out.writeLong(0);
+        // eventCount * 5 overflows to a negative int
+        out.writeInt(Integer.MAX_VALUE);
+        out.writeInt(Integer.MAX_VALUE);
+        Replay.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void games_rejectNegativeEvents() {
+        ReplayGame[] games = {new GuessReplayGame(), new MemoryReplayGame(), new TicTacToeReplayGame(),
+                new RpsReplayGame()};
+        for (ReplayGame game : games) {
+            game.start(new Xoshiro256Random(1));
+            try {
+                game.apply(-1);
+                fail(game.getClass().getSimpleName() + " accepted -1");
+            } catch (IllegalArgumentException expected) {
+                // rejected
+            }
+        }
+    }
+
+    @Test
+    public void guess_replaysTheSameTargetsFromTheSeed() {
+        Xoshiro256Random random = new Xoshiro256Random(7);
+        ReplayRecorder recorder = new ReplayRecorder("Guess");
+        recorder.start(random.getSeed());
+
+        // Binary search through three rounds, as a player would; the level only goes up after them
+        long expected = 0;
+        Xoshiro256Random targets = new Xoshiro256Random(7);
+        for (int round = 0; round < 3; round++) {
+            int target = targets.nextInt(100) + 1;
+            int low = 1;
+            int high = 100;
+            int attempts = GuessRange.CLASSIC.getAttempts();
+            while (true) {
+                int guess = (low + high) / 2;
+                recorder.record(guess);
+                if (guess == target) {
+                    expected += attempts;
+                    break;
+                }
+                attempts--;
+                if (guess < target) {
+                    low = guess + 1;
+                } else {
+                    high = guess - 1;
+                }
+            }
+        }
+        assertTrue(expected > 0);
+        assertEquals(expected, ReplayPlayer.play(recorder.toReplay()));
+    }
+
+    @Test
+    public void memory_countsCompletedRoundsUntilAWrongTap() {
+        MemoryEngine engine = new MemoryEngine(new Xoshiro256Random(11));
+        ReplayRecorder recorder = new ReplayRecorder("Memory");
+        recorder.start(11);
+        for (int round = 0; round < 5; round++) {
+            engine.nextRound();
+            for (int i = 0; i < engine.length(); i++) {
+                recorder.record(engine.colorAt(i));
+            }
+        }
+        assertEquals(5, ReplayPlayer.play(recorder.toReplay()));
+
+        engine.nextRound();
+        recorder.record((engine.colorAt(0) + 1) % MemoryEngine.COLORS);
+        assertEquals(5, ReplayPlayer.play(recorder.toReplay()));
+
+        // Nothing can be tapped after the game ended
+        recorder.record(0);
+        try {
+            ReplayPlayer.play(recorder.toReplay());
+            fail();
+        } catch (IllegalArgumentException expectedFailure) {
+            // Tap after game over
+        }
+    }
+
+    @Test
+    public void rps_countsPlayerWins() {
+        ReplayRecorder recorder = new ReplayRecorder("RPS");
+        recorder.start(0);
+        recorder.record(RpsReplayGame.event(RpsRules.ROCK, RpsRules.SCISSORS));
+        recorder.record(RpsReplayGame.event(RpsRules.ROCK, RpsRules.ROCK));
+        recorder.record(RpsReplayGame.event(RpsRules.PAPER, RpsRules.ROCK));
+        recorder.record(RpsReplayGame.event(RpsRules.SCISSORS, RpsRules.ROCK));
+        assertEquals(2, ReplayPlayer.play(recorder.toReplay()));
+    }
+
+    @Test
+    public void ticTacToe_rederivesTheCpuMoves() {
+        TicTacToeGame game = new TicTacToeGame(new TicTacToeCpu(new Xoshiro256Random(3), null));
+        ReplayRecorder recorder = new ReplayRecorder("TicTacToe");
+        recorder.start(3);
+        game.setRecorder(recorder);
+        game.start(null, 0);
+        TicTacToeCpu.Difficulty[] levels = TicTacToeCpu.Difficulty.values();
+        long now = 0;
+        for (int board = 0; board < 40; board++) {
+            game.setDifficulty(levels[board % levels.length]);
+            while (game.getPhase() != TicTacToeGame.BOARD_OVER) {
+                game.input(game.getBoard().nthEmptyCell(0), now);
+                now += TicTacToeGame.CPU_DELAY_MILLIS;
+                game.tick(now);
+            }
+            game.input(TicTacToeGame.NEW_BOARD, now);
+        }
+        assertTrue(game.getPlayerWins() > 0);
+        assertEquals(game.getPlayerWins(), ReplayPlayer.play(recorder.toReplay()));
+    }
+
+    @Test
+    public void ticTacToe_rejectsMovesTheCpuWouldNotPlay() {
+        ReplayRecorder recorder = new ReplayRecorder("TicTacToe");
+        recorder.start(0);
+        recorder.record(TicTacToeReplayGame.difficultyEvent(TicTacToeCpu.Difficulty.MEDIUM));
+        // The MEDIUM CPU blocks X's top row instead of playing 4
+        for (int cell : new int[]{0, 3, 1, 4, 2}) {
+            recorder.record(cell);
+        }
+        try {
+            ReplayPlayer.play(recorder.toReplay());
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // Not the CPU's move
+        }
+
+        recorder.start(0);
+        recorder.record(4);
+        recorder.record(4);
+        try {
+            ReplayPlayer.play(recorder.toReplay());
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // Occupied cell
+        }
+
+        recorder.start(0);
+        recorder.record(TicTacToeReplayGame.NEW_BOARD);
+        try {
+            ReplayPlayer.play(recorder.toReplay());
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // Board not decided yet
+        }
+    }
+
+    @Test
+    public void index_evictsLeastRecentlyUsed() {
+        ReplayIndex index = new ReplayIndex(100);
+        assertTrue(index.put("a", 40).isEmpty());
+        assertTrue(index.put("b", 40).isEmpty());
+        assertTrue(index.touch("a"));
+
+        assertEquals(Collections.singletonList("b"), index.put("c", 40));
+        assertEquals(80, index.getTotalBytes());
+        assertFalse(index.contains("b"));
+
+        // A replay larger than the budget evicts everything else but is kept
+        assertEquals(Arrays.asList("a", "c"), index.put("d", 150));
+        assertEquals(1, index.size());
+        index.remove("d");
+        assertEquals(0, index.getTotalBytes());
+        assertFalse(index.touch("d"));
+    }
+}
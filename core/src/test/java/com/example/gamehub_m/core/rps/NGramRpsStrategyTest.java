@@ -0,0 +1,79 @@
+package com.example.gamehub_m.core.rps;
+
+import com.example.gamehub_m.core.games.RpsRules;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the n-gram RPS opponent.
+ */
+public class NGramRpsStrategyTest {
+
+    /**
+     * Play rounds against a scripted player and return how many the CPU won
+     */
+    private static int play(RpsStrategy cpu, int[] pattern, int rounds) {
+        int cpuWins = 0;
+        for (int i = 0; i < rounds; i++) {
+            int cpuMove = cpu.chooseMove();
+            int playerMove = pattern[i % pattern.length];
+            if (RpsRules.outcome(playerMove, cpuMove) == RpsRules.CPU_WINS) {
+                cpuWins++;
+            }
+            cpu.observe(playerMove, cpuMove);
+        }
+        return cpuWins;
+    }
+
+    @Test
+    public void beatsRepeatingPatterns() {
+        int[][] patterns = {
+                {RpsRules.ROCK},
+                {RpsRules.ROCK, RpsRules.PAPER, RpsRules.SCISSORS},
+                {RpsRules.ROCK, RpsRules.ROCK, RpsRules.PAPER, RpsRules.SCISSORS, RpsRules.PAPER}
+        };
+        for (int[] pattern : patterns) {
+            int wins = play(new NGramRpsStrategy(new Random(1)), pattern, 300);
+            assertTrue("won " + wins, wins > 240);
+        }
+    }
+
+    @Test
+    public void randomStrategyDoesNotExploitPatterns() {
+        int wins = play(new RandomRpsStrategy(new Random(1)), new int[]{RpsRules.ROCK}, 300);
+        assertTrue(wins < 150);
+    }
+
+    @Test
+    public void keepsAdaptingAfterThePlayerChanges() {
+        NGramRpsStrategy cpu = new NGramRpsStrategy(new Random(1));
+        play(cpu, new int[]{RpsRules.ROCK}, 2000);
+        int wins = play(cpu, new int[]{RpsRules.SCISSORS}, 200);
+        assertTrue("won " + wins, wins > 150);
+    }
+
+    @Test
+    public void learnedCountsSurviveASession() throws IOException {
+        NGramRpsStrategy cpu = new NGramRpsStrategy(new Random(1));
+        play(cpu, new int[]{RpsRules.PAPER}, 50);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        cpu.writeTo(new DataOutputStream(bytes));
+        NGramRpsStrategy restored = new NGramRpsStrategy(new Random(2));
+        assertEquals(-1, restored.predictPlayerMove());
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        restored.startSession();
+        assertEquals(RpsRules.PAPER, restored.predictPlayerMove());
+        assertEquals(RpsRules.SCISSORS, restored.chooseMove());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.gamehub_m.core.rps;
+
+import com.example.gamehub_m.core.games.RpsRules;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the RPS engine's history and statistics.
+ */
+public class RpsEngineTest {
+
+    /**
+     * Plays the given CPU moves in order
+     */
+    private static class ScriptedStrategy implements RpsStrategy {
+        private final int[] moves;
+        private int next = 0;
+
+        ScriptedStrategy(int... moves) {
+            this.moves = moves;
+        }
+
+        @Override
+        public int chooseMove() {
+            return moves[next++ % moves.length];
+        }
+
+        @Override
+        public void observe(int playerMove, int cpuMove) {
+        }
+    }
+
+    @Test
+    public void play_countsOutcomesAndStreaks() {
+        RpsEngine engine = new RpsEngine(new ScriptedStrategy(
+                RpsRules.SCISSORS, RpsRules.SCISSORS, RpsRules.SCISSORS, RpsRules.ROCK, RpsRules.PAPER, RpsRules.PAPER));
+        for (int i = 0; i < 6; i++) {
+            engine.play(RpsRules.ROCK);
+        }
+        // win, win, win, draw, loss, loss
+        assertEquals(6, engine.getRounds());
+        assertEquals(3, engine.getPlayerWins());
+        assertEquals(2, engine.getCpuWins());
+        assertEquals(1, engine.getDraws());
+        assertEquals(0.5, engine.getWinRate(), 1e-9);
+        assertEquals(-2, engine.getCurrentStreak());
+        assertEquals(3, engine.getLongestWinStreak());
+        assertEquals(2, engine.getLongestLossStreak());
+        assertEquals(1.0, engine.getMoveFrequency(RpsRules.ROCK), 1e-9);
+        assertEquals(0.0, engine.getMoveFrequency(RpsRules.PAPER), 1e-9);
+        assertEquals(RpsRules.PAPER, engine.getLastCpuMove());
+    }
+
+    @Test
+    public void history_keepsTheLatestRounds() {
+        RpsHistory history = new RpsHistory(4);
+        for (int i = 0; i < 6; i++) {
+            history.add(i % RpsRules.MOVES, (i + 1) % RpsRules.MOVES);
+        }
+        assertEquals(4, history.size());
+        // Latest round: i = 5 -> player scissors, CPU rock
+        assertEquals(RpsRules.SCISSORS, history.playerMove(0));
+        assertEquals(RpsRules.ROCK, history.cpuMove(0));
+        assertEquals(RpsRules.CPU_WINS, history.outcome(0));
+        // Oldest kept: i = 2
+        assertEquals(RpsRules.SCISSORS, history.playerMove(3));
+        assertEquals(RpsRules.ROCK, history.cpuMove(3));
+
+        history.clear();
+        assertEquals(0, history.size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void history_rejectsRoundsNotKept() {
+        RpsHistory history = new RpsHistory(4);
+        history.add(RpsRules.ROCK, RpsRules.ROCK);
+        history.playerMove(1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.gamehub_m.core.tictactoe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the bitboard TicTacToe engine.
+ */
+public class TicTacToeBoardTest {
+
+    private TicTacToeBoard board;
+
+    @Before
+    public void setUp() {
+        board = new TicTacToeBoard();
+    }
+
+    /**
+     * Fill the board from a 9-character picture: X, O or '.' per cell, row-major
+     */
+    private void load(String cells) {
+        board.reset();
+        for (int i = 0; i < cells.length(); i++) {
+            if (cells.charAt(i) == 'X') {
+                board.place(TicTacToeBoard.X, i);
+            } else if (cells.charAt(i) == 'O') {
+                board.place(TicTacToeBoard.O, i);
+            }
+        }
+    }
+
+    @Test
+    public void hasWon_detectsEveryLine() {
+        String[] wins = {
+                "XXX......", "...XXX...", "......XXX",
+                "X..X..X..", ".X..X..X.", "..X..X..X",
+                "X...X...X", "..X.X.X.."
+        };
+        for (String win : wins) {
+            load(win);
+            assertTrue(win, board.hasWon(TicTacToeBoard.X));
+            assertFalse(win, board.hasWon(TicTacToeBoard.O));
+        }
+        load("XOX" + "XOO" + "OXX");
+        assertFalse(board.hasWon(TicTacToeBoard.X));
+        assertFalse(board.hasWon(TicTacToeBoard.O));
+        assertTrue(board.isFull());
+    }
+
+    @Test
+    public void isWin_matchesBruteForceForAllMasks() {
+        for (int mask = 0; mask <= TicTacToeBoard.FULL; mask++) {
+            boolean expected = false;
+            for (int i = 0; i < 3; i++) {
+                expected |= bit(mask, i, 0) && bit(mask, i, 1) && bit(mask, i, 2);
+                expected |= bit(mask, 0, i) && bit(mask, 1, i) && bit(mask, 2, i);
+            }
+            expected |= bit(mask, 0, 0) && bit(mask, 1, 1) && bit(mask, 2, 2);
+            expected |= bit(mask, 0, 2) && bit(mask, 1, 1) && bit(mask, 2, 0);
+            assertEquals(expected, TicTacToeBoard.isWin(mask));
+        }
+    }
+
+    private static boolean bit(int mask, int row, int col) {
+        return (mask & (1 << TicTacToeBoard.index(row, col))) != 0;
+    }
+
+    @Test
+    public void place_rejectsTakenCells() {
+        assertTrue(board.place(TicTacToeBoard.X, 4));
+        assertFalse(board.place(TicTacToeBoard.O, 4));
+        assertEquals(TicTacToeBoard.X, board.occupant(4));
+        assertEquals(TicTacToeBoard.NONE, board.occupant(0));
+        assertEquals(1, board.moveCount());
+    }
+
+    @Test
+    public void nthEmptyCell_enumeratesEmptyCellsInOrder() {
+        load("X.O" + ".X." + "O..");
+        assertEquals(5, board.emptyCount());
+        int[] expected = {1, 3, 5, 7, 8};
+        for (int n = 0; n < expected.length; n++) {
+            assertEquals(expected[n], board.nthEmptyCell(n));
+        }
+        assertEquals(-1, board.nthEmptyCell(5));
+    }
+
+    @Test
+    public void reset_clearsBoard() {
+        load("XOXOXOXOX");
+        board.reset();
+        assertEquals(TicTacToeBoard.CELLS, board.emptyCount());
+        assertEquals(TicTacToeBoard.FULL, board.emptyMask());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.gamehub_m.core.tictactoe;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the CPU difficulty levels.
+ */
+public class TicTacToeCpuTest {
+
+    private static TicTacToeCpu cpu(TicTacToeCpu.Difficulty difficulty, TicTacToeCpu.TableLoader loader) {
+        TicTacToeCpu cpu = new TicTacToeCpu(new Random(7), loader);
+        cpu.setDifficulty(difficulty);
+        return cpu;
+    }
+
+    @Test
+    public void impossible_neverLosesAsO() {
+        TicTacToeMoveTable table = TicTacToeMoveTable.generate();
+        int[] loads = {0};
+        TicTacToeCpu cpu = cpu(TicTacToeCpu.Difficulty.IMPOSSIBLE, () -> {
+            loads[0]++;
+            return table;
+        });
+        assertEquals(0, loads[0]);
+        assertFalse(xCanWin(cpu, new TicTacToeBoard()));
+        assertEquals(1, loads[0]);
+    }
+
+    @Test
+    public void impossible_withoutTableFallsBackToSearch() {
+        TicTacToeCpu cpu = cpu(TicTacToeCpu.Difficulty.IMPOSSIBLE, () -> null);
+        assertFalse(xCanWin(cpu, new TicTacToeBoard()));
+    }
+
+    /**
+     * Try every X move against the CPU's replies; true if any line of play lets X win
+     */
+    private static boolean xCanWin(TicTacToeCpu cpu, TicTacToeBoard board) {
+        for (int cell = 0; cell < TicTacToeBoard.CELLS; cell++) {
+            if (!board.isEmpty(cell)) {
+                continue;
+            }
+            TicTacToeBoard next = copy(board);
+            next.place(TicTacToeBoard.X, cell);
+            if (next.hasWon(TicTacToeBoard.X)) {
+                return true;
+            }
+            if (next.isFull()) {
+                continue;
+            }
+            next.place(TicTacToeBoard.O, cpu.chooseMove(next, TicTacToeBoard.O));
+            if (!next.hasWon(TicTacToeBoard.O) && !next.isFull() && xCanWin(cpu, next)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TicTacToeBoard copy(TicTacToeBoard board) {
+        TicTacToeBoard copy = new TicTacToeBoard();
+        for (int cell = 0; cell < TicTacToeBoard.CELLS; cell++) {
+            if (board.occupant(cell) != TicTacToeBoard.NONE) {
+                copy.place(board.occupant(cell), cell);
+            }
+        }
+        return copy;
+    }
+
+    @Test
+    public void medium_winsThenBlocks() {
+        TicTacToeCpu cpu = cpu(TicTacToeCpu.Difficulty.MEDIUM, null);
+        TicTacToeBoard board = new TicTacToeBoard();
+        board.place(TicTacToeBoard.X, 0);
+        board.place(TicTacToeBoard.X, 1);
+        assertEquals(2, cpu.chooseMove(board, TicTacToeBoard.O));
+
+        board.place(TicTacToeBoard.O, 3);
+        board.place(TicTacToeBoard.O, 4);
+        assertEquals(5, cpu.chooseMove(board, TicTacToeBoard.O));
+    }
+
+    @Test
+    public void easy_playsOnlyEmptyCells() {
+        TicTacToeCpu cpu = cpu(TicTacToeCpu.Difficulty.EASY, null);
+        TicTacToeBoard board = new TicTacToeBoard();
+        board.place(TicTacToeBoard.X, 4);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(board.isEmpty(cpu.chooseMove(board, TicTacToeBoard.O)));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.gamehub_m.core.tictactoe;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the solver and the precomputed move table built from it.
+ */
+public class TicTacToeMoveTableTest {
+
+    private static TicTacToeMoveTable table;
+
+    @BeforeClass
+    public static void generate() {
+        table = TicTacToeMoveTable.generate();
+    }
+
+    @Test
+    public void solver_emptyBoardIsADraw() {
+        assertEquals(0, TicTacToeSolver.evaluate(0, 0));
+    }
+
+    @Test
+    public void solver_takesTheWinAndBlocks() {
+        // X: 0, 1; O: 3, 4 -> X completes the top row
+        assertEquals(2, TicTacToeSolver.bestMove(0b000_000_011, 0b000_011_000));
+        // O to move must block X's top row
+        assertEquals(2, TicTacToeSolver.bestMove(0b000_010_000, 0b000_000_011));
+    }
+
+    @Test
+    public void table_coversReachablePositionsCompactly() {
+        int size = table.size();
+        assertTrue(size > 4000);
+        assertTrue(size < 6000);
+    }
+
+    @Test
+    public void table_movesAreOptimal() {
+        checkOptimal(0, 0);
+    }
+
+    private void checkOptimal(int xMask, int oMask) {
+        boolean xToMove = Integer.bitCount(xMask) == Integer.bitCount(oMask);
+        int mine = xToMove ? xMask : oMask;
+        int theirs = xToMove ? oMask : xMask;
+        int move = table.bestMove(xMask, oMask);
+        if (TicTacToeBoard.isWin(xMask) || TicTacToeBoard.isWin(oMask) || (xMask | oMask) == TicTacToeBoard.FULL) {
+            assertEquals(-1, move);
+            return;
+        }
+        assertTrue(move >= 0);
+        int bit = 1 << move;
+        assertEquals(0, (xMask | oMask) & bit);
+        assertEquals(TicTacToeSolver.evaluate(mine, theirs), -TicTacToeSolver.evaluate(theirs, mine | bit));
+
+        int empty = ~(xMask | oMask) & TicTacToeBoard.FULL;
+        for (int cell = 0; cell < TicTacToeBoard.CELLS; cell++) {
+            if ((empty & (1 << cell)) != 0) {
+                if (xToMove) {
+                    checkOptimal(xMask | (1 << cell), oMask);
+                } else {
+                    checkOptimal(xMask, oMask | (1 << cell));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void table_roundTrips() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.writeTo(out);
+        assertTrue(out.size() < 10_000);
+
+        TicTacToeMoveTable read = TicTacToeMoveTable.readFrom(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(table.size(), read.size());
+        assertEquals(table.bestMove(0b000_000_001, 0b000_010_000), read.bestMove(0b000_000_001, 0b000_010_000));
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.gamehub_m.simulator;
+
+import com.example.gamehub_m.core.engine.GameEngine;
+import com.example.gamehub_m.core.engine.GameLoop;
+import com.example.gamehub_m.core.engine.VirtualScheduler;
+import com.example.gamehub_m.core.games.RpsRules;
+import com.example.gamehub_m.core.guess.GuessBot;
+import com.example.gamehub_m.core.guess.GuessEngine;
+import com.example.gamehub_m.core.guess.GuessGame;
+import com.example.gamehub_m.core.memory.MemoryEngine;
+import com.example.gamehub_m.core.memory.MemoryGame;
+import com.example.gamehub_m.core.memory.PlaybackTiming;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+import com.example.gamehub_m.core.rps.NGramRpsStrategy;
+import com.example.gamehub_m.core.rps.RpsEngine;
+import com.example.gamehub_m.core.rps.RpsGame;
+import com.example.gamehub_m.core.tictactoe.TicTacToeCpu;
+import com.example.gamehub_m.core.tictactoe.TicTacToeGame;
+
+import java.util.Random;
+
+/**
+ * One bot playing one session of a game, on the same GameLoop the app runs it on, with timers on a
+ * VirtualScheduler so CPU delays and pattern playback cost no wall time. The bot answers whenever
+ * the engine accepts input and otherwise lets the next timer fire. Sessions are recorded like the
+ * app records them, so each score goes out with its replay.
+ */
+abstract class BotSession implements GameLoop.Listener {
+
+    static final String[] GAMES = {"Guess", "Memory", "RPS", "TicTacToe"};
+
+    // nextInput() result while the bot waits for the engine's timers
+    static final int WAIT = -1;
+
+    // Same timing as MemoryActivity
+    private static final PlaybackTiming MEMORY_TIMING = new PlaybackTiming(800, 500, 0.96, 300);
+
+    final ReplayRecorder recorder;
+    final Random bot;
+    final int rounds;
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    private GameLoop loop;
+    private boolean over = false;
+
+    BotSession(String gameName, Random bot, int rounds) {
+        this.recorder = new ReplayRecorder(gameName);
+        this.bot = bot;
+        this.rounds = rounds;
+    }
+
+    /**
+     * A session of game (an index into GAMES) lasting up to rounds rounds
+     * @param skill Guess bot skill; a Memory bot misses a color with chance (1 - skill) / 10
+     */
+    static BotSession create(int game, Random bot, int rounds, double skill) {
+        switch (game) {
+            case 0: return new Guess(bot, rounds, skill);
+            case 1: return new Memory(bot, rounds, (1 - skill) / 10);
+            case 2: return new Rps(bot, rounds);
+            case 3: return new TicTacToe(bot, rounds);
+            default: throw new IllegalArgumentException("Unknown game: " + game);
+        }
+    }
+
+    abstract GameEngine newEngine(Random game);
+
+    /**
+     * The bot's next input, or WAIT; only called while the engine accepts input
+     */
+    abstract int nextInput();
+
+    /**
+     * Whether the bot has played all its rounds
+     */
+    abstract boolean isDone();
+
+    /**
+     * Play the session with the game's own random stream
+     * @return The final score
+     */
+    long play(long seed, Random game) {
+        recorder.start(seed);
+        loop = new GameLoop(newEngine(game), scheduler, this);
+        loop.start(game);
+        while (!over && !isDone()) {
+            int input = loop.getEngine().acceptsInput() ? nextInput() : WAIT;
+            if (input != WAIT) {
+                loop.input(input);
+            } else if (!scheduler.runNext()) {
+                throw new IllegalStateException(recorder.getGameName() + " bot is stuck");
+            }
+        }
+        loop.pause();
+        return loop.getEngine().getScore();
+    }
+
+    String getGameName() {
+        return recorder.getGameName();
+    }
+
+    @Override
+    public void onUpdate() {
+    }
+
+    @Override
+    public void onGameOver(long score) {
+        over = true;
+    }
+
+    /**
+     * GuessBot over the adaptive ranges; it never loses at full skill, hence the round limit
+     */
+    private static final class Guess extends BotSession {
+        private final GuessBot guessBot;
+        private GuessGame game;
+
+        Guess(Random bot, int rounds, double skill) {
+            super("Guess", bot, rounds);
+            this.guessBot = new GuessBot(bot, skill);
+        }
+
+        @Override
+        GameEngine newEngine(Random random) {
+            game = new GuessGame();
+            game.setRecorder(recorder);
+            return game;
+        }
+
+        @Override
+        int nextInput() {
+            if (game.getLastResult() == GuessEngine.CORRECT) {
+                guessBot.newRound(game.getEngine().getRange());
+            } else {
+                guessBot.onResult(game.getLastGuess(), game.getLastResult());
+            }
+            // The app's ranges fit in an int
+            return (int) guessBot.nextGuess();
+        }
+
+        @Override
+        boolean isDone() {
+            return game.getEngine().getRoundsWon() >= rounds;
+        }
+    }
+
+    /**
+     * Repeats the pattern once it has been shown, missing a color now and then
+     */
+    private static final class Memory extends BotSession {
+        private final double missChance;
+        private MemoryGame game;
+
+        Memory(Random bot, int rounds, double missChance) {
+            super("Memory", bot, rounds);
+            this.missChance = missChance;
+        }
+
+        @Override
+        GameEngine newEngine(Random random) {
+            game = new MemoryGame(MEMORY_TIMING);
+            game.setRecorder(recorder);
+            return game;
+        }
+
+        @Override
+        int nextInput() {
+            MemoryEngine engine = game.getEngine();
+            int color = engine.colorAt(engine.getInputPosition());
+            return bot.nextDouble() < missChance ? (color + 1) % MemoryEngine.COLORS : color;
+        }
+
+        @Override
+        boolean isDone() {
+            return game.getScore() >= rounds;
+        }
+    }
+
+    /**
+     * Random moves against the n-gram CPU, round after round
+     */
+    private static final class Rps extends BotSession {
+        private RpsGame game;
+
+        Rps(Random bot, int rounds) {
+            super("RPS", bot, rounds);
+        }
+
+        @Override
+        GameEngine newEngine(Random random) {
+            game = new RpsGame(new RpsEngine(new NGramRpsStrategy(random)));
+            game.setRecorder(recorder);
+            return game;
+        }
+
+        @Override
+        int nextInput() {
+            return game.getPhase() == RpsGame.REVEALED ? RpsGame.PLAY_AGAIN : bot.nextInt(RpsRules.MOVES);
+        }
+
+        @Override
+        boolean isDone() {
+            return game.getPhase() == RpsGame.REVEALED && game.getEngine().getRounds() >= rounds;
+        }
+    }
+
+    /**
+     * Random empty cells against the MEDIUM CPU, board after board
+     */
+    private static final class TicTacToe extends BotSession {
+        private TicTacToeGame game;
+        private int boards = 0;
+
+        TicTacToe(Random bot, int rounds) {
+            super("TicTacToe", bot, rounds);
+        }
+
+        @Override
+        GameEngine newEngine(Random random) {
+            game = new TicTacToeGame(new TicTacToeCpu(random, null));
+            game.setRecorder(recorder);
+            game.setDifficulty(TicTacToeCpu.Difficulty.MEDIUM);
+            return game;
+        }
+
+        @Override
+        int nextInput() {
+            if (game.getPhase() == TicTacToeGame.BOARD_OVER) {
+                boards++;
+                return TicTacToeGame.NEW_BOARD;
+            }
+            return game.getBoard().nthEmptyCell(bot.nextInt(game.getBoard().emptyCount()));
+        }
+
+        @Override
+        boolean isDone() {
+            return game.getPhase() == TicTacToeGame.BOARD_OVER && boards + 1 >= rounds;
+        }
+    }
+}
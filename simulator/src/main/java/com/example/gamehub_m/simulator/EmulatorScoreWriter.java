@@ -0,0 +1,101 @@
+package com.example.gamehub_m.simulator;
+
+import com.example.gamehub_m.core.leaderboard.ScoreUpdate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes scores to a Realtime Database emulator over REST with the same multi-path update
+ * ScoreManager sends: the history entry, and on a new high score the leaderboard node (with
+ * previousHighScore) plus the histogram increments. Requests use the emulator's "owner" token,
+ * so they are not subject to the security rules. Thread-safe, as long as each user is only
+ * written from one thread at a time.
+ */
+public class EmulatorScoreWriter {
+
+    // Known to have no leaderboard entry yet
+    private static final long NO_HIGH_SCORE = Long.MIN_VALUE;
+
+    private final String baseUrl;
+    private final String namespace;
+    // Known high score per user/game; these synthetic users have no other writers
+    private final Map<String, Long> highScores = new ConcurrentHashMap<>();
+    private final AtomicLong keyCounter = new AtomicLong();
+
+    /**
+     * @param baseUrl e.g. http://127.0.0.1:9000
+     * @param namespace The database name, e.g. PROJECT-default-rtdb
+     */
+    public EmulatorScoreWriter(String baseUrl, String namespace) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.namespace = namespace;
+    }
+
+    public void submit(String userId, String displayName, String gameName, long score) throws IOException {
+        String cacheKey = userId + "/" + gameName;
+        Long knownHighScore = highScores.get(cacheKey);
+        if (knownHighScore == null) {
+            knownHighScore = readHighScore(gameName, userId);
+        }
+        Long previousHighScore = knownHighScore == NO_HIGH_SCORE ? null : knownHighScore;
+        long timestamp = System.currentTimeMillis();
+
+        Map<String, Object> scoreData = ScoreUpdate.historyEntry(score, timestamp, displayName, null, null);
+        Map<String, Object> updates = ScoreUpdate.build(userId, gameName,
+                ScoreUpdate.scorePath(userId, gameName, nextKey(timestamp)), scoreData, previousHighScore, Json::increment);
+
+        // HttpURLConnection has no PATCH; the REST API accepts the override parameter instead
+        request("POST", "", "&x-http-method-override=PATCH", Json.write(updates));
+        highScores.put(cacheKey, ScoreUpdate.raisesHighScore(previousHighScore, score) ? score : knownHighScore);
+    }
+
+    private long readHighScore(String gameName, String userId) throws IOException {
+        String body = request("GET", ScoreUpdate.leaderboardPath(gameName, userId) + "/highScore", "", null).trim();
+        return body.equals("null") ? NO_HIGH_SCORE : Long.parseLong(body);
+    }
+
+    private String nextKey(long timestamp) {
+        // Unique and increasing like push keys, which is all the history needs
+        return "sim-" + timestamp + "-" + keyCounter.incrementAndGet();
+    }
+
+    private String request(String method, String path, String query, String body) throws IOException {
+        URL url = new URL(baseUrl + "/" + path + ".json?ns=" + namespace + query);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod(method);
+            connection.setRequestProperty("Authorization", "Bearer owner");
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            if (status / 100 != 2) {
+                throw new IOException(method + " " + path + " failed: HTTP " + status);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                ByteArrayOutputStream response = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    response.write(buffer, 0, read);
+                }
+                return new String(response.toByteArray(), StandardCharsets.UTF_8);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.gamehub_m.simulator;
+
+import com.example.gamehub_m.core.guess.GuessBot;
+import com.example.gamehub_m.core.guess.GuessDifficulty;
+import com.example.gamehub_m.core.guess.GuessEngine;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many Guess games with GuessBot, at the app's adaptive difficulty, and collects the
+ * distribution of final scores.
+ * Games are split evenly over the threads; each thread has its own engine, bot, random stream
+ * (split from the seed in a fixed order, so a run is reproducible for a given thread count) and
+ * score histogram, merged at the end.
+ */
+public class GuessSimulation {
+
+    private final double skill;
+    private final int maxRounds;
+
+    /**
+     * @param maxRounds Games end after this many rounds won, since a skilled bot never loses
+     */
+    public GuessSimulation(double skill, int maxRounds) {
+        this.skill = skill;
+        this.maxRounds = maxRounds;
+    }
+
+    public Result run(long games, int threads, long seed) throws InterruptedException {
+        Xoshiro256Random seeds = new Xoshiro256Random(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> parts = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int t = 0; t < threads; t++) {
+                long count = games / threads + (t < games % threads ? 1 : 0);
+                Xoshiro256Random random = seeds.split();
+                parts.add(executor.submit(() -> play(count, random)));
+            }
+            long[] histogram = new long[maxScore() + 1];
+            for (Future<long[]> part : parts) {
+                long[] counts = part.get();
+                for (int score = 0; score < counts.length; score++) {
+                    histogram[score] += counts[score];
+                }
+            }
+            return new Result(histogram, System.nanoTime() - start);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int maxScore() {
+        return maxRounds * GuessDifficulty.adaptive().getMaxAttempts();
+    }
+
+    private long[] play(long games, Xoshiro256Random random) {
+        long[] histogram = new long[maxScore() + 1];
+        GuessEngine engine = new GuessEngine(random, GuessDifficulty.adaptive());
+        GuessBot bot = new GuessBot(random, skill);
+        for (long i = 0; i < games; i++) {
+            histogram[(int) bot.play(engine, maxRounds)]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Score distribution of a run
+     */
+    public static class Result {
+        // Number of games per final score
+        public final long[] histogram;
+        public final long elapsedNanos;
+
+        Result(long[] histogram, long elapsedNanos) {
+            this.histogram = histogram;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getGames() {
+            long games = 0;
+            for (long count : histogram) {
+                games += count;
+            }
+            return games;
+        }
+
+        public double getMean() {
+            double sum = 0;
+            for (int score = 0; score < histogram.length; score++) {
+                sum += (double) score * histogram[score];
+            }
+            return sum / Math.max(1, getGames());
+        }
+
+        public double getStandardDeviation() {
+            double mean = getMean();
+            double sum = 0;
+            for (int score = 0; score < histogram.length; score++) {
+                sum += (score - mean) * (score - mean) * histogram[score];
+            }
+            return Math.sqrt(sum / Math.max(1, getGames()));
+        }
+
+        /**
+         * Lowest score that at least fraction of the games did not exceed
+         */
+        public int getPercentile(double fraction) {
+            long needed = (long) Math.ceil(fraction * getGames());
+            long seen = 0;
+            for (int score = 0; score < histogram.length; score++) {
+                seen += histogram[score];
+                if (seen >= needed && seen > 0) {
+                    return score;
+                }
+            }
+            return histogram.length - 1;
+        }
+
+        public double getGamesPerSecond() {
+            return getGames() / (Math.max(elapsedNanos, 1) / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%d games in %.1f ms (%.0f/s): mean %.2f, sd %.2f, p50 %d, p90 %d, p99 %d, max %d",
+                    getGames(), elapsedNanos / 1e6, getGamesPerSecond(), getMean(), getStandardDeviation(),
+                    getPercentile(0.5), getPercentile(0.9), getPercentile(0.99), getPercentile(1.0));
+        }
+    }
+}
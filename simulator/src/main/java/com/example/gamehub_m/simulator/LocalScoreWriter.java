@@ -0,0 +1,82 @@
+package com.example.gamehub_m.simulator;
+
+import com.example.gamehub_m.core.db.DataCallback;
+import com.example.gamehub_m.core.db.MemoryDatabase;
+import com.example.gamehub_m.core.leaderboard.ScoreRepository;
+import com.example.gamehub_m.core.leaderboard.ScoreSubmission;
+import com.example.gamehub_m.core.replay.Replay;
+import com.example.gamehub_m.core.replay.ReplaySigner;
+
+import java.util.Base64;
+
+/**
+ * ScoreManager's write path against a synchronous MemoryDatabase: the replay is encoded and signed
+ * (and dropped when too long) as the app does, then the score goes through the app's
+ * ScoreRepository, which caches the user's high score and retries an update the rules reject
+ * because another session of the same user raised it meanwhile. Thread-safe; each thread signs
+ * with its own ReplaySigner.
+ */
+public class LocalScoreWriter {
+
+    // Same limit as ScoreManager; the database rules reject longer replays
+    public static final int MAX_REPLAY_CHARS = 16384;
+
+    private final ScoreRepository repository;
+    private final ThreadLocal<ReplaySigner> signers;
+
+    /**
+     * @param database Must call back synchronously, i.e. have no scheduler
+     */
+    public LocalScoreWriter(MemoryDatabase database, byte[] signingKey) {
+        this.repository = new ScoreRepository(database);
+        byte[] key = signingKey.clone();
+        this.signers = ThreadLocal.withInitial(() -> new ReplaySigner(key));
+    }
+
+    /**
+     * @param replay May be null
+     * @return false if the score could not be saved
+     */
+    public boolean submit(String userId, String displayName, String gameName, long score, long timestamp,
+                          Replay replay) {
+        String encoded = null;
+        String digest = null;
+        if (replay != null) {
+            byte[] data = replay.toByteArray();
+            encoded = Base64.getEncoder().encodeToString(data);
+            if (encoded.length() > MAX_REPLAY_CHARS) {
+                encoded = null;
+            } else {
+                digest = signers.get().sign(userId, score, data);
+            }
+        }
+        boolean[] saved = new boolean[1];
+        repository.save(new ScoreSubmission(userId, displayName, gameName, score, timestamp, encoded, digest),
+                new DataCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void result) {
+                        saved[0] = true;
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        saved[0] = false;
+                    }
+                });
+        return saved[0];
+    }
+
+    /**
+     * Attempts after the first, across all submits
+     */
+    public long getRetries() {
+        return repository.getRetries();
+    }
+
+    /**
+     * Submits that gave up
+     */
+    public long getFailures() {
+        return repository.getFailures();
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.gamehub_m.simulator;
+
+import com.example.gamehub_m.core.db.MemoryDatabase;
+import com.example.gamehub_m.core.leaderboard.LeaderboardRules;
+import com.example.gamehub_m.core.leaderboard.ScoreHistogram;
+import com.example.gamehub_m.core.random.SplitMix64;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Capacity run for the leaderboard backend: plays many bot sessions across all four games on a
+ * ForkJoinPool and submits every positive score, with its replay, through LocalScoreWriter (the
+ * app's write path) to a MemoryDatabase with the leaderboard rules. Measures session and write throughput, write
+ * latency percentiles and what each score costs the database.
+ *
+ * Session i plays GAMES[i % 4] as user (i / 4) % users, so every user plays every game and users
+ * have sessions in flight on several threads at once, like players with more than one device.
+ * Each session's streams are derived from the seed and i alone, so the games played do not depend
+ * on the parallelism; only the interleaving of writes (and with it the retries) does.
+ */
+public class SessionSimulation {
+
+    // Sessions a task plays itself instead of splitting further
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+    static final byte[] SIGNING_KEY = "gamehub-simulator".getBytes(StandardCharsets.UTF_8);
+    private static final int LATENCY_BUCKETS = ScoreHistogram.bucketOf(Long.MAX_VALUE) + 1;
+
+    private final int users;
+    private final int maxRounds;
+    private final double skill;
+
+    /**
+     * @param maxRounds Sessions last 1 to maxRounds rounds (boards in TicTacToe)
+     * @param skill Bot skill for Guess and Memory, 0 to 1
+     */
+    public SessionSimulation(int users, int maxRounds, double skill) {
+        this.users = users;
+        this.maxRounds = maxRounds;
+        this.skill = skill;
+    }
+
+    public Result run(int sessions, int parallelism, long seed) {
+        MemoryDatabase database = new MemoryDatabase();
+        database.setRules(new LeaderboardRules());
+        return run(database, sessions, parallelism, seed);
+    }
+
+    /**
+     * @param database Where the scores are written, signed with SIGNING_KEY; must have no scheduler
+     */
+    Result run(MemoryDatabase database, int sessions, int parallelism, long seed) {
+        LocalScoreWriter writer = new LocalScoreWriter(database, SIGNING_KEY);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            Totals totals = pool.invoke(new Sessions(writer, seed, 0, sessions));
+            return new Result(totals, database.getStats(), writer.getRetries(), writer.getFailures(),
+                    System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Totals play(LocalScoreWriter writer, long seed, int from, int to) {
+        Totals totals = new Totals();
+        for (int i = from; i < to; i++) {
+            long sessionSeed = SplitMix64.mix(seed + i * SplitMix64.GOLDEN_GAMMA);
+            Xoshiro256Random game = new Xoshiro256Random(sessionSeed);
+            Xoshiro256Random bot = new Xoshiro256Random(SplitMix64.mix(sessionSeed));
+            int gameIndex = i % BotSession.GAMES.length;
+            int user = (i / BotSession.GAMES.length) % users;
+
+            long started = System.nanoTime();
+            BotSession session = BotSession.create(gameIndex, bot, 1 + bot.nextInt(maxRounds), skill);
+            long score = session.play(sessionSeed, game);
+            long played = System.nanoTime();
+            totals.sessions[gameIndex]++;
+            totals.sessionNanos[ScoreHistogram.bucketOf(played - started)]++;
+
+            // Like the activities, nothing is saved for a session without points
+            if (score > 0) {
+                writer.submit("sim-bot-" + user, "Bot " + user, session.getGameName(), score,
+                        System.currentTimeMillis(), session.recorder.toReplay());
+                totals.scores[gameIndex]++;
+                totals.writeNanos[ScoreHistogram.bucketOf(System.nanoTime() - played)]++;
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Sessions [from, to), split in halves until they are small enough to play in one task
+     */
+    private final class Sessions extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+
+        private final LocalScoreWriter writer;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        Sessions(LocalScoreWriter writer, long seed, int from, int to) {
+            this.writer = writer;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return play(writer, seed, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Sessions left = new Sessions(writer, seed, from, middle);
+            left.fork();
+            Totals right = new Sessions(writer, seed, middle, to).compute();
+            return left.join().add(right);
+        }
+    }
+
+    /**
+     * Counts of one task, merged up the task tree; latencies are counted per ScoreHistogram bucket
+     */
+    static final class Totals {
+        final long[] sessions = new long[BotSession.GAMES.length];
+        final long[] scores = new long[BotSession.GAMES.length];
+        final long[] sessionNanos = new long[LATENCY_BUCKETS];
+        final long[] writeNanos = new long[LATENCY_BUCKETS];
+
+        Totals add(Totals other) {
+            addTo(sessions, other.sessions);
+            addTo(scores, other.scores);
+            addTo(sessionNanos, other.sessionNanos);
+            addTo(writeNanos, other.writeNanos);
+            return this;
+        }
+
+        private static void addTo(long[] target, long[] counts) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += counts[i];
+            }
+        }
+    }
+
+    /**
+     * Throughput, latency and database cost of a run
+     */
+    public static class Result {
+        private final Totals totals;
+        public final MemoryDatabase.Stats database;
+        public final long retries;
+        public final long failures;
+        public final long elapsedNanos;
+
+        Result(Totals totals, MemoryDatabase.Stats database, long retries, long failures, long elapsedNanos) {
+            this.totals = totals;
+            this.database = database;
+            this.retries = retries;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getSessions() {
+            return sum(totals.sessions);
+        }
+
+        /**
+         * @param game Index into the games: Guess, Memory, RPS, TicTacToe
+         */
+        public long getSessions(int game) {
+            return totals.sessions[game];
+        }
+
+        /**
+         * Scores submitted, i.e. sessions that ended with points
+         */
+        public long getScores() {
+            return sum(totals.scores);
+        }
+
+        public long getScores(int game) {
+            return totals.scores[game];
+        }
+
+        public double getSessionsPerSecond() {
+            return getSessions() / seconds();
+        }
+
+        public double getScoresPerSecond() {
+            return getScores() / seconds();
+        }
+
+        /**
+         * Upper bound of the time it took to submit at least fraction of the scores, retries included
+         */
+        public long getWriteLatencyNanos(double fraction) {
+            return percentile(totals.writeNanos, fraction);
+        }
+
+        /**
+         * Upper bound of the time it took to simulate at least fraction of the sessions
+         */
+        public long getSessionLatencyNanos(double fraction) {
+            return percentile(totals.sessionNanos, fraction);
+        }
+
+        /**
+         * Leaf values the database wrote per score submitted
+         */
+        public double getWriteAmplification() {
+            return (double) database.leafWrites / Math.max(1, getScores());
+        }
+
+        public double getBytesPerScore() {
+            return (double) database.bytesWritten / Math.max(1, getScores());
+        }
+
+        public double getPathsPerScore() {
+            return (double) database.paths / Math.max(1, getScores());
+        }
+
+        private double seconds() {
+            return Math.max(elapsedNanos, 1) / 1e9;
+        }
+
+        private static long sum(long[] counts) {
+            long sum = 0;
+            for (long count : counts) {
+                sum += count;
+            }
+            return sum;
+        }
+
+        private static long percentile(long[] counts, double fraction) {
+            long needed = (long) Math.ceil(fraction * sum(counts));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= needed && seen > 0) {
+                    return ScoreHistogram.upperBound(bucket);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder(String.format(Locale.US,
+                    "%d sessions in %.1f ms (%.0f/s), %d scores (%.0f/s)%n",
+                    getSessions(), elapsedNanos / 1e6, getSessionsPerSecond(), getScores(), getScoresPerSecond()));
+            for (int game = 0; game < BotSession.GAMES.length; game++) {
+                out.append(String.format(Locale.US, "  %-9s %d sessions, %d scores%n",
+                        BotSession.GAMES[game], getSessions(game), getScores(game)));
+            }
+            out.append(String.format(Locale.US,
+                    "Session latency: p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                    getSessionLatencyNanos(0.5) / 1e3, getSessionLatencyNanos(0.99) / 1e3,
+                    getSessionLatencyNanos(1.0) / 1e3));
+            out.append(String.format(Locale.US,
+                    "Write latency:   p50 %.1f us, p90 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                    getWriteLatencyNanos(0.5) / 1e3, getWriteLatencyNanos(0.9) / 1e3,
+                    getWriteLatencyNanos(0.99) / 1e3, getWriteLatencyNanos(0.999) / 1e3,
+                    getWriteLatencyNanos(1.0) / 1e3));
+            out.append(String.format(Locale.US,
+                    "Database: %d writes, %d rejected (%d retries, %d gave up), %d reads%n",
+                    database.writes, database.rejected, retries, failures, database.reads));
+            out.append(String.format(Locale.US,
+                    "Per score: %.2f paths, %.2f leaf writes (write amplification), %.0f bytes",
+                    getPathsPerScore(), getWriteAmplification(), getBytesPerScore()));
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.gamehub_m.simulator;
+
+import com.example.gamehub_m.core.guess.GuessBot;
+import com.example.gamehub_m.core.guess.GuessDifficulty;
+import com.example.gamehub_m.core.guess.GuessEngine;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command line entry point of the simulator.
+ *
+ *   guess [--games N] [--skill S] [--max-rounds R] [--threads T] [--seed X]
+ *         [--emulator URL --ns NAMESPACE [--users U] [--writes W]]
+ *   sessions [--sessions N] [--users U] [--max-rounds R] [--skill S] [--threads T] [--seed X]
+ *
+ * guess plays N Guess games with a bot of the given skill (1 = binary search) on all cores and
+ * prints the score distribution. With --emulator it then plays W more games as U synthetic users
+ * and writes each score to a Realtime Database emulator the way the app does, as leaderboard load.
+ *
+ * sessions plays N bot sessions across all four games as U users on a fork/join pool, writes every
+ * score through the app's write path to an in-process stand-in database, and prints throughput,
+ * latency percentiles and write amplification.
+ */
+public class SimulatorMain {
+
+    private static final String USAGE =
+            "Usage: SimulatorMain guess [--games N] [--skill S] [--max-rounds R] [--threads T] [--seed X]\n"
+                    + "                          [--emulator URL --ns NAMESPACE [--users U] [--writes W]]\n"
+                    + "       SimulatorMain sessions [--sessions N] [--users U] [--max-rounds R] [--skill S]\n"
+                    + "                             [--threads T] [--seed X]";
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && args[0].equals("guess")) {
+            guess(args);
+        } else if (args.length > 0 && args[0].equals("sessions")) {
+            sessions(args);
+        } else {
+            usage();
+        }
+    }
+
+    private static void guess(String[] args) throws InterruptedException {
+        long games = 1_000_000;
+        double skill = 0.5;
+        int maxRounds = 50;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        String emulator = null;
+        String namespace = null;
+        int users = 100;
+        int writes = 1000;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String value = args[++i];
+                switch (args[i - 1]) {
+                    case "--games": games = Long.parseLong(value); break;
+                    case "--skill": skill = Double.parseDouble(value); break;
+                    case "--max-rounds": maxRounds = Integer.parseInt(value); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    case "--seed": seed = Long.parseLong(value); break;
+                    case "--emulator": emulator = value; break;
+                    case "--ns": namespace = value; break;
+                    case "--users": users = Integer.parseInt(value); break;
+                    case "--writes": writes = Integer.parseInt(value); break;
+                    default: usage(); return;
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+            return;
+        }
+        if (threads < 1 || maxRounds < 1 || users < 1 || skill < 0 || skill > 1
+                || (emulator != null && namespace == null)) {
+            usage();
+            return;
+        }
+
+        GuessSimulation.Result result = new GuessSimulation(skill, maxRounds).run(games, threads, seed);
+        System.out.println(String.format(Locale.US, "Guess, skill %.2f, seed %d, %d threads: %s",
+                skill, seed, threads, result));
+
+        if (emulator != null) {
+            writeLoad(new EmulatorScoreWriter(emulator, namespace), writes, users, threads, skill, maxRounds, seed);
+        }
+    }
+
+    private static void sessions(String[] args) {
+        int sessions = 100_000;
+        int users = 1000;
+        int maxRounds = 20;
+        double skill = 0.7;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String value = args[++i];
+                switch (args[i - 1]) {
+                    case "--sessions": sessions = Integer.parseInt(value); break;
+                    case "--users": users = Integer.parseInt(value); break;
+                    case "--max-rounds": maxRounds = Integer.parseInt(value); break;
+                    case "--skill": skill = Double.parseDouble(value); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    case "--seed": seed = Long.parseLong(value); break;
+                    default: usage(); return;
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+            return;
+        }
+        if (sessions < 0 || users < 1 || maxRounds < 1 || threads < 1 || skill < 0 || skill > 1) {
+            usage();
+            return;
+        }
+
+        SessionSimulation.Result result = new SessionSimulation(users, maxRounds, skill).run(sessions, threads, seed);
+        System.out.println(String.format(Locale.US, "Sessions, %d users, skill %.2f, seed %d, %d threads: %s",
+                users, skill, seed, threads, result));
+    }
+
+    /**
+     * Play writes games as users synthetic users and submit every score; users are partitioned
+     * over the threads so no user is written from two threads
+     */
+    private static void writeLoad(EmulatorScoreWriter writer, int writes, int users, int threads,
+                                  double skill, int maxRounds, long seed) throws InterruptedException {
+        int workers = Math.min(threads, users);
+        Xoshiro256Random seeds = new Xoshiro256Random(seed ^ 0x5DEECE66DL);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        List<Future<?>> parts = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int t = 0; t < workers; t++) {
+                int worker = t;
+                Xoshiro256Random random = seeds.split();
+                parts.add(executor.submit(() -> {
+                    GuessEngine engine = new GuessEngine(random, GuessDifficulty.adaptive());
+                    GuessBot bot = new GuessBot(random, skill);
+                    // This worker owns users worker, worker + workers, worker + 2 * workers, ...
+                    int ownedUsers = (users - worker + workers - 1) / workers;
+                    for (int i = worker; i < writes; i += workers) {
+                        int user = worker + workers * ((i / workers) % ownedUsers);
+                        long score = bot.play(engine, maxRounds);
+                        writer.submit("sim-bot-" + user, "Bot " + user, "Guess", score);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> part : parts) {
+                part.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            System.err.println("Load failed: " + (cause instanceof IOException ? cause.getMessage() : cause));
+            System.exit(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format(Locale.US, "Wrote %d scores for %d users in %.1f s (%.0f/s)",
+                writes, users, seconds, writes / seconds));
+    }
+
+    private static void usage() {
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.gamehub_m.simulator;
+
+import com.example.gamehub_m.core.guess.GuessRange;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the Guess simulation and the REST payloads of the load generator.
+ */
+public class GuessSimulationTest {
+
+    @Test
+    public void binarySearch_alwaysReachesTheRoundLimit() throws InterruptedException {
+        GuessSimulation.Result result = new GuessSimulation(1.0, 5).run(10_000, 4, 1);
+        assertEquals(10_000, result.getGames());
+        // Never more guesses than the search depth, so at least slack + 1 points per round
+        assertTrue(result.getPercentile(0.0) >= 5 * (GuessRange.DEFAULT_SLACK + 1));
+        assertTrue(result.getMean() > 5 * 4);
+    }
+
+    @Test
+    public void run_isReproducibleForASeed() throws InterruptedException {
+        GuessSimulation simulation = new GuessSimulation(0.3, 20);
+        assertArrayEquals(simulation.run(5_000, 3, 42).histogram, simulation.run(5_000, 3, 42).histogram);
+    }
+
+    @Test
+    public void skill_raisesTheMeanScore() throws InterruptedException {
+        double random = new GuessSimulation(0.0, 20).run(20_000, 2, 7).getMean();
+        double skilled = new GuessSimulation(0.8, 20).run(20_000, 2, 7).getMean();
+        assertTrue(skilled > random);
+    }
+
+    @Test
+    public void json_writesNestedMapsAndEscapes() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("displayName", "Bot \"1\"\n");
+        value.put("highScore", 42L);
+        value.put("buckets/b3", Collections.singletonMap(".sv", Collections.singletonMap("increment", 1L)));
+        assertEquals("{\"displayName\":\"Bot \\\"1\\\"\\n\",\"highScore\":42,"
+                + "\"buckets/b3\":{\".sv\":{\"increment\":1}}}", Json.write(value));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.gamehub_m.simulator;
+
+import com.example.gamehub_m.core.db.MemoryDatabase;
+import com.example.gamehub_m.core.leaderboard.LeaderboardRules;
+import com.example.gamehub_m.core.leaderboard.ScoreUpdate;
+import com.example.gamehub_m.verifier.ReplayVerifier;
+import com.example.gamehub_m.verifier.Submission;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the fork/join session runner and its score writer.
+ */
+public class SessionSimulationTest {
+
+    @Test
+    public void localScoreWriter_retriesAfterAnotherDeviceRaisedTheHighScore() {
+        MemoryDatabase database = new MemoryDatabase();
+        database.setRules(new LeaderboardRules());
+        byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+        LocalScoreWriter phone = new LocalScoreWriter(database, key);
+        LocalScoreWriter tablet = new LocalScoreWriter(database, key);
+        assertTrue(phone.submit("u1", "Bot", "Memory", 10, 1000, null));
+        assertTrue(tablet.submit("u1", "Bot", "Memory", 20, 1001, null));
+
+        // The phone still thinks the high score is 10
+        assertTrue(phone.submit("u1", "Bot", "Memory", 30, 1002, null));
+        assertEquals(1, phone.getRetries());
+        assertEquals(30L, database.getValue("leaderboard/Memory/u1/highScore"));
+        assertEquals(1, database.getStats().rejected);
+    }
+
+    @Test
+    public void run_playsAllGamesAndSubmitsScores() {
+        SessionSimulation.Result result = new SessionSimulation(50, 5, 0.8).run(2_000, 3, 11);
+        assertEquals(2_000, result.getSessions());
+        for (int game = 0; game < BotSession.GAMES.length; game++) {
+            assertEquals(500, result.getSessions(game));
+            assertTrue(result.getScores(game) > 0);
+        }
+        assertEquals(0, result.failures);
+        assertEquals(result.getScores(), result.database.writes);
+        // At least the history entry's fields, plus the leaderboard node for every first score
+        assertTrue(result.getWriteAmplification() > 3);
+        assertTrue(result.getWriteLatencyNanos(0.5) <= result.getWriteLatencyNanos(1.0));
+        assertTrue(result.toString().contains("write amplification"));
+    }
+
+    @Test
+    public void run_playsTheSameGamesForAnyParallelism() {
+        SessionSimulation simulation = new SessionSimulation(20, 8, 0.5);
+        SessionSimulation.Result sequential = simulation.run(500, 1, 3);
+        SessionSimulation.Result parallel = simulation.run(500, 4, 3);
+        for (int game = 0; game < BotSession.GAMES.length; game++) {
+            assertEquals(sequential.getScores(game), parallel.getScores(game));
+        }
+    }
+
+    @Test
+    public void run_signsReplaysThatVerifyOnAnyThread() throws InterruptedException {
+        MemoryDatabase database = new MemoryDatabase();
+        database.setRules(new LeaderboardRules());
+        new SessionSimulation(20, 8, 0.5).run(database, 2_000, 4, 5);
+
+        List<Submission> submissions = new ArrayList<>();
+        Map<?, ?> users = (Map<?, ?>) database.getValue(ScoreUpdate.SCORES_REF);
+        for (Map.Entry<?, ?> user : users.entrySet()) {
+            for (Map.Entry<?, ?> game : ((Map<?, ?>) user.getValue()).entrySet()) {
+                for (Object value : ((Map<?, ?>) game.getValue()).values()) {
+                    Map<?, ?> score = (Map<?, ?>) value;
+                    submissions.add(new Submission((String) user.getKey(), (String) game.getKey(),
+                            ((Number) score.get("score")).longValue(), (String) score.get(ScoreUpdate.REPLAY_KEY),
+                            (String) score.get(ScoreUpdate.REPLAY_DIGEST_KEY)));
+                }
+            }
+        }
+        assertTrue(submissions.size() > 1_000);
+        for (ReplayVerifier.Result result
+                : new ReplayVerifier(SessionSimulation.SIGNING_KEY).verifyAll(submissions, 4)) {
+            assertNotEquals(ReplayVerifier.Status.BAD_DIGEST, result.status);
+            assertFalse(result.status.isFlagged());
+        }
+    }
+}
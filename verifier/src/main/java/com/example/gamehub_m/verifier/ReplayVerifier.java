@@ -0,0 +1,129 @@
+package com.example.gamehub_m.verifier;
+
+import com.example.gamehub_m.core.replay.Replay;
+import com.example.gamehub_m.core.replay.ReplayGame;
+import com.example.gamehub_m.core.replay.ReplayPlayer;
+import com.example.gamehub_m.core.replay.ReplaySigner;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Checks submitted scores against their replays: the digest must match the signing key, and
+ * re-simulating the replay must end with the submitted score. Only games whose replays prove
+ * their score are VERIFIED; the others are UNVERIFIABLE at best.
+ * Submissions are independent, so verifyAll spreads them over a ForkJoinPool; each worker
+ * thread keeps its own ReplaySigner.
+ */
+public class ReplayVerifier {
+
+    public enum Status {
+        VERIFIED,
+        // Nothing to check; submitted by an app version without replays, or too long to attach
+        NO_REPLAY,
+        BAD_DIGEST,
+        CORRUPT_REPLAY,
+        WRONG_GAME,
+        // The replay contains an event its game does not allow
+        INVALID_REPLAY,
+        SCORE_MISMATCH,
+        // The replay is legal and ends with the score, but its game cannot prove the score (RPS)
+        UNVERIFIABLE;
+
+        /**
+         * Whether the submission should be looked at (or removed)
+         */
+        public boolean isFlagged() {
+            return this != VERIFIED && this != NO_REPLAY && this != UNVERIFIABLE;
+        }
+    }
+
+    private final ThreadLocal<ReplaySigner> signers;
+
+    public ReplayVerifier(byte[] key) {
+        byte[] copy = key.clone();
+        signers = ThreadLocal.withInitial(() -> new ReplaySigner(copy));
+    }
+
+    /**
+     * Verify one submission. Never throws: a replay that breaks the player in any way is INVALID_REPLAY,
+     * so one bad submission cannot stop verifyAll.
+     */
+    public Result verify(Submission submission) {
+        try {
+            return check(submission);
+        } catch (RuntimeException e) {
+            return new Result(submission, Status.INVALID_REPLAY, -1);
+        }
+    }
+
+    private Result check(Submission submission) {
+        if (submission.replay == null) {
+            return new Result(submission, Status.NO_REPLAY, -1);
+        }
+        byte[] data;
+        Replay replay;
+        try {
+            data = Base64.getDecoder().decode(submission.replay);
+            replay = Replay.fromByteArray(data);
+        } catch (IllegalArgumentException | IOException e) {
+            return new Result(submission, Status.CORRUPT_REPLAY, -1);
+        }
+        if (!signers.get().verify(submission.userId, submission.score, data, submission.replayDigest)) {
+            return new Result(submission, Status.BAD_DIGEST, -1);
+        }
+        if (!replay.getGameName().equals(submission.gameName)) {
+            return new Result(submission, Status.WRONG_GAME, -1);
+        }
+        ReplayGame game;
+        long replayed;
+        try {
+            game = ReplayPlayer.newGame(replay.getGameName());
+            replayed = ReplayPlayer.play(replay, game);
+        } catch (RuntimeException e) {
+            return new Result(submission, Status.INVALID_REPLAY, -1);
+        }
+        if (replayed != submission.score) {
+            return new Result(submission, Status.SCORE_MISMATCH, replayed);
+        }
+        return new Result(submission, game.provesScore() ? Status.VERIFIED : Status.UNVERIFIABLE, replayed);
+    }
+
+    /**
+     * Verify submissions on up to parallelism threads
+     * @return The results, in the order of submissions
+     */
+    public Result[] verifyAll(List<Submission> submissions, int parallelism) throws InterruptedException {
+        Result[] results = new Result[submissions.size()];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, results.length).parallel()
+                    .forEach(i -> results[i] = verify(submissions.get(i)))).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Verification failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * Outcome of verifying one submission
+     */
+    public static class Result {
+        public final Submission submission;
+        public final Status status;
+        // Score at the end of the replay, or -1 if it could not be played
+        public final long replayedScore;
+
+        public Result(Submission submission, Status status, long replayedScore) {
+            this.submission = submission;
+            this.status = status;
+            this.replayedScore = replayedScore;
+        }
+    }
+}
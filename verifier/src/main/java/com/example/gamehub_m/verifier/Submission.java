@@ -0,0 +1,42 @@
+package com.example.gamehub_m.verifier;
+
+/**
+ * A score as stored in the database, with the replay and digest the app attached to it.
+ */
+public class Submission {
+    public final String userId;
+    public final String gameName;
+    public final long score;
+    // Base64 encoded Replay, or null if the score was submitted without one
+    public final String replay;
+    public final String replayDigest;
+
+    public Submission(String userId, String gameName, long score, String replay, String replayDigest) {
+        this.userId = userId;
+        this.gameName = gameName;
+        this.score = score;
+        this.replay = replay;
+        this.replayDigest = replayDigest;
+    }
+
+    /**
+     * Parse a line of userId, gameName, score, replay and replayDigest separated by tabs;
+     * the last two may be empty
+     * @throws IllegalArgumentException for a malformed line
+     */
+    public static Submission parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length < 3 || fields.length > 5) {
+            throw new IllegalArgumentException("Expected 3 to 5 tab separated fields: " + line);
+        }
+        long score;
+        try {
+            score = Long.parseLong(fields[2].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Score is not a number: " + fields[2]);
+        }
+        String replay = fields.length > 3 && !fields[3].isEmpty() ? fields[3] : null;
+        String digest = fields.length > 4 && !fields[4].isEmpty() ? fields[4] : null;
+        return new Submission(fields[0], fields[1], score, replay, digest);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.gamehub_m.verifier;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line entry point of the replay verifier.
+ * Reads one submission per line (see Submission.parse) from a file or stdin, prints every flagged
+ * submission to stdout and a summary to stderr, and exits with 1 if anything was flagged.
+ *
+ * Leaderboard nodes can be turned into input with jq, from a database export or straight from
+ * the emulator:
+ *   curl "http://127.0.0.1:9000/leaderboard.json?ns=PROJECT-default-rtdb" | jq -r 'to_entries[]
+ *     | .key as $game | .value | to_entries[]
+ *     | [.key, $game, .value.highScore, .value.replay, .value.replayDigest] | @tsv'
+ */
+public class VerifierMain {
+
+    private static final String USAGE =
+            "Usage: VerifierMain [--key KEY] [--threads N] [FILE|-]\n"
+                    + "  --key      Replay signing key; defaults to $GAMEHUB_REPLAY_KEY\n"
+                    + "  --threads  Worker threads; defaults to the number of cores";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String key = System.getenv("GAMEHUB_REPLAY_KEY");
+        int threads = Runtime.getRuntime().availableProcessors();
+        String input = "-";
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--key":
+                        key = args[++i];
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        input = args[i];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+            return;
+        }
+        if (key == null || threads < 1) {
+            usage();
+            return;
+        }
+
+        List<Submission> submissions = new ArrayList<>();
+        int malformed = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(input), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    submissions.add(Submission.parse(line));
+                } catch (IllegalArgumentException e) {
+                    System.err.println(e.getMessage());
+                    malformed++;
+                }
+            }
+        }
+
+        ReplayVerifier verifier = new ReplayVerifier(key.getBytes(StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        ReplayVerifier.Result[] results = verifier.verifyAll(submissions, threads);
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<ReplayVerifier.Status, Integer> counts = new EnumMap<>(ReplayVerifier.Status.class);
+        boolean flagged = malformed > 0;
+        for (ReplayVerifier.Result result : results) {
+            counts.merge(result.status, 1, Integer::sum);
+            if (result.status.isFlagged()) {
+                flagged = true;
+                Submission s = result.submission;
+                System.out.println(result.status + "\t" + s.userId + "\t" + s.gameName
+                        + "\t" + s.score + "\t" + result.replayedScore);
+            }
+        }
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        System.err.println(String.format(Locale.US, "%d submissions in %.1f ms (%.0f/s) on %d threads: %s%s",
+                results.length, elapsedNanos / 1e6, results.length / seconds, threads, counts,
+                malformed > 0 ? ", " + malformed + " malformed lines" : ""));
+        System.exit(flagged ? 1 : 0);
+    }
+
+    private static InputStream open(String input) throws IOException {
+        return input.equals("-") ? System.in : new FileInputStream(input);
+    }
+
+    private static void usage() {
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
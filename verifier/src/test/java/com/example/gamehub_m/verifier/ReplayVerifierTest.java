@@ -0,0 +1,174 @@
+package com.example.gamehub_m.verifier;
+
+import com.example.gamehub_m.core.games.RpsRules;
+import com.example.gamehub_m.core.memory.MemoryEngine;
+import com.example.gamehub_m.core.random.Xoshiro256Random;
+import com.example.gamehub_m.core.replay.Replay;
+import com.example.gamehub_m.core.replay.ReplayRecorder;
+import com.example.gamehub_m.core.replay.ReplaySigner;
+import com.example.gamehub_m.core.replay.RpsReplayGame;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for verifying signed submissions against their replays.
+ */
+public class ReplayVerifierTest {
+
+    private static final byte[] KEY = "test-key".getBytes(StandardCharsets.UTF_8);
+
+    private final ReplayVerifier verifier = new ReplayVerifier(KEY);
+
+    /**
+     * A Memory game that repeats the given number of patterns and then taps a wrong color
+     */
+    private static Replay memoryGame(long seed, int rounds) {
+        MemoryEngine engine = new MemoryEngine(new Xoshiro256Random(seed));
+        ReplayRecorder recorder = new ReplayRecorder("Memory");
+        recorder.start(seed);
+        for (int round = 0; round < rounds; round++) {
+            engine.nextRound();
+            for (int i = 0; i < engine.length(); i++) {
+                recorder.record(engine.colorAt(i));
+            }
+        }
+        engine.nextRound();
+        recorder.record((engine.colorAt(0) + 1) % MemoryEngine.COLORS);
+        return recorder.toReplay();
+    }
+
+    private static Submission submit(String userId, String gameName, long score, Replay replay, byte[] key) {
+        byte[] data = replay.toByteArray();
+        return new Submission(userId, gameName, score, Base64.getEncoder().encodeToString(data),
+                new ReplaySigner(key).sign(userId, score, data));
+    }
+
+    @Test
+    public void verify_acceptsHonestScores() {
+        ReplayVerifier.Result result = verifier.verify(submit("u1", "Memory", 6, memoryGame(5, 6), KEY));
+        assertEquals(ReplayVerifier.Status.VERIFIED, result.status);
+        assertEquals(6, result.replayedScore);
+    }
+
+    @Test
+    public void verify_flagsInflatedScores() {
+        ReplayVerifier.Result result = verifier.verify(submit("u1", "Memory", 60, memoryGame(5, 6), KEY));
+        assertEquals(ReplayVerifier.Status.SCORE_MISMATCH, result.status);
+        assertEquals(6, result.replayedScore);
+    }
+
+    @Test
+    public void verify_flagsEditedSubmissions() {
+        Submission honest = submit("u1", "Memory", 6, memoryGame(5, 6), KEY);
+        // Same replay and digest, claimed by someone else
+        Submission stolen = new Submission("u2", "Memory", 6, honest.replay, honest.replayDigest);
+        assertEquals(ReplayVerifier.Status.BAD_DIGEST, verifier.verify(stolen).status);
+
+        Submission otherKey = submit("u1", "Memory", 6, memoryGame(5, 6), "other".getBytes(StandardCharsets.UTF_8));
+        assertEquals(ReplayVerifier.Status.BAD_DIGEST, verifier.verify(otherKey).status);
+
+        assertEquals(ReplayVerifier.Status.WRONG_GAME,
+                verifier.verify(submit("u1", "Guess", 6, memoryGame(5, 6), KEY)).status);
+        assertEquals(ReplayVerifier.Status.CORRUPT_REPLAY,
+                verifier.verify(new Submission("u1", "Memory", 6, "not base64!", honest.replayDigest)).status);
+        assertEquals(ReplayVerifier.Status.NO_REPLAY,
+                verifier.verify(new Submission("u1", "Memory", 6, null, null)).status);
+    }
+
+    @Test
+    public void verify_flagsImpossibleReplays() {
+        ReplayRecorder recorder = new ReplayRecorder("TicTacToe");
+        recorder.start(0);
+        recorder.record(4);
+        recorder.record(4);
+        assertEquals(ReplayVerifier.Status.INVALID_REPLAY,
+                verifier.verify(submit("u1", "TicTacToe", 1, recorder.toReplay(), KEY)).status);
+    }
+
+    @Test
+    public void verify_doesNotTrustRecordedCpuMoves() {
+        // The CPU never blocks the top row
+        ReplayRecorder ticTacToe = new ReplayRecorder("TicTacToe");
+        ticTacToe.start(0);
+        for (int cell : new int[]{0, 3, 1, 4, 2}) {
+            ticTacToe.record(cell);
+        }
+        assertEquals(ReplayVerifier.Status.INVALID_REPLAY,
+                verifier.verify(submit("u1", "TicTacToe", 1, ticTacToe.toReplay(), KEY)).status);
+
+        // Rock against scissors every round
+        ReplayRecorder rps = new ReplayRecorder("RPS");
+        rps.start(0);
+        for (int round = 0; round < 1000; round++) {
+            rps.record(RpsReplayGame.event(RpsRules.ROCK, RpsRules.SCISSORS));
+        }
+        ReplayVerifier.Result result = verifier.verify(submit("u1", "RPS", 1000, rps.toReplay(), KEY));
+        assertEquals(ReplayVerifier.Status.UNVERIFIABLE, result.status);
+        assertFalse(result.status.isFlagged());
+        assertEquals(ReplayVerifier.Status.SCORE_MISMATCH,
+                verifier.verify(submit("u1", "RPS", 1001, rps.toReplay(), KEY)).status);
+    }
+
+    @Test
+    public void verify_flagsNegativeEvents() throws IOException, InterruptedException {
+        // The recorder never writes a negative event, so encode FF FF FF FF 0F (-1) by hand
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(1);
+        out.writeUTF("RPS");
+        out.writeLong(0);
+        out.writeInt(1);
+        out.writeInt(5);
+        out.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F});
+        Replay forged = Replay.fromByteArray(bytes.toByteArray());
+
+        List<Submission> submissions = new ArrayList<>();
+        submissions.add(submit("u1", "RPS", 1, forged, KEY));
+        submissions.add(submit("u2", "Memory", 3, memoryGame(3, 3), KEY));
+        ReplayVerifier.Result[] results = verifier.verifyAll(submissions, 2);
+        assertEquals(ReplayVerifier.Status.INVALID_REPLAY, results[0].status);
+        assertEquals(ReplayVerifier.Status.VERIFIED, results[1].status);
+    }
+
+    @Test
+    public void verifyAll_keepsSubmissionOrder() throws InterruptedException {
+        List<Submission> submissions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int rounds = i % 20;
+            submissions.add(submit("u" + i, "Memory", i % 7 == 0 ? rounds + 1 : rounds, memoryGame(i, rounds), KEY));
+        }
+        ReplayVerifier.Result[] results = verifier.verifyAll(submissions, 4);
+        for (int i = 0; i < results.length; i++) {
+            assertSame(submissions.get(i), results[i].submission);
+            assertEquals(i % 7 == 0 ? ReplayVerifier.Status.SCORE_MISMATCH : ReplayVerifier.Status.VERIFIED,
+                    results[i].status);
+        }
+    }
+
+    @Test
+    public void parse_readsTabSeparatedLines() {
+        Submission submission = Submission.parse("u1\tMemory\t12\tAAAA\tdigest");
+        assertEquals("u1", submission.userId);
+        assertEquals(12, submission.score);
+        assertEquals("AAAA", submission.replay);
+
+        Submission unsigned = Submission.parse("u1\tGuess\t3\t\t");
+        assertNull(unsigned.replay);
+        assertNull(unsigned.replayDigest);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsMissingScore() {
+        Submission.parse("u1\tGuess\tlots");
+    }
+}